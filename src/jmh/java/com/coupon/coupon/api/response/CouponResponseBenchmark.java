@@ -0,0 +1,71 @@
+package com.coupon.coupon.api.response;
+
+import com.coupon.coupon.domain.model.Coupon;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CouponResponseBenchmark {
+
+    private Coupon coupon;
+    private CouponResponse response;
+    // mesmo builder usado pelo Spring Boot (JavaTimeModule, datas em ISO)
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        coupon = Coupon.create("ABC123", "Cupom de benchmark", new BigDecimal("1.50"),
+                LocalDateTime.now().plusYears(10), true);
+        response = CouponResponse.from(coupon);
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    }
+
+    @Benchmark
+    public CouponResponse from() {
+        return CouponResponse.from(coupon);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    // caminho completo da resposta do POST /coupons
+    @Benchmark
+    public byte[] fromAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(CouponResponse.from(coupon));
+    }
+
+    // mesmo JSON, escrito pelo CouponJsonWriter (caminho usado pelos endpoints)
+    @Benchmark
+    public byte[] serializeWithWriter() {
+        return new CouponJsonWriter().write(response).toByteArray();
+    }
+
+    @Benchmark
+    public byte[] fromAndSerializeWithWriter() {
+        return new CouponJsonWriter().write(CouponResponse.from(coupon)).toByteArray();
+    }
+}
@@ -0,0 +1,54 @@
+package com.coupon.coupon.domain.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CouponBenchmark {
+
+    private static final BigDecimal DISCOUNT = new BigDecimal("1.50");
+
+    private LocalDateTime expiration;
+    private Coupon coupon;
+
+    @Setup
+    public void setUp() {
+        expiration = LocalDateTime.now().plusYears(10);
+        coupon = Coupon.create("ABC123", "Cupom de benchmark", DISCOUNT, expiration, false);
+    }
+
+    @Benchmark
+    public Coupon createCleanCode() {
+        return Coupon.create("ABC123", "Cupom de benchmark", DISCOUNT, expiration, false);
+    }
+
+    // código com separadores força o caminho de sanitização
+    @Benchmark
+    public Coupon createCodeWithSeparators() {
+        return Coupon.create("AB-C1-23", "Cupom de benchmark", DISCOUNT, expiration, false);
+    }
+
+    @Benchmark
+    public Coupon delete() {
+        coupon.setDeletedAt(null);
+        coupon.delete();
+        return coupon;
+    }
+}
@@ -0,0 +1,90 @@
+package com.coupon.coupon.domain.model;
+
+import com.coupon.coupon.domain.exception.InvalidCouponCodeException;
+import com.coupon.coupon.domain.exception.InvalidDiscountValueException;
+import com.coupon.coupon.domain.exception.PastExpirationDateException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// compara a validação atual com a versão baseada em regex que existia em Coupon
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CouponValidationBenchmark {
+
+    private static final BigDecimal MIN_DISCOUNT_VALUE = new BigDecimal("0.5");
+
+    @Param({"ABC123", "AB-C1-23"})
+    public String code;
+
+    private BigDecimal discount;
+    private LocalDateTime expiration;
+
+    @Setup
+    public void setUp() {
+        discount = new BigDecimal("1.50");
+        expiration = LocalDateTime.now().plusYears(10);
+    }
+
+    @Benchmark
+    public void current(Blackhole blackhole) {
+        blackhole.consume(CouponValidation.sanitizeCode(code));
+        CouponValidation.validateDiscountValue(discount);
+        CouponValidation.validateExpirationDate(expiration);
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        String sanitized = legacySanitizeCode(code);
+        legacyValidateCodeLength(sanitized);
+        blackhole.consume(sanitized);
+        legacyValidateDiscountValue(discount);
+        legacyValidateExpirationDate(expiration);
+    }
+
+    private static String legacySanitizeCode(String code) {
+        if (code == null || code.isBlank()) {
+            return "";
+        }
+        return code.replaceAll("[^a-zA-Z0-9]", "");
+    }
+
+    private static void legacyValidateCodeLength(String sanitizedCode) {
+        if (sanitizedCode.length() != 6) {
+            throw new InvalidCouponCodeException(
+                    "O código do cupom deve ter exatamente " + 6 + " caracteres alfanuméricos após sanitização. " +
+                            "Recebido: '" + sanitizedCode + "' (" + sanitizedCode.length() + " caracteres).");
+        }
+    }
+
+    private static void legacyValidateDiscountValue(BigDecimal discountValue) {
+        if (discountValue == null || discountValue.compareTo(MIN_DISCOUNT_VALUE) < 0) {
+            throw new InvalidDiscountValueException(
+                    "O valor de desconto deve ser no mínimo " + MIN_DISCOUNT_VALUE + ". Recebido: " + discountValue);
+        }
+    }
+
+    private static void legacyValidateExpirationDate(LocalDateTime expirationDate) {
+        if (expirationDate == null || expirationDate.isBefore(LocalDateTime.now())) {
+            throw new PastExpirationDateException(
+                    "A data de expiração não pode ser uma data passada. Recebida: " + expirationDate);
+        }
+    }
+}
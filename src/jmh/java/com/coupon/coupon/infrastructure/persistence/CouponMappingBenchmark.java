@@ -0,0 +1,49 @@
+package com.coupon.coupon.infrastructure.persistence;
+
+import com.coupon.coupon.domain.model.Coupon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CouponMappingBenchmark {
+
+    private CouponRepositoryAdapter adapter;
+    private Coupon coupon;
+    private CouponJpaEntity entity;
+
+    @Setup
+    public void setUp() {
+        // só o mapeamento é medido; o JpaRepository não é tocado
+        adapter = new CouponRepositoryAdapter(null, null, 0, 0);
+        coupon = Coupon.create("ABC123", "Cupom de benchmark", new BigDecimal("1.50"),
+                LocalDateTime.now().plusYears(10), false);
+        entity = adapter.toEntity(coupon);
+    }
+
+    @Benchmark
+    public CouponJpaEntity toEntity() {
+        return adapter.toEntity(coupon);
+    }
+
+    @Benchmark
+    public Coupon toDomain() {
+        return adapter.toDomain(entity);
+    }
+}
@@ -0,0 +1,106 @@
+package com.coupon.coupon.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// operações do mix sobre /coupons. Os ids criados vão para um pool consumido por redeem e delete,
+// então cada cupom é resgatado ou deletado uma vez só e as respostas esperadas são 2xx
+public class CouponLoadOperations {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final String ID_PREFIX = "{\"id\":\"";
+
+    private final URI baseUri;
+    private final char codePrefix;
+    private final AtomicLong codeSequence = new AtomicLong();
+    private final Queue<UUID> available = new ConcurrentLinkedQueue<>();
+
+    // codePrefix separa os códigos de cada cenário; sobram 5 caracteres base 36 (60 milhões de códigos)
+    public CouponLoadOperations(URI baseUri, char codePrefix) {
+        this.baseUri = baseUri;
+        this.codePrefix = codePrefix;
+    }
+
+    public void addAvailable(UUID id) {
+        available.add(id);
+    }
+
+    public String nextCode() {
+        String suffix = Long.toString(codeSequence.getAndIncrement(), 36).toUpperCase(Locale.ROOT);
+        return codePrefix + "0".repeat(5 - suffix.length()) + suffix;
+    }
+
+    public final LoadOperation create = new LoadOperation() {
+        @Override
+        public String name() {
+            return "create";
+        }
+
+        @Override
+        public HttpRequest request() {
+            String body = "{\"code\":\"" + nextCode() + "\",\"description\":\"Carga\",\"discountValue\":1.5,"
+                    + "\"expirationDate\":\"2099-01-01T00:00:00\",\"published\":true}";
+            return builder("/coupons")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        @Override
+        public void onResponse(HttpResponse<String> response) {
+            String body = response.body();
+            if (response.statusCode() == 201 && body.startsWith(ID_PREFIX)) {
+                available.add(UUID.fromString(body.substring(ID_PREFIX.length(), ID_PREFIX.length() + 36)));
+            }
+        }
+    };
+
+    public final LoadOperation list = new LoadOperation() {
+        @Override
+        public String name() {
+            return "list";
+        }
+
+        @Override
+        public HttpRequest request() {
+            return builder("/coupons?status=ACTIVE&limit=20").header("Accept", "application/json").GET().build();
+        }
+    };
+
+    public final LoadOperation redeem = new LoadOperation() {
+        @Override
+        public String name() {
+            return "redeem";
+        }
+
+        @Override
+        public HttpRequest request() {
+            UUID id = available.poll();
+            return id == null ? null : builder("/coupons/" + id + "/redeem").POST(HttpRequest.BodyPublishers.noBody()).build();
+        }
+    };
+
+    public final LoadOperation delete = new LoadOperation() {
+        @Override
+        public String name() {
+            return "delete";
+        }
+
+        @Override
+        public HttpRequest request() {
+            UUID id = available.poll();
+            return id == null ? null : builder("/coupons/" + id).DELETE().build();
+        }
+    };
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+}
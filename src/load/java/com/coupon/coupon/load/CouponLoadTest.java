@@ -0,0 +1,105 @@
+package com.coupon.coupon.load;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.application.create.CreateCouponUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// roda só com -Pload. Parâmetros por system property: load.rate (req/s), load.duration, load.warmup,
+// load.seed (cupons criados antes de cada cenário), load.max-in-flight, load.report-dir
+@Tag("load")
+@SpringBootTest(classes = ApiApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Carga - modelo aberto sobre /coupons")
+class CouponLoadTest {
+
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "100"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final int SEED = Integer.getInteger("load.seed", 2000);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.max-in-flight", 5000);
+    private static final Path REPORT_DIR = Path.of(System.getProperty("load.report-dir", "target/load"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    private OpenModelLoadGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        generator = new OpenModelLoadGenerator(client, MAX_IN_FLIGHT, Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("leitura predominante: 80% list, 10% create, 5% redeem, 5% delete")
+    void readHeavy() throws Exception {
+        CouponLoadOperations operations = seeded('R');
+        Map<LoadOperation, Integer> mix = new LinkedHashMap<>();
+        mix.put(operations.list, 16);
+        mix.put(operations.create, 2);
+        mix.put(operations.redeem, 1);
+        mix.put(operations.delete, 1);
+
+        run("leitura", mix, operations);
+    }
+
+    @Test
+    @DisplayName("escrita predominante: 60% create, 15% redeem, 15% delete, 10% list")
+    void writeHeavy() throws Exception {
+        CouponLoadOperations operations = seeded('W');
+        Map<LoadOperation, Integer> mix = new LinkedHashMap<>();
+        mix.put(operations.create, 12);
+        mix.put(operations.redeem, 3);
+        mix.put(operations.delete, 3);
+        mix.put(operations.list, 2);
+
+        run("escrita", mix, operations);
+    }
+
+    // aquecimento com a mesma taxa e mix, descartado; depois a rodada medida
+    private void run(String scenario, Map<LoadOperation, Integer> mix, CouponLoadOperations operations) throws Exception {
+        generator.run(scenario + "-aquecimento", RATE, WARMUP, mix, operations.create);
+        LoadReport report = generator.run(scenario, RATE, DURATION, mix, operations.create);
+        report.print(System.out);
+        report.writeTo(REPORT_DIR);
+
+        assertThat(report.dropped()).as("requisições descartadas pelo gerador").isZero();
+        assertThat(report.serverErrors()).as("5xx e falhas de transporte").isZero();
+        assertThat(report.completed()).isEqualTo(report.scheduled());
+    }
+
+    // cupons publicados para o list ter o que devolver e o redeem/delete ter ids desde o início
+    private CouponLoadOperations seeded(char codePrefix) {
+        CouponLoadOperations operations = new CouponLoadOperations(URI.create("http://localhost:" + port), codePrefix);
+        LocalDateTime expiration = LocalDateTime.of(2099, 1, 1, 0, 0);
+        for (int i = 0; i < SEED; i++) {
+            operations.addAvailable(createCouponUseCase.execute(operations.nextCode(), "Carga", new BigDecimal("1.5"),
+                    expiration, true).getId());
+        }
+        return operations;
+    }
+}
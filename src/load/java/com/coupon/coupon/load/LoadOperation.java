@@ -0,0 +1,16 @@
+package com.coupon.coupon.load;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+// uma operação do mix: monta a requisição e, se quiser, reage à resposta (ex.: guardar o id criado)
+public interface LoadOperation {
+
+    String name();
+
+    // null quando a operação não tem o que fazer agora (ex.: delete sem id disponível); o gerador usa o fallback
+    HttpRequest request();
+
+    default void onResponse(HttpResponse<String> response) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.coupon.coupon.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// resultado de uma rodada: histogramas em microssegundos por operação e contagem por operação:status HTTP
+public class LoadReport {
+
+    private final String scenario;
+    private final double targetRate;
+    private final Duration duration;
+    private final Duration elapsed;
+    private final long scheduled;
+    private final long dropped;
+    private final Map<String, Histogram> responseTimes;
+    private final Map<String, Histogram> serviceTimes;
+    private final Map<String, Long> statuses;
+
+    LoadReport(String scenario, double targetRate, Duration duration, Duration elapsed, long scheduled, long dropped,
+               Map<String, Histogram> responseTimes, Map<String, Histogram> serviceTimes, Map<String, Long> statuses) {
+        this.scenario = scenario;
+        this.targetRate = targetRate;
+        this.duration = duration;
+        this.elapsed = elapsed;
+        this.scheduled = scheduled;
+        this.dropped = dropped;
+        this.responseTimes = new TreeMap<>(responseTimes);
+        this.serviceTimes = new TreeMap<>(serviceTimes);
+        this.statuses = new TreeMap<>(statuses);
+    }
+
+    public long completed() {
+        return total(responseTimes).getTotalCount();
+    }
+
+    public long scheduled() {
+        return scheduled;
+    }
+
+    // requisições não enviadas porque o limite de requisições em voo do gerador estourou
+    public long dropped() {
+        return dropped;
+    }
+
+    // 5xx e falhas de transporte (timeout, conexão recusada)
+    public long serverErrors() {
+        return statuses.entrySet().stream()
+                .filter(e -> e.getKey().contains(":5") || e.getKey().contains(":erro"))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    // sobre o tempo até a última resposta, não só a janela de envio
+    public double throughput() {
+        return completed() / (elapsed.toNanos() / 1e9);
+    }
+
+    public Histogram responseTime() {
+        return total(responseTimes);
+    }
+
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%n== %s: alvo %.0f req/s por %ds | agendadas %d, concluídas %d (%.1f req/s), descartadas %d%n",
+                scenario, targetRate, duration.toSeconds(), scheduled, completed(), throughput(), dropped);
+        out.println("   status: " + statuses);
+        out.println("   tempo de resposta (desde o instante planejado, corrige coordinated omission), ms:");
+        printTable(out, responseTimes);
+        out.println("   tempo de serviço (desde o envio, sem correção; só para comparação), ms:");
+        printTable(out, serviceTimes);
+    }
+
+    // distribuição completa no formato .hgrm, por operação e do total, para comparar rodadas (HdrHistogram plotter)
+    public void writeTo(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Histogram> entry : responseTimes.entrySet()) {
+            write(directory.resolve(scenario + "-" + entry.getKey() + ".hgrm"), entry.getValue());
+        }
+        write(directory.resolve(scenario + "-total.hgrm"), total(responseTimes));
+    }
+
+    private static void printTable(PrintStream out, Map<String, Histogram> histograms) {
+        out.printf(Locale.ROOT, "   %-10s %8s %9s %9s %9s %9s %9s%n", "operação", "n", "p50", "p90", "p99", "p99.9", "max");
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            printRow(out, entry.getKey(), entry.getValue());
+        }
+        printRow(out, "total", total(histograms));
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram) {
+        out.printf(Locale.ROOT, "   %-10s %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(),
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static Histogram total(Map<String, Histogram> histograms) {
+        Histogram total = new Histogram(3);
+        histograms.values().forEach(total::add);
+        return total;
+    }
+
+    private static void write(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+}
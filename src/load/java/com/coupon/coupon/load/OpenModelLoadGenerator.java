@@ -0,0 +1,132 @@
+package com.coupon.coupon.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// modelo aberto: as requisições partem em taxa fixa, independentemente de as anteriores já terem respondido.
+// A latência é medida desde o instante planejado de cada envio, então atraso do servidor (ou do próprio gerador)
+// entra na medida em vez de desacelerar a carga — é isso que evita o coordinated omission
+public class OpenModelLoadGenerator {
+
+    private final HttpClient client;
+    private final int maxInFlight;
+    private final Duration drainTimeout;
+
+    public OpenModelLoadGenerator(HttpClient client, int maxInFlight, Duration drainTimeout) {
+        this.client = client;
+        this.maxInFlight = maxInFlight;
+        this.drainTimeout = drainTimeout;
+    }
+
+    // weights: peso relativo de cada operação; fallback entra quando a operação sorteada não tem o que fazer
+    public LoadReport run(String scenario, double rate, Duration duration,
+                          Map<LoadOperation, Integer> weights, LoadOperation fallback) throws Exception {
+        LoadOperation[] schedule = schedule(weights);
+        Map<String, Histogram> responseTimes = new ConcurrentHashMap<>();
+        Map<String, Histogram> serviceTimes = new ConcurrentHashMap<>();
+        Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        Phaser pending = new Phaser(1);
+        long dropped = 0;
+        long scheduled = 0;
+
+        long start = System.nanoTime();
+        long durationNanos = duration.toNanos();
+        double nanosPerRequest = 1e9 / rate;
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * nanosPerRequest);
+            if (intended - start >= durationNanos) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            scheduled++;
+            LoadOperation operation = schedule[(int) (i % schedule.length)];
+            HttpRequest request = operation.request();
+            if (request == null) {
+                operation = fallback;
+                request = fallback.request();
+            }
+            // servidor parado não pode derrubar o gerador por memória: acima do limite a requisição é descartada
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                dropped++;
+                continue;
+            }
+            pending.register();
+            LoadOperation sentOperation = operation;
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+                long done = System.nanoTime();
+                try {
+                    String name = sentOperation.name();
+                    histogram(responseTimes, name).recordValue((done - intended) / 1000);
+                    histogram(serviceTimes, name).recordValue((done - sent) / 1000);
+                    statuses.computeIfAbsent(name + ":" + (error == null ? response.statusCode() : errorName(error)),
+                            k -> new LongAdder()).increment();
+                    if (error == null) {
+                        sentOperation.onResponse(response);
+                    }
+                } finally {
+                    inFlight.decrementAndGet();
+                    pending.arriveAndDeregister();
+                }
+            });
+        }
+        try {
+            pending.awaitAdvanceInterruptibly(pending.arriveAndDeregister(), drainTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException(inFlight.get() + " requisições sem resposta após " + drainTimeout, ex);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<String, Long> counts = new HashMap<>();
+        statuses.forEach((key, adder) -> counts.put(key, adder.sum()));
+        return new LoadReport(scenario, rate, duration, elapsed, scheduled, dropped, responseTimes, serviceTimes, counts);
+    }
+
+    // sequência embaralhada com semente fixa: o mesmo mix, na mesma ordem, a cada rodada
+    private static LoadOperation[] schedule(Map<LoadOperation, Integer> weights) {
+        List<LoadOperation> slots = new ArrayList<>();
+        weights.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        Collections.shuffle(slots, new Random(42));
+        return slots.toArray(LoadOperation[]::new);
+    }
+
+    // falha de transporte pelo tipo da causa raiz (ex.: erro-HttpTimeoutException)
+    private static String errorName(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return "erro-" + cause.getClass().getSimpleName();
+    }
+
+    private static Histogram histogram(Map<String, Histogram> histograms, String name) {
+        return histograms.computeIfAbsent(name, k -> new ConcurrentHistogram(3));
+    }
+}
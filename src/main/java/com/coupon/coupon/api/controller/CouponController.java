@@ -1,51 +1,238 @@
 package com.coupon.coupon.api.controller;
 
+import com.coupon.coupon.api.filter.ClientIdentity;
+import com.coupon.coupon.api.request.BatchCreateCouponRequest;
+import com.coupon.coupon.api.request.BulkDeleteCouponRequest;
 import com.coupon.coupon.api.request.CreateCouponRequest;
+import com.coupon.coupon.api.response.BatchCreateCouponResponse;
+import com.coupon.coupon.api.response.BatchItemResponse;
+import com.coupon.coupon.api.response.BulkDeleteCouponResponse;
+import com.coupon.coupon.api.response.CouponJsonWriter;
+import com.coupon.coupon.api.response.CouponPageResponse;
 import com.coupon.coupon.api.response.CouponResponse;
+import com.coupon.coupon.application.batch.BatchCouponItem;
+import com.coupon.coupon.application.batch.BatchCreateCouponUseCase;
+import com.coupon.coupon.application.batch.BatchItemResult;
 import com.coupon.coupon.application.create.CreateCouponUseCase;
+import com.coupon.coupon.application.delete.BulkDeleteCouponsUseCase;
 import com.coupon.coupon.application.delete.DeleteCouponUseCase;
+import com.coupon.coupon.application.find.FindCouponUseCase;
+import com.coupon.coupon.application.list.CouponPage;
+import com.coupon.coupon.application.list.ListCouponsUseCase;
+import com.coupon.coupon.application.redeem.RedeemCouponUseCase;
 import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponStatus;
+import com.coupon.coupon.domain.repository.CouponFilter;
+import com.coupon.coupon.infrastructure.idempotency.IdempotencyStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/coupons")
 @Tag(name = "coupon", description = "Operações de cupons")
 public class CouponController {
 
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final int NDJSON_FLUSH_BYTES = 8192;
+
     private final CreateCouponUseCase createCouponUseCase;
     private final DeleteCouponUseCase deleteCouponUseCase;
+    private final BatchCreateCouponUseCase batchCreateCouponUseCase;
+    private final ListCouponsUseCase listCouponsUseCase;
+    private final FindCouponUseCase findCouponUseCase;
+    private final RedeemCouponUseCase redeemCouponUseCase;
+    private final BulkDeleteCouponsUseCase bulkDeleteCouponsUseCase;
+    private final IdempotencyStore idempotencyStore;
+    private final ClientIdentity clientIdentity;
+    private final Validator validator;
+    private final int batchMaxItems;
 
-    public CouponController(CreateCouponUseCase createCouponUseCase, DeleteCouponUseCase deleteCouponUseCase) {
+    public CouponController(CreateCouponUseCase createCouponUseCase, DeleteCouponUseCase deleteCouponUseCase,
+                            BatchCreateCouponUseCase batchCreateCouponUseCase, ListCouponsUseCase listCouponsUseCase,
+                            FindCouponUseCase findCouponUseCase,
+                            RedeemCouponUseCase redeemCouponUseCase, BulkDeleteCouponsUseCase bulkDeleteCouponsUseCase,
+                            IdempotencyStore idempotencyStore, ClientIdentity clientIdentity, Validator validator,
+                            @Value("${coupon.batch.max-items:10000}") int batchMaxItems) {
         this.createCouponUseCase = createCouponUseCase;
         this.deleteCouponUseCase = deleteCouponUseCase;
+        this.batchCreateCouponUseCase = batchCreateCouponUseCase;
+        this.listCouponsUseCase = listCouponsUseCase;
+        this.findCouponUseCase = findCouponUseCase;
+        this.redeemCouponUseCase = redeemCouponUseCase;
+        this.bulkDeleteCouponsUseCase = bulkDeleteCouponsUseCase;
+        this.idempotencyStore = idempotencyStore;
+        this.clientIdentity = clientIdentity;
+        this.validator = validator;
+        this.batchMaxItems = batchMaxItems;
     }
 
     @PostMapping
     @Operation(summary = "Criar cupom")
-    @ApiResponse(responseCode = "201", description = "Cupom criado")
+    @ApiResponse(responseCode = "201", description = "Cupom criado (ou resposta original, se a Idempotency-Key já foi usada)")
     @ApiResponse(responseCode = "400", description = "Dados inválidos")
-    public ResponseEntity<CouponResponse> create(@Valid @RequestBody CreateCouponRequest request) {
-        Coupon coupon = createCouponUseCase.execute(
-                request.getCode(),
-                request.getDescription(),
-                request.getDiscountValue(),
-                request.getExpirationDate(),
-                request.isPublished()
-        );
-        return ResponseEntity.status(HttpStatus.CREATED).body(CouponResponse.from(coupon));
+    @ApiResponse(responseCode = "409", description = "Código já utilizado ou Idempotency-Key reutilizada com outro corpo")
+    public ResponseEntity<CouponResponse> create(@Valid @RequestBody CreateCouponRequest request,
+                                                 @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                 HttpServletRequest httpRequest) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(createCoupon(request));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    IDEMPOTENCY_KEY + " deve ter entre 1 e " + MAX_IDEMPOTENCY_KEY_LENGTH + " caracteres.");
+        }
+        // chave por cliente (API key conhecida, senão IP), como no rate limit: o header sozinho não identifica quem enviou
+        IdempotencyStore.Result<CouponResponse> result = idempotencyStore.execute(clientIdentity.resolve(httpRequest),
+                idempotencyKey, fingerprint(request), () -> createCoupon(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, Boolean.toString(result.isReplayed()))
+                .body(result.getValue());
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Criar cupons em lote")
+    @ApiResponse(responseCode = "200", description = "Lote processado; resultado por item")
+    @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do limite")
+    public ResponseEntity<BatchCreateCouponResponse> createBatch(@Valid @RequestBody BatchCreateCouponRequest request) {
+        List<CreateCouponRequest> items = request.getItems();
+        if (items.size() > batchMaxItems) {
+            throw new IllegalArgumentException("O lote aceita no máximo " + batchMaxItems + " itens.");
+        }
+        // Bean Validation por item: inválidos viram falha do item, válidos seguem para o caso de uso
+        List<BatchItemResponse> responses = new ArrayList<>(items.size());
+        List<BatchCouponItem> accepted = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            CreateCouponRequest item = items.get(i);
+            if (item == null) {
+                responses.add(BatchItemResponse.failed(i, "item não pode ser nulo"));
+                continue;
+            }
+            Set<ConstraintViolation<CreateCouponRequest>> violations = validator.validate(item);
+            if (!violations.isEmpty()) {
+                responses.add(BatchItemResponse.failed(i, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+                continue;
+            }
+            accepted.add(item.isGenerateCode()
+                    ? BatchCouponItem.withGeneratedCode(i, item.getDescription(), item.getDiscountValue(),
+                            item.getExpirationDate(), item.isPublished())
+                    : new BatchCouponItem(i, item.getCode(), item.getDescription(), item.getDiscountValue(),
+                            item.getExpirationDate(), item.isPublished()));
+        }
+        for (BatchItemResult result : batchCreateCouponUseCase.execute(accepted)) {
+            responses.add(result.isCreated()
+                    ? BatchItemResponse.created(result.getIndex(), result.getCoupon().getId(), result.getCoupon().getCode())
+                    : BatchItemResponse.failed(result.getIndex(), result.getError()));
+        }
+        responses.sort(Comparator.comparingInt(BatchItemResponse::getIndex));
+        return ResponseEntity.ok(BatchCreateCouponResponse.of(responses));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Listar cupons com paginação por cursor")
+    @ApiResponse(responseCode = "200", description = "Página de cupons")
+    @ApiResponse(responseCode = "400", description = "Filtro, cursor ou limit inválido")
+    public ResponseEntity<CouponPageResponse> list(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Boolean published,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expiresFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expiresTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        CouponPage page = listCouponsUseCase.list(toFilter(status, published, expiresFrom, expiresTo),
+                KeysetCursor.decode(cursor), limit);
+        List<CouponResponse> items = new ArrayList<>(page.getItems().size());
+        for (Coupon coupon : page.getItems()) {
+            items.add(CouponResponse.from(coupon));
+        }
+        return ResponseEntity.ok(new CouponPageResponse(items, KeysetCursor.encode(page.getNext())));
+    }
+
+    // um JSON por linha, escrito conforme as linhas chegam do cursor do banco
+    @GetMapping(produces = APPLICATION_NDJSON)
+    @Operation(summary = "Listar cupons em streaming (NDJSON)")
+    @ApiResponse(responseCode = "200", description = "Um cupom por linha")
+    public void streamList(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Boolean published,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expiresFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expiresTo,
+            HttpServletResponse response) throws IOException {
+        CouponFilter filter = toFilter(status, published, expiresFrom, expiresTo);
+        response.setContentType(APPLICATION_NDJSON);
+        OutputStream out = response.getOutputStream();
+        CouponJsonWriter writer = new CouponJsonWriter(NDJSON_FLUSH_BYTES * 2);
+        listCouponsUseCase.stream(filter, coupon -> {
+            writer.write(CouponResponse.from(coupon)).newLine();
+            // junta várias linhas por write, sem segurar a resposta inteira em memória
+            if (writer.size() >= NDJSON_FLUSH_BYTES) {
+                flush(writer, out);
+            }
+        });
+        flush(writer, out);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Buscar cupom por id")
+    @ApiResponse(responseCode = "200", description = "Cupom encontrado")
+    @ApiResponse(responseCode = "404", description = "Não encontrado")
+    public ResponseEntity<CouponResponse> findById(@PathVariable UUID id) {
+        return ResponseEntity.ok(CouponResponse.from(findCouponUseCase.findById(id)));
+    }
+
+    @GetMapping("/code/{code}")
+    @Operation(summary = "Buscar cupom pelo código (ex.: validar no checkout)")
+    @ApiResponse(responseCode = "200", description = "Cupom encontrado; status e redeemed dizem se ainda vale")
+    @ApiResponse(responseCode = "404", description = "Não encontrado")
+    public ResponseEntity<CouponResponse> findByCode(@PathVariable String code) {
+        return ResponseEntity.ok(CouponResponse.from(findCouponUseCase.findByCode(code)));
+    }
+
+    @PostMapping("/{id}/redeem")
+    @Operation(summary = "Resgatar cupom")
+    @ApiResponse(responseCode = "204", description = "Resgatado")
+    @ApiResponse(responseCode = "409", description = "Inexistente, deletado, expirado ou já resgatado")
+    public ResponseEntity<Void> redeem(@PathVariable UUID id) {
+        redeemCouponUseCase.execute(id);
+        return ResponseEntity.noContent().build();
     }
 
     @DeleteMapping("/{id}")
@@ -57,4 +244,62 @@ public class CouponController {
         deleteCouponUseCase.execute(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/bulk-delete")
+    @Operation(summary = "Deletar cupons em massa (soft delete) por ids ou data de expiração")
+    @ApiResponse(responseCode = "200", description = "Quantidade de cupons deletados")
+    @ApiResponse(responseCode = "400", description = "Critério ausente, duplo ou acima do limite")
+    public ResponseEntity<BulkDeleteCouponResponse> bulkDelete(@RequestBody BulkDeleteCouponRequest request) {
+        List<UUID> ids = request.getIds();
+        LocalDateTime expiredBefore = request.getExpiredBefore();
+        if ((ids == null) == (expiredBefore == null)) {
+            throw new IllegalArgumentException("Informe ids ou expiredBefore, não ambos.");
+        }
+        if (expiredBefore != null) {
+            return ResponseEntity.ok(new BulkDeleteCouponResponse(bulkDeleteCouponsUseCase.deleteExpiredBefore(expiredBefore)));
+        }
+        if (ids.isEmpty() || ids.contains(null)) {
+            throw new IllegalArgumentException("ids não pode ser vazio nem conter nulos.");
+        }
+        if (ids.size() > batchMaxItems) {
+            throw new IllegalArgumentException("A deleção em massa aceita no máximo " + batchMaxItems + " ids.");
+        }
+        return ResponseEntity.ok(new BulkDeleteCouponResponse(bulkDeleteCouponsUseCase.deleteByIds(ids)));
+    }
+
+    private CouponResponse createCoupon(CreateCouponRequest request) {
+        Coupon coupon = request.isGenerateCode()
+                ? createCouponUseCase.executeWithGeneratedCode(
+                        request.getDescription(),
+                        request.getDiscountValue(),
+                        request.getExpirationDate(),
+                        request.isPublished())
+                : createCouponUseCase.execute(
+                        request.getCode(),
+                        request.getDescription(),
+                        request.getDiscountValue(),
+                        request.getExpirationDate(),
+                        request.isPublished());
+        return CouponResponse.from(coupon);
+    }
+
+    // BigDecimal sem zeros à direita: 1.0 e 1.00 são o mesmo corpo
+    private static List<Object> fingerprint(CreateCouponRequest request) {
+        return Arrays.asList(request.getCode(), request.isGenerateCode(), request.getDescription(),
+                request.getDiscountValue() == null ? null : request.getDiscountValue().stripTrailingZeros(),
+                request.getExpirationDate(), request.isPublished());
+    }
+
+    private static CouponFilter toFilter(String status, Boolean published, LocalDateTime expiresFrom, LocalDateTime expiresTo) {
+        return new CouponFilter(status == null ? null : CouponStatus.parse(status), published, expiresFrom, expiresTo);
+    }
+
+    private static void flush(CouponJsonWriter writer, OutputStream out) {
+        try {
+            writer.writeTo(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        writer.reset();
+    }
 }
@@ -0,0 +1,98 @@
+package com.coupon.coupon.api.controller;
+
+import com.coupon.coupon.api.response.CouponCsvWriter;
+import com.coupon.coupon.api.response.CouponExportResponse;
+import com.coupon.coupon.api.response.CouponJsonWriter;
+import com.coupon.coupon.application.export.ExportCouponsUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/coupons")
+@Tag(name = "coupon", description = "Operações de cupons")
+public class CouponExportController {
+
+    // instante em que o export começou a ler; serve de changedSince para o próximo export incremental
+    public static final String EXPORT_STARTED_AT = "Export-Started-At";
+
+    private static final int FLUSH_BYTES = 8192;
+
+    private final ExportCouponsUseCase exportCouponsUseCase;
+
+    public CouponExportController(ExportCouponsUseCase exportCouponsUseCase) {
+        this.exportCouponsUseCase = exportCouponsUseCase;
+    }
+
+    // cada linha vai para o stream da resposta assim que sai do cursor; nada é acumulado além do buffer de escrita
+    @GetMapping("/export")
+    @Operation(summary = "Exportar a tabela de cupons em CSV ou NDJSON, completa ou só o que mudou desde changedSince")
+    @ApiResponse(responseCode = "200", description = "Um cupom por linha, inclusive deletados")
+    @ApiResponse(responseCode = "400", description = "format ou changedSince inválido")
+    public void export(@RequestParam(defaultValue = "ndjson") String format,
+                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime changedSince,
+                       HttpServletResponse response) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("format deve ser csv ou ndjson.");
+        }
+        response.setHeader(EXPORT_STARTED_AT, LocalDateTime.now().toString());
+        if (csv) {
+            exportCsv(changedSince, response);
+        } else {
+            exportNdjson(changedSince, response);
+        }
+    }
+
+    private void exportCsv(LocalDateTime changedSince, HttpServletResponse response) throws IOException {
+        response.setContentType(CouponImportController.TEXT_CSV + ";charset=UTF-8");
+        BufferedWriter out = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), FLUSH_BYTES);
+        CouponCsvWriter writer = new CouponCsvWriter(out);
+        writer.writeHeader();
+        exportCouponsUseCase.export(changedSince, coupon -> {
+            try {
+                writer.write(CouponExportResponse.from(coupon));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        out.flush();
+    }
+
+    private void exportNdjson(LocalDateTime changedSince, HttpServletResponse response) throws IOException {
+        response.setContentType(CouponController.APPLICATION_NDJSON);
+        OutputStream out = response.getOutputStream();
+        CouponJsonWriter writer = new CouponJsonWriter(FLUSH_BYTES * 2);
+        exportCouponsUseCase.export(changedSince, coupon -> {
+            writer.write(CouponExportResponse.from(coupon)).newLine();
+            if (writer.size() >= FLUSH_BYTES) {
+                flush(writer, out);
+            }
+        });
+        flush(writer, out);
+    }
+
+    private static void flush(CouponJsonWriter writer, OutputStream out) {
+        try {
+            writer.writeTo(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        writer.reset();
+    }
+}
@@ -0,0 +1,80 @@
+package com.coupon.coupon.api.controller;
+
+import com.coupon.coupon.api.importer.CouponImportReader;
+import com.coupon.coupon.api.importer.CsvCouponImportReader;
+import com.coupon.coupon.api.importer.NdjsonCouponImportReader;
+import com.coupon.coupon.api.response.BatchItemResponse;
+import com.coupon.coupon.api.response.ImportSummaryResponse;
+import com.coupon.coupon.application.batch.BatchCreateCouponUseCase;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@RestController
+@RequestMapping("/coupons")
+@Tag(name = "coupon", description = "Operações de cupons")
+public class CouponImportController {
+
+    public static final String TEXT_CSV = "text/csv";
+
+    // resultados entre um flush e outro; o cliente vê o relatório andar sem um flush por linha
+    private static final int FLUSH_EVERY = 1000;
+
+    private final BatchCreateCouponUseCase batchCreateCouponUseCase;
+    private final ObjectMapper objectMapper;
+
+    public CouponImportController(BatchCreateCouponUseCase batchCreateCouponUseCase, ObjectMapper objectMapper) {
+        this.batchCreateCouponUseCase = batchCreateCouponUseCase;
+        this.objectMapper = objectMapper;
+    }
+
+    // o corpo é lido direto do stream da requisição, registro a registro, no ritmo em que os chunks são gravados;
+    // a resposta traz uma linha por registro rejeitado e um resumo no fim
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, CouponController.APPLICATION_NDJSON},
+            produces = CouponController.APPLICATION_NDJSON)
+    @Operation(summary = "Importar cupons de um CSV ou NDJSON em streaming")
+    @ApiResponse(responseCode = "200", description = "Uma linha FAILED por registro rejeitado e o resumo na última linha")
+    @ApiResponse(responseCode = "400", description = "Cabeçalho CSV sem as colunas obrigatórias")
+    public void importCoupons(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CouponImportReader reader = isCsv(request.getContentType())
+                ? new CsvCouponImportReader(request.getInputStream())
+                : new NdjsonCouponImportReader(request.getInputStream(), objectMapper);
+        response.setContentType(CouponController.APPLICATION_NDJSON);
+        long[] counts = new long[2];
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            batchCreateCouponUseCase.stream(reader, result -> {
+                try {
+                    if (result.isCreated()) {
+                        counts[0]++;
+                    } else {
+                        counts[1]++;
+                        generator.writeObject(BatchItemResponse.failed(result.getIndex(), result.getError()));
+                        generator.writeRaw('\n');
+                    }
+                    if ((counts[0] + counts[1]) % FLUSH_EVERY == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            generator.writeObject(new ImportSummaryResponse(counts[0] + counts[1], counts[0], counts[1]));
+            generator.writeRaw('\n');
+        }
+    }
+
+    private static boolean isCsv(String contentType) {
+        return contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV));
+    }
+}
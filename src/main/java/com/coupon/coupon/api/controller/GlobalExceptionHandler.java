@@ -1,15 +1,21 @@
 package com.coupon.coupon.api.controller;
 
+import com.coupon.coupon.api.response.ErrorResponse;
 import com.coupon.coupon.domain.exception.DomainException;
+import com.coupon.coupon.domain.exception.ErrorCode;
+import com.coupon.coupon.infrastructure.idempotency.IdempotencyConflictException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
@@ -17,37 +23,68 @@ public class GlobalExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private static final Map<ErrorCode, HttpStatus> STATUS_BY_CODE = new EnumMap<>(ErrorCode.class);
+    private static final ErrorResponse INTERNAL_ERROR =
+            new ErrorResponse(ErrorCode.INTERNAL_ERROR, "Erro interno. Tente novamente mais tarde.");
+
+    static {
+        for (ErrorCode code : ErrorCode.values()) {
+            STATUS_BY_CODE.put(code, HttpStatus.BAD_REQUEST);
+        }
+        STATUS_BY_CODE.put(ErrorCode.COUPON_NOT_FOUND, HttpStatus.NOT_FOUND);
+        STATUS_BY_CODE.put(ErrorCode.COUPON_NOT_REDEEMABLE, HttpStatus.CONFLICT);
+        STATUS_BY_CODE.put(ErrorCode.DUPLICATE_COUPON_CODE, HttpStatus.CONFLICT);
+        STATUS_BY_CODE.put(ErrorCode.IDEMPOTENCY_CONFLICT, HttpStatus.CONFLICT);
+        STATUS_BY_CODE.put(ErrorCode.CONCURRENT_MODIFICATION, HttpStatus.CONFLICT);
+        STATUS_BY_CODE.put(ErrorCode.RATE_LIMITED, HttpStatus.TOO_MANY_REQUESTS);
+        STATUS_BY_CODE.put(ErrorCode.SERVICE_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE);
+        STATUS_BY_CODE.put(ErrorCode.CODE_GENERATOR_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE);
+        STATUS_BY_CODE.put(ErrorCode.INTERNAL_ERROR, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    // status vem do código da exceção, sem inspecionar a mensagem
     @ExceptionHandler(DomainException.class)
-    public ResponseEntity<Map<String, String>> handleDomainException(DomainException ex) {
-        log.warn("Regra de negócio violada: {}", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", ex.getMessage()));
+    public ResponseEntity<ErrorResponse> handleDomainException(DomainException ex) {
+        log.debug("Regra de negócio violada ({}): {}", ex.getCode(), ex.getMessage());
+        return error(ex.getCode(), ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyConflict(IdempotencyConflictException ex) {
+        log.debug("Conflito de idempotência: {}", ex.getMessage());
+        return error(ErrorCode.IDEMPOTENCY_CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejected(RejectedExecutionException ex) {
+        log.warn("Requisição rejeitada por sobrecarga: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(ErrorCode.SERVICE_UNAVAILABLE, ex.getMessage()));
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException ex) {
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
         String message = ex.getMessage();
-        if (message != null && message.contains("não encontrado")) {
-            log.debug("Recurso não encontrado: {}", message);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", message));
-        }
         log.warn("Argumento inválido: {}", message);
-        String responseMessage = message != null ? message : "Argumento inválido";
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", responseMessage));
+        return error(ErrorCode.INVALID_REQUEST, message != null ? message : "Argumento inválido");
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, String>> handleValidation(MethodArgumentNotValidException ex) {
+    public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
         String errors = ex.getBindingResult().getFieldErrors().stream()
                 .map(e -> e.getField() + ": " + e.getDefaultMessage())
                 .collect(Collectors.joining("; "));
         log.warn("Validação falhou: {}", errors);
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", errors));
+        return error(ErrorCode.INVALID_REQUEST, errors);
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, String>> handleUnexpected(Exception ex) {
+    public ResponseEntity<ErrorResponse> handleUnexpected(Exception ex) {
         log.error("Erro inesperado", ex);
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(Map.of("message", "Erro interno. Tente novamente mais tarde."));
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(INTERNAL_ERROR);
+    }
+
+    private static ResponseEntity<ErrorResponse> error(ErrorCode code, String message) {
+        return ResponseEntity.status(STATUS_BY_CODE.get(code)).body(new ErrorResponse(code, message));
     }
 }
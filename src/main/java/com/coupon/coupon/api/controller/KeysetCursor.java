@@ -0,0 +1,38 @@
+package com.coupon.coupon.api.controller;
+
+import com.coupon.coupon.domain.repository.CouponKeyset;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+// cursor opaco para o cliente: base64url de "expirationDate|id"
+final class KeysetCursor {
+
+    private KeysetCursor() {
+    }
+
+    static String encode(CouponKeyset keyset) {
+        if (keyset == null) {
+            return null;
+        }
+        String raw = keyset.getExpirationDate() + "|" + keyset.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static CouponKeyset decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new CouponKeyset(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+    }
+}
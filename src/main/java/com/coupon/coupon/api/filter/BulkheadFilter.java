@@ -0,0 +1,92 @@
+package com.coupon.coupon.api.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// limita requisições simultâneas; com virtual threads não há pool de threads para fazer esse papel.
+// Streams (import, export e listagem NDJSON) seguram a permissão pela duração inteira da transferência, que
+// depende do cliente: ficam num pool próprio para não esgotar as permissões das requisições curtas
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkheadFilter.class);
+
+    private static final byte[] BUSY_BODY = "{\"code\":\"SERVICE_UNAVAILABLE\",\"message\":\"Servidor ocupado. Tente novamente.\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final Semaphore permits;
+    private final Semaphore streamPermits;
+    private final long acquireTimeoutNanos;
+
+    public BulkheadFilter(int maxConcurrent, int maxConcurrentStreams, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.streamPermits = new Semaphore(maxConcurrentStreams, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Semaphore pool = isStream(request) ? streamPermits : permits;
+        boolean acquired;
+        try {
+            // espera no semáforo desmonta a virtual thread; a fila fica aqui e não no pool de conexões
+            acquired = pool.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            log.debug("Bulkhead cheio: {} {}", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(BUSY_BODY);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            pool.release();
+        }
+    }
+
+    static boolean isStream(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("POST".equals(method)) {
+            return "/coupons/import".equals(path);
+        }
+        if ("GET".equals(method)) {
+            if ("/coupons/export".equals(path)) {
+                return true;
+            }
+            String accept = request.getHeader(HttpHeaders.ACCEPT);
+            return "/coupons".equals(path) && accept != null && accept.contains(APPLICATION_NDJSON);
+        }
+        return false;
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int availableStreamPermits() {
+        return streamPermits.availablePermits();
+    }
+}
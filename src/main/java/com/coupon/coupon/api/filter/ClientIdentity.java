@@ -0,0 +1,28 @@
+package com.coupon.coupon.api.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+// quem é o cliente da requisição: o rate limit e a Idempotency-Key precisam concordar, senão um cliente atrás de
+// proxy/NAT divide bucket e chaves com todos os vizinhos de IP
+@Component
+public class ClientIdentity {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private final Set<String> apiKeys;
+
+    public ClientIdentity(@Value("${coupon.rate-limit.api-keys:}") Set<String> apiKeys) {
+        this.apiKeys = Set.copyOf(apiKeys);
+    }
+
+    // API key só quando é uma das configuradas; qualquer outro valor do header cai no IP. Senão quem troca o header
+    // a cada requisição ganharia uma identidade nova por requisição
+    public String resolve(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && apiKeys.contains(apiKey) ? "k:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,24 @@
+package com.coupon.coupon.api.filter;
+
+// perSecond tokens por segundo, até burst tokens acumulados
+public final class RateLimit {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    public RateLimit(double perSecond, int burst) {
+        if (perSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit inválido: perSecond > 0 e burst >= 1.");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / perSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+    }
+
+    long emissionIntervalNanos() {
+        return emissionIntervalNanos;
+    }
+
+    long burstToleranceNanos() {
+        return burstToleranceNanos;
+    }
+}
@@ -0,0 +1,113 @@
+package com.coupon.coupon.api.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+// um bucket por cliente e rota; buckets ociosos saem do cache, então a memória acompanha só os clientes ativos
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY_HEADER = ClientIdentity.API_KEY_HEADER;
+
+    private static final byte[] LIMITED_BODY = "{\"code\":\"RATE_LIMITED\",\"message\":\"Limite de requisições excedido. Tente novamente mais tarde.\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    public enum Route { CREATE, BATCH, DELETE, OTHER }
+
+    private final Map<Route, RateLimit> limits;
+    private final ClientIdentity clientIdentity;
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<Route, Counter> rejected = new EnumMap<>(Route.class);
+    private final LongSupplier clock;
+
+    public RateLimitFilter(Map<Route, RateLimit> limits, Set<String> apiKeys, long maximumClients,
+                           Duration idleTimeout, MeterRegistry registry) {
+        this(limits, apiKeys, maximumClients, idleTimeout, registry, System::nanoTime);
+    }
+
+    RateLimitFilter(Map<Route, RateLimit> limits, Set<String> apiKeys, long maximumClients, Duration idleTimeout,
+                    MeterRegistry registry, LongSupplier clock) {
+        this.limits = new EnumMap<>(limits);
+        this.clientIdentity = new ClientIdentity(apiKeys);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumClients)
+                .expireAfterAccess(idleTimeout)
+                .executor(Runnable::run)
+                .build();
+        this.clock = clock;
+        for (Route route : Route.values()) {
+            rejected.put(route, Counter.builder("coupon.rate.limit.rejected")
+                    .description("Requisições recusadas com 429")
+                    .tag("route", route.name().toLowerCase())
+                    .register(registry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Route route = route(request);
+        RateLimit limit = limits.get(route);
+        if (limit == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        TokenBucket bucket = buckets.get(route.ordinal() + "|" + clientIdentity.resolve(request), key -> new TokenBucket());
+        long waitNanos = bucket.tryAcquire(limit, clock.getAsLong());
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        rejected.get(route).increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(LIMITED_BODY);
+    }
+
+    static Route route(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("POST".equals(method)) {
+            if ("/coupons".equals(path)) {
+                return Route.CREATE;
+            }
+            if ("/coupons/batch".equals(path) || "/coupons/import".equals(path)) {
+                return Route.BATCH;
+            }
+            if ("/coupons/bulk-delete".equals(path)) {
+                return Route.DELETE;
+            }
+        }
+        if ("DELETE".equals(method)) {
+            return Route.DELETE;
+        }
+        // um export percorre a tabela inteira: mesma cota do batch
+        if ("GET".equals(method) && "/coupons/export".equals(path)) {
+            return Route.BATCH;
+        }
+        return Route.OTHER;
+    }
+
+    public long estimatedClients() {
+        return buckets.estimatedSize();
+    }
+}
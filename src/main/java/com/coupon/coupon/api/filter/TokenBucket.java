@@ -0,0 +1,24 @@
+package com.coupon.coupon.api.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// token bucket na forma GCRA: o estado inteiro é um instante (TAT), atualizado por CAS sem lock
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    // retorna 0 se admitido, senão quantos nanos faltam para o próximo token
+    long tryAcquire(RateLimit limit, long now) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = tat == Long.MIN_VALUE ? now : Math.max(tat, now);
+            long wait = base - limit.burstToleranceNanos() - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + limit.emissionIntervalNanos())) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.coupon.coupon.api.importer;
+
+import com.coupon.coupon.application.batch.BatchCouponItem;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// lê o corpo do import registro a registro, sem carregar o arquivo; cada registro vira um item
+// ou uma rejeição com o motivo. O próximo registro só é lido quando o consumidor pede (hasNext/next).
+public abstract class CouponImportReader implements Iterator<BatchCouponItem> {
+
+    // acima disso o registro é descartado até o fim da linha, para uma linha gigante não estourar a memória
+    static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    static final int MAX_DESCRIPTION_LENGTH = 2000;
+
+    protected final BufferedReader reader;
+    private BatchCouponItem next;
+    private int index;
+    private boolean finished;
+
+    protected CouponImportReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    // lê o próximo registro; null no fim do arquivo
+    protected abstract BatchCouponItem readItem(int index) throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readItem(index);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            if (next == null) {
+                finished = true;
+            } else {
+                index++;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public BatchCouponItem next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        BatchCouponItem item = next;
+        next = null;
+        return item;
+    }
+
+    // mesmas checagens de formato que o Bean Validation faz no POST /coupons; as regras de negócio ficam no Coupon.create
+    protected static BatchCouponItem toItem(int index, String code, String description, String discountValue,
+                                            String expirationDate, String published) {
+        if (isBlank(code)) {
+            return BatchCouponItem.rejected(index, "code é obrigatório");
+        }
+        if (isBlank(description)) {
+            return BatchCouponItem.rejected(index, "description é obrigatória");
+        }
+        if (description.length() > MAX_DESCRIPTION_LENGTH) {
+            return BatchCouponItem.rejected(index,
+                    "description deve ter no máximo " + MAX_DESCRIPTION_LENGTH + " caracteres");
+        }
+        if (isBlank(discountValue)) {
+            return BatchCouponItem.rejected(index, "discountValue é obrigatório");
+        }
+        BigDecimal discount;
+        try {
+            discount = new BigDecimal(discountValue.trim());
+        } catch (NumberFormatException ex) {
+            return BatchCouponItem.rejected(index, "discountValue inválido: '" + discountValue + "'");
+        }
+        if (isBlank(expirationDate)) {
+            return BatchCouponItem.rejected(index, "expirationDate é obrigatória");
+        }
+        LocalDateTime expiration;
+        try {
+            expiration = LocalDateTime.parse(expirationDate.trim());
+        } catch (DateTimeParseException ex) {
+            return BatchCouponItem.rejected(index,
+                    "expirationDate inválida: '" + expirationDate + "' (use ISO-8601, ex.: 2030-01-31T23:59:59)");
+        }
+        boolean isPublished;
+        if (isBlank(published) || "false".equalsIgnoreCase(published.trim())) {
+            isPublished = false;
+        } else if ("true".equalsIgnoreCase(published.trim())) {
+            isPublished = true;
+        } else {
+            return BatchCouponItem.rejected(index, "published inválido: '" + published + "' (use true ou false)");
+        }
+        return new BatchCouponItem(index, code, description, discount, expiration, isPublished);
+    }
+
+    protected static BatchCouponItem tooLong(int index) {
+        return BatchCouponItem.rejected(index, "Registro acima de " + MAX_RECORD_LENGTH + " caracteres.");
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,143 @@
+package com.coupon.coupon.api.importer;
+
+import com.coupon.coupon.application.batch.BatchCouponItem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// CSV no formato RFC 4180: cabeçalho obrigatório (colunas em qualquer ordem), campos entre aspas
+// podem conter vírgula, aspas duplicadas ("") e quebra de linha
+public class CsvCouponImportReader extends CouponImportReader {
+
+    private static final String[] REQUIRED_COLUMNS = {"code", "description", "discountValue", "expirationDate"};
+
+    private final int code;
+    private final int description;
+    private final int discountValue;
+    private final int expirationDate;
+    private final int published;
+
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+
+    // lê o cabeçalho já na construção: cabeçalho inválido vira 400 antes de a resposta começar
+    public CsvCouponImportReader(InputStream input) {
+        super(input);
+        Map<String, Integer> columns = new HashMap<>();
+        try {
+            if (readRecord()) {
+                for (int i = 0; i < fields.size(); i++) {
+                    String name = fields.get(i).trim();
+                    if (i == 0 && !name.isEmpty() && name.charAt(0) == '\uFEFF') {
+                        name = name.substring(1);
+                    }
+                    columns.putIfAbsent(name.toLowerCase(Locale.ROOT), i);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column.toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Cabeçalho CSV sem a coluna '" + column + "'. "
+                        + "Esperado: code,description,discountValue,expirationDate[,published]");
+            }
+        }
+        this.code = columns.get("code");
+        this.description = columns.get("description");
+        this.discountValue = columns.get("discountvalue");
+        this.expirationDate = columns.get("expirationdate");
+        this.published = columns.getOrDefault("published", -1);
+    }
+
+    @Override
+    protected BatchCouponItem readItem(int index) throws IOException {
+        while (true) {
+            int length = readRecordLength();
+            if (length < 0) {
+                return null;
+            }
+            if (length > MAX_RECORD_LENGTH) {
+                return tooLong(index);
+            }
+            // linha em branco não conta como registro
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+            return toItem(index, column(code), column(description), column(discountValue),
+                    column(expirationDate), published < 0 ? null : column(published));
+        }
+    }
+
+    private String column(int position) {
+        return position < fields.size() ? fields.get(position) : null;
+    }
+
+    private boolean readRecord() throws IOException {
+        return readRecordLength() >= 0;
+    }
+
+    // preenche fields com o próximo registro e devolve quantos caracteres ele tinha; -1 no fim do arquivo
+    private int readRecordLength() throws IOException {
+        fields.clear();
+        field.setLength(0);
+        int length = 0;
+        boolean inQuotes = false;
+        boolean any = false;
+        while (true) {
+            int c = reader.read();
+            if (c < 0) {
+                if (!any) {
+                    return -1;
+                }
+                fields.add(field.toString());
+                return length;
+            }
+            any = true;
+            if (inQuotes) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        length = append('"', length);
+                    } else {
+                        reader.reset();
+                        inQuotes = false;
+                    }
+                } else {
+                    length = append((char) c, length);
+                }
+            } else if (c == ',') {
+                if (length < MAX_RECORD_LENGTH) {
+                    fields.add(field.toString());
+                }
+                field.setLength(0);
+                length = Math.min(length + 1, MAX_RECORD_LENGTH + 1);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return length;
+            } else if (c == '\r') {
+                // \r\n ou \r solto: o \n, se vier, fecha o registro na próxima volta
+                continue;
+            } else if (c == '"' && field.length() == 0) {
+                inQuotes = true;
+            } else {
+                length = append((char) c, length);
+            }
+        }
+    }
+
+    // passado o limite, continua consumindo o registro sem guardar os caracteres (contagem satura no limite + 1)
+    private int append(char c, int length) {
+        if (length < MAX_RECORD_LENGTH) {
+            field.append(c);
+            return length + 1;
+        }
+        return MAX_RECORD_LENGTH + 1;
+    }
+}
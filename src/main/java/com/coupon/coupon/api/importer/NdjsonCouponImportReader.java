@@ -0,0 +1,86 @@
+package com.coupon.coupon.api.importer;
+
+import com.coupon.coupon.application.batch.BatchCouponItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// um objeto JSON por linha, com os mesmos campos do POST /coupons; linhas em branco são ignoradas
+public class NdjsonCouponImportReader extends CouponImportReader {
+
+    private final ObjectMapper objectMapper;
+    private final StringBuilder line = new StringBuilder();
+
+    public NdjsonCouponImportReader(InputStream input, ObjectMapper objectMapper) {
+        super(input);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected BatchCouponItem readItem(int index) throws IOException {
+        while (true) {
+            int length = readLine();
+            if (length < 0) {
+                return null;
+            }
+            if (length > MAX_RECORD_LENGTH) {
+                return tooLong(index);
+            }
+            if (line.toString().isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line.toString());
+            } catch (JsonProcessingException ex) {
+                return BatchCouponItem.rejected(index, "JSON inválido: " + ex.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return BatchCouponItem.rejected(index, "Cada linha deve ser um objeto JSON.");
+            }
+            return toItem(index, text(node, "code"), text(node, "description"), text(node, "discountValue"),
+                    text(node, "expirationDate"), text(node, "published"));
+        }
+    }
+
+    // números e booleanos chegam como texto e passam pela mesma conversão do CSV
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (value.isBigDecimal() || value.isDouble() || value.isFloat()) {
+            return value.decimalValue().toPlainString();
+        }
+        return value.asText();
+    }
+
+    // próxima linha em line; -1 no fim do arquivo. Acima do limite só conta, sem guardar
+    private int readLine() throws IOException {
+        line.setLength(0);
+        int length = 0;
+        boolean any = false;
+        while (true) {
+            int c = reader.read();
+            if (c < 0) {
+                return any ? length : -1;
+            }
+            any = true;
+            if (c == '\n') {
+                return length;
+            }
+            if (c == '\r') {
+                continue;
+            }
+            if (length < MAX_RECORD_LENGTH) {
+                line.append((char) c);
+                length++;
+            } else {
+                length = MAX_RECORD_LENGTH + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.coupon.coupon.api.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+@Schema(description = "Request para criação de cupons em lote")
+public class BatchCreateCouponRequest {
+
+    // itens são validados um a um; um item inválido não derruba o lote
+    @NotEmpty(message = "items é obrigatório")
+    @Schema(description = "Cupons a criar", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<CreateCouponRequest> items;
+
+    public BatchCreateCouponRequest() {
+    }
+
+    public List<CreateCouponRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CreateCouponRequest> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,36 @@
+package com.coupon.coupon.api.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Request para deleção em massa: informe ids ou expiredBefore")
+public class BulkDeleteCouponRequest {
+
+    @Schema(description = "Ids dos cupons a deletar")
+    private List<UUID> ids;
+
+    @Schema(description = "Deleta os cupons com expirationDate anterior a esta data", example = "2025-01-01T00:00:00")
+    private LocalDateTime expiredBefore;
+
+    public BulkDeleteCouponRequest() {
+    }
+
+    public List<UUID> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<UUID> ids) {
+        this.ids = ids;
+    }
+
+    public LocalDateTime getExpiredBefore() {
+        return expiredBefore;
+    }
+
+    public void setExpiredBefore(LocalDateTime expiredBefore) {
+        this.expiredBefore = expiredBefore;
+    }
+}
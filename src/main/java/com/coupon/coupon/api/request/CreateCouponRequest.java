@@ -1,9 +1,12 @@
 package com.coupon.coupon.api.request;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -11,12 +14,15 @@ import java.time.LocalDateTime;
 @Schema(description = "Request para criação de cupom")
 public class CreateCouponRequest {
 
-    @NotBlank(message = "code é obrigatório")
-    @Schema(description = "Código do cupom (alfanumérico; caracteres especiais serão removidos)", example = "ABC-123", requiredMode = Schema.RequiredMode.REQUIRED)
+    @Schema(description = "Código do cupom (alfanumérico; caracteres especiais serão removidos). Omitir quando generateCode=true", example = "ABC-123")
     private String code;
 
+    @Schema(description = "Se o servidor deve gerar o código (6 caracteres base 62)", example = "false")
+    private boolean generateCode;
+
     @NotBlank(message = "description é obrigatória")
-    @Schema(description = "Descrição do cupom", requiredMode = Schema.RequiredMode.REQUIRED)
+    @Size(max = 2000, message = "description deve ter no máximo 2000 caracteres")
+    @Schema(description = "Descrição do cupom (até 2000 caracteres)", requiredMode = Schema.RequiredMode.REQUIRED)
     private String description;
 
     @NotNull(message = "discountValue é obrigatório")
@@ -34,6 +40,14 @@ public class CreateCouponRequest {
     public CreateCouponRequest() {
     }
 
+    // exatamente uma origem para o código: informado pelo cliente ou gerado pelo servidor
+    @JsonIgnore
+    @Schema(hidden = true)
+    @AssertTrue(message = "informe code ou generateCode=true, não ambos")
+    public boolean isCodeSourceValid() {
+        return generateCode == (code == null || code.isBlank());
+    }
+
     public String getCode() {
         return code;
     }
@@ -42,6 +56,14 @@ public class CreateCouponRequest {
         this.code = code;
     }
 
+    public boolean isGenerateCode() {
+        return generateCode;
+    }
+
+    public void setGenerateCode(boolean generateCode) {
+        this.generateCode = generateCode;
+    }
+
     public String getDescription() {
         return description;
     }
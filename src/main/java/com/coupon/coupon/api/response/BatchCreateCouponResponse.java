@@ -0,0 +1,59 @@
+package com.coupon.coupon.api.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado da criação em lote")
+public class BatchCreateCouponResponse {
+
+    @Schema(description = "Quantidade de cupons criados")
+    private int created;
+
+    @Schema(description = "Quantidade de itens rejeitados")
+    private int failed;
+
+    @Schema(description = "Resultado por item, na ordem do lote")
+    private List<BatchItemResponse> items;
+
+    public BatchCreateCouponResponse() {
+    }
+
+    public static BatchCreateCouponResponse of(List<BatchItemResponse> items) {
+        BatchCreateCouponResponse response = new BatchCreateCouponResponse();
+        int created = 0;
+        for (BatchItemResponse item : items) {
+            if ("CREATED".equals(item.getStatus())) {
+                created++;
+            }
+        }
+        response.setCreated(created);
+        response.setFailed(items.size() - created);
+        response.setItems(items);
+        return response;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BatchItemResponse> items) {
+        this.items = items;
+    }
+}
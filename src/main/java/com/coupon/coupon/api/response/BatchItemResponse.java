@@ -0,0 +1,86 @@
+package com.coupon.coupon.api.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+@Schema(description = "Resultado de um item do lote")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResponse {
+
+    @Schema(description = "Posição do item no lote enviado (base 0)")
+    private int index;
+
+    @Schema(description = "CREATED ou FAILED")
+    private String status;
+
+    @Schema(description = "Identificador do cupom criado")
+    private UUID id;
+
+    @Schema(description = "Código do cupom criado")
+    private String code;
+
+    @Schema(description = "Motivo da falha")
+    private String message;
+
+    public BatchItemResponse() {
+    }
+
+    public static BatchItemResponse created(int index, UUID id, String code) {
+        BatchItemResponse response = new BatchItemResponse();
+        response.setIndex(index);
+        response.setStatus("CREATED");
+        response.setId(id);
+        response.setCode(code);
+        return response;
+    }
+
+    public static BatchItemResponse failed(int index, String message) {
+        BatchItemResponse response = new BatchItemResponse();
+        response.setIndex(index);
+        response.setStatus("FAILED");
+        response.setMessage(message);
+        return response;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,25 @@
+package com.coupon.coupon.api.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado da deleção em massa")
+public class BulkDeleteCouponResponse {
+
+    @Schema(description = "Quantidade de cupons deletados; inexistentes e já deletados não contam")
+    private int deleted;
+
+    public BulkDeleteCouponResponse() {
+    }
+
+    public BulkDeleteCouponResponse(int deleted) {
+        this.deleted = deleted;
+    }
+
+    public int getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(int deleted) {
+        this.deleted = deleted;
+    }
+}
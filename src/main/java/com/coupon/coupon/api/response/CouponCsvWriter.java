@@ -0,0 +1,92 @@
+package com.coupon.coupon.api.response;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// CSV RFC 4180 do export, no mesmo layout de colunas aceito pelo POST /coupons/import (colunas extras são ignoradas lá);
+// campos nulos saem vazios e só são postos entre aspas os que têm vírgula, aspas ou quebra de linha
+public final class CouponCsvWriter {
+
+    public static final String HEADER =
+            "id,code,description,discountValue,expirationDate,status,published,redeemed,deletedAt,expiredAt,updatedAt";
+
+    private final Writer out;
+
+    public CouponCsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void writeHeader() throws IOException {
+        out.write(HEADER);
+        out.write("\r\n");
+    }
+
+    public void write(CouponExportResponse coupon) throws IOException {
+        out.write(coupon.getId().toString());
+        out.write(',');
+        writeField(coupon.getCode());
+        out.write(',');
+        writeField(coupon.getDescription());
+        out.write(',');
+        if (coupon.getDiscountValue() != null) {
+            out.write(coupon.getDiscountValue().toPlainString());
+        }
+        out.write(',');
+        writeDateTime(coupon.getExpirationDate());
+        out.write(',');
+        if (coupon.getStatus() != null) {
+            out.write(coupon.getStatus().name());
+        }
+        out.write(',');
+        out.write(coupon.isPublished() ? "true" : "false");
+        out.write(',');
+        out.write(coupon.isRedeemed() ? "true" : "false");
+        out.write(',');
+        writeDateTime(coupon.getDeletedAt());
+        out.write(',');
+        writeDateTime(coupon.getExpiredAt());
+        out.write(',');
+        writeDateTime(coupon.getUpdatedAt());
+        out.write("\r\n");
+    }
+
+    private void writeDateTime(LocalDateTime value) throws IOException {
+        if (value != null) {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(value, out);
+        }
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                // aspas dentro do campo saem duplicadas
+                out.write(value, start, i - start + 1);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,154 @@
+package com.coupon.coupon.api.response;
+
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Schema(description = "Linha do export: os campos do cupom mais as datas de deleção, expiração e última gravação")
+public class CouponExportResponse {
+
+    @Schema(description = "Identificador único do cupom")
+    private UUID id;
+
+    @Schema(description = "Código do cupom (6 caracteres alfanuméricos)")
+    private String code;
+
+    @Schema(description = "Descrição do cupom")
+    private String description;
+
+    @Schema(description = "Valor do desconto")
+    private BigDecimal discountValue;
+
+    @Schema(description = "Data de expiração")
+    private LocalDateTime expirationDate;
+
+    @Schema(description = "Status do cupom: ACTIVE, EXPIRED, DELETED")
+    private CouponStatus status;
+
+    @Schema(description = "Se está publicado")
+    private boolean published;
+
+    @Schema(description = "Se foi resgatado")
+    private boolean redeemed;
+
+    @Schema(description = "Quando foi deletado; nulo se não foi")
+    private LocalDateTime deletedAt;
+
+    @Schema(description = "Quando o sweeper marcou a expiração; nulo até ele passar")
+    private LocalDateTime expiredAt;
+
+    @Schema(description = "Última gravação do cupom; é o campo comparado com changedSince")
+    private LocalDateTime updatedAt;
+
+    public CouponExportResponse() {
+    }
+
+    public static CouponExportResponse from(Coupon coupon) {
+        CouponExportResponse response = new CouponExportResponse();
+        response.setId(coupon.getId());
+        response.setCode(coupon.getCode());
+        response.setDescription(coupon.getDescription());
+        response.setDiscountValue(coupon.getDiscountValue());
+        response.setExpirationDate(coupon.getExpirationDate());
+        response.setStatus(coupon.isDeleted() ? CouponStatus.DELETED
+                : coupon.isExpired() ? CouponStatus.EXPIRED : CouponStatus.ACTIVE);
+        response.setPublished(coupon.isPublished());
+        response.setRedeemed(coupon.isRedeemed());
+        response.setDeletedAt(coupon.getDeletedAt());
+        response.setExpiredAt(coupon.getExpiredAt());
+        response.setUpdatedAt(coupon.getUpdatedAt());
+        return response;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public BigDecimal getDiscountValue() {
+        return discountValue;
+    }
+
+    public void setDiscountValue(BigDecimal discountValue) {
+        this.discountValue = discountValue;
+    }
+
+    public LocalDateTime getExpirationDate() {
+        return expirationDate;
+    }
+
+    public void setExpirationDate(LocalDateTime expirationDate) {
+        this.expirationDate = expirationDate;
+    }
+
+    public CouponStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(CouponStatus status) {
+        this.status = status;
+    }
+
+    public boolean isPublished() {
+        return published;
+    }
+
+    public void setPublished(boolean published) {
+        this.published = published;
+    }
+
+    public boolean isRedeemed() {
+        return redeemed;
+    }
+
+    public void setRedeemed(boolean redeemed) {
+        this.redeemed = redeemed;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public LocalDateTime getExpiredAt() {
+        return expiredAt;
+    }
+
+    public void setExpiredAt(LocalDateTime expiredAt) {
+        this.expiredAt = expiredAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,47 @@
+package com.coupon.coupon.api.response;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+// serializa as respostas de cupom e de erro com o CouponJsonWriter; só escreve, a leitura continua no Jackson
+public class CouponJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public CouponJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == CouponResponse.class || clazz == CouponPageResponse.class || clazz == ErrorResponse.class;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Leitura não suportada por este conversor.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        CouponJsonWriter writer = new CouponJsonWriter();
+        if (body instanceof CouponPageResponse page) {
+            writer.write(page);
+        } else if (body instanceof ErrorResponse error) {
+            writer.write(error);
+        } else {
+            writer.write((CouponResponse) body);
+        }
+        // corpo já montado: o tamanho vai no cabeçalho e a escrita é uma só
+        outputMessage.getHeaders().setContentLength(writer.size());
+        writer.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,338 @@
+package com.coupon.coupon.api.response;
+
+import com.coupon.coupon.domain.exception.ErrorCode;
+import com.coupon.coupon.domain.model.CouponStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+// escreve CouponResponse/CouponPageResponse/CouponExportResponse/ErrorResponse direto em bytes, sem reflexão nem árvore intermediária;
+// a saída é idêntica à do ObjectMapper do Spring (mesma ordem de campos e formatos)
+public final class CouponJsonWriter {
+
+    private static final byte[] ID = ascii("{\"id\":");
+    private static final byte[] CODE = ascii(",\"code\":");
+    private static final byte[] DESCRIPTION = ascii(",\"description\":");
+    private static final byte[] DISCOUNT_VALUE = ascii(",\"discountValue\":");
+    private static final byte[] EXPIRATION_DATE = ascii(",\"expirationDate\":");
+    private static final byte[] PUBLISHED_TRUE = ascii(",\"published\":true");
+    private static final byte[] PUBLISHED_FALSE = ascii(",\"published\":false");
+    private static final byte[] REDEEMED_TRUE = ascii(",\"redeemed\":true");
+    private static final byte[] REDEEMED_FALSE = ascii(",\"redeemed\":false");
+    private static final byte[] DELETED_AT = ascii(",\"deletedAt\":");
+    private static final byte[] EXPIRED_AT = ascii(",\"expiredAt\":");
+    private static final byte[] UPDATED_AT = ascii(",\"updatedAt\":");
+    private static final byte[] ITEMS = ascii("{\"items\":");
+    private static final byte[] NEXT_CURSOR = ascii(",\"nextCursor\":");
+    private static final byte[] NULL = ascii("null");
+
+    // um fragmento pronto por status, indexado pelo ordinal
+    private static final byte[][] STATUS = new byte[CouponStatus.values().length][];
+    private static final byte[] STATUS_NULL = ascii(",\"status\":null");
+
+    // corpo de erro pronto até a mensagem, um por código
+    private static final byte[][] ERROR = new byte[ErrorCode.values().length][];
+    private static final byte[] ERROR_NULL = ascii("{\"code\":null");
+    private static final byte[] MESSAGE = ascii(",\"message\":");
+
+    private static final byte[] HEX = ascii("0123456789abcdef");
+    private static final byte[] HEX_UPPER = ascii("0123456789ABCDEF");
+
+    // 0 = copia o byte; outro valor = caractere do escape curto (\n, \t...); -1 = escape unicode com 4 dígitos hex
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (CouponStatus status : CouponStatus.values()) {
+            STATUS[status.ordinal()] = ascii(",\"status\":\"" + status.name() + "\"");
+        }
+        for (ErrorCode code : ErrorCode.values()) {
+            ERROR[code.ordinal()] = ascii("{\"code\":\"" + code.name() + "\",\"message\":");
+        }
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = -1;
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\r'] = 'r';
+    }
+
+    private byte[] buffer;
+    private int length;
+
+    public CouponJsonWriter() {
+        this(512);
+    }
+
+    public CouponJsonWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public CouponJsonWriter write(CouponResponse coupon) {
+        if (coupon == null) {
+            append(NULL);
+            return this;
+        }
+        writeCouponFields(coupon.getId(), coupon.getCode(), coupon.getDescription(), coupon.getDiscountValue(),
+                coupon.getExpirationDate(), coupon.getStatus(), coupon.isPublished(), coupon.isRedeemed());
+        append('}');
+        return this;
+    }
+
+    public CouponJsonWriter write(CouponExportResponse coupon) {
+        writeCouponFields(coupon.getId(), coupon.getCode(), coupon.getDescription(), coupon.getDiscountValue(),
+                coupon.getExpirationDate(), coupon.getStatus(), coupon.isPublished(), coupon.isRedeemed());
+        append(DELETED_AT);
+        writeDateTime(coupon.getDeletedAt());
+        append(EXPIRED_AT);
+        writeDateTime(coupon.getExpiredAt());
+        append(UPDATED_AT);
+        writeDateTime(coupon.getUpdatedAt());
+        append('}');
+        return this;
+    }
+
+    public CouponJsonWriter write(CouponPageResponse page) {
+        append(ITEMS);
+        List<CouponResponse> items = page.getItems();
+        if (items == null) {
+            append(NULL);
+        } else {
+            append('[');
+            for (int i = 0; i < items.size(); i++) {
+                if (i > 0) {
+                    append(',');
+                }
+                write(items.get(i));
+            }
+            append(']');
+        }
+        append(NEXT_CURSOR);
+        writeString(page.getNextCursor());
+        append('}');
+        return this;
+    }
+
+    public CouponJsonWriter write(ErrorResponse error) {
+        ErrorCode code = error.getCode();
+        if (code == null) {
+            append(ERROR_NULL);
+            append(MESSAGE);
+        } else {
+            append(ERROR[code.ordinal()]);
+        }
+        writeString(error.getMessage());
+        append('}');
+        return this;
+    }
+
+    public CouponJsonWriter newLine() {
+        append('\n');
+        return this;
+    }
+
+    public int size() {
+        return length;
+    }
+
+    public void reset() {
+        length = 0;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, length);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    // do '{' até redeemed, sem fechar o objeto
+    private void writeCouponFields(UUID id, String code, String description, BigDecimal discountValue,
+                                   LocalDateTime expirationDate, CouponStatus status, boolean published, boolean redeemed) {
+        append(ID);
+        writeUuid(id);
+        append(CODE);
+        writeString(code);
+        append(DESCRIPTION);
+        writeString(description);
+        append(DISCOUNT_VALUE);
+        writeDecimal(discountValue);
+        append(EXPIRATION_DATE);
+        writeDateTime(expirationDate);
+        append(status == null ? STATUS_NULL : STATUS[status.ordinal()]);
+        append(published ? PUBLISHED_TRUE : PUBLISHED_FALSE);
+        append(redeemed ? REDEEMED_TRUE : REDEEMED_FALSE);
+    }
+
+    private void writeUuid(UUID id) {
+        if (id == null) {
+            append(NULL);
+            return;
+        }
+        ensure(38);
+        buffer[length++] = '"';
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        hex(msb >>> 32, 8);
+        buffer[length++] = '-';
+        hex(msb >>> 16, 4);
+        buffer[length++] = '-';
+        hex(msb, 4);
+        buffer[length++] = '-';
+        hex(lsb >>> 48, 4);
+        buffer[length++] = '-';
+        hex(lsb, 12);
+        buffer[length++] = '"';
+    }
+
+    private void hex(long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[length + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        length += digits;
+    }
+
+    private void writeDecimal(BigDecimal value) {
+        if (value == null) {
+            append(NULL);
+            return;
+        }
+        // mesmo formato do Jackson com WRITE_BIGDECIMAL_AS_PLAIN desligado
+        writeAscii(value.toString());
+    }
+
+    private void writeDateTime(LocalDateTime value) {
+        if (value == null) {
+            append(NULL);
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // fora do formato fixo de 4 dígitos: deixa o formatter tratar sinal e largura
+            append('"');
+            writeAscii(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+            append('"');
+            return;
+        }
+        ensure(31);
+        buffer[length++] = '"';
+        digits(year, 4);
+        buffer[length++] = '-';
+        digits(value.getMonthValue(), 2);
+        buffer[length++] = '-';
+        digits(value.getDayOfMonth(), 2);
+        buffer[length++] = 'T';
+        digits(value.getHour(), 2);
+        buffer[length++] = ':';
+        digits(value.getMinute(), 2);
+        buffer[length++] = ':';
+        digits(value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano > 0) {
+            // fração sem zeros à direita, como o ISO_LOCAL_DATE_TIME
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            buffer[length++] = '.';
+            digits(nano, width);
+        }
+        buffer[length++] = '"';
+    }
+
+    private void digits(int value, int width) {
+        for (int i = width - 1; i >= 0; i--) {
+            buffer[length + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += width;
+    }
+
+    private void writeAscii(String value) {
+        int size = value.length();
+        ensure(size);
+        for (int i = 0; i < size; i++) {
+            buffer[length++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeString(String value) {
+        if (value == null) {
+            append(NULL);
+            return;
+        }
+        int size = value.length();
+        // pior caso: 6 bytes por caractere (escape unicode) mais as aspas
+        ensure(size * 6 + 2);
+        buffer[length++] = '"';
+        for (int i = 0; i < size; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                byte escape = ESCAPES[c];
+                if (escape == 0) {
+                    buffer[length++] = (byte) c;
+                } else if (escape > 0) {
+                    buffer[length++] = '\\';
+                    buffer[length++] = escape;
+                } else {
+                    buffer[length++] = '\\';
+                    buffer[length++] = 'u';
+                    buffer[length++] = '0';
+                    buffer[length++] = '0';
+                    buffer[length++] = HEX_UPPER[c >> 4];
+                    buffer[length++] = HEX_UPPER[c & 0xF];
+                }
+            } else if (c < 0x800) {
+                buffer[length++] = (byte) (0xC0 | (c >> 6));
+                buffer[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // o Jackson 2.17 não junta pares em UTF-8 de 4 bytes: cada metade sai escapada
+                buffer[length++] = '\\';
+                buffer[length++] = 'u';
+                buffer[length++] = HEX_UPPER[c >> 12];
+                buffer[length++] = HEX_UPPER[(c >> 8) & 0xF];
+                buffer[length++] = HEX_UPPER[(c >> 4) & 0xF];
+                buffer[length++] = HEX_UPPER[c & 0xF];
+            } else {
+                buffer[length++] = (byte) (0xE0 | (c >> 12));
+                buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        buffer[length++] = '"';
+    }
+
+    private void append(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void append(char c) {
+        ensure(1);
+        buffer[length++] = (byte) c;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,39 @@
+package com.coupon.coupon.api.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Página de cupons (paginação por cursor)")
+public class CouponPageResponse {
+
+    @Schema(description = "Cupons da página, ordenados por expirationDate e id")
+    private List<CouponResponse> items;
+
+    @Schema(description = "Cursor da próxima página; ausente na última")
+    private String nextCursor;
+
+    public CouponPageResponse() {
+    }
+
+    public CouponPageResponse(List<CouponResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<CouponResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<CouponResponse> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
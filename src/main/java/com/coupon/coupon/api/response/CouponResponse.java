@@ -1,6 +1,7 @@
 package com.coupon.coupon.api.response;
 
 import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
@@ -25,8 +26,8 @@ public class CouponResponse {
     @Schema(description = "Data de expiração")
     private LocalDateTime expirationDate;
 
-    @Schema(description = "Status do cupom: ACTIVE, INACTIVE, DELETED")
-    private String status;
+    @Schema(description = "Status do cupom: ACTIVE, EXPIRED, DELETED")
+    private CouponStatus status;
 
     @Schema(description = "Se está publicado")
     private boolean published;
@@ -44,7 +45,8 @@ public class CouponResponse {
         response.setDescription(coupon.getDescription());
         response.setDiscountValue(coupon.getDiscountValue());
         response.setExpirationDate(coupon.getExpirationDate());
-        response.setStatus(coupon.isDeleted() ? "DELETED" : "ACTIVE");
+        response.setStatus(coupon.isDeleted() ? CouponStatus.DELETED
+                : coupon.isExpired() ? CouponStatus.EXPIRED : CouponStatus.ACTIVE);
         response.setPublished(coupon.isPublished());
         response.setRedeemed(coupon.isRedeemed());
         return response;
@@ -90,11 +92,11 @@ public class CouponResponse {
         this.expirationDate = expirationDate;
     }
 
-    public String getStatus() {
+    public CouponStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(CouponStatus status) {
         this.status = status;
     }
 
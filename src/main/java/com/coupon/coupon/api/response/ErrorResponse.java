@@ -0,0 +1,38 @@
+package com.coupon.coupon.api.response;
+
+import com.coupon.coupon.domain.exception.ErrorCode;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resposta de erro")
+public class ErrorResponse {
+
+    @Schema(description = "Código do erro, estável entre versões")
+    private ErrorCode code;
+
+    @Schema(description = "Mensagem legível do erro")
+    private String message;
+
+    public ErrorResponse() {
+    }
+
+    public ErrorResponse(ErrorCode code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+
+    public ErrorCode getCode() {
+        return code;
+    }
+
+    public void setCode(ErrorCode code) {
+        this.code = code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
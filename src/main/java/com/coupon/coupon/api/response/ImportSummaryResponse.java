@@ -0,0 +1,49 @@
+package com.coupon.coupon.api.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Última linha do relatório do import")
+public class ImportSummaryResponse {
+
+    @Schema(description = "Registros lidos (linhas em branco não contam)")
+    private long rows;
+
+    @Schema(description = "Cupons criados")
+    private long created;
+
+    @Schema(description = "Registros rejeitados; cada um aparece numa linha FAILED antes deste resumo")
+    private long failed;
+
+    public ImportSummaryResponse() {
+    }
+
+    public ImportSummaryResponse(long rows, long created, long failed) {
+        this.rows = rows;
+        this.created = created;
+        this.failed = failed;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+}
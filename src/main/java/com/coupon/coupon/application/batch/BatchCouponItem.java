@@ -0,0 +1,76 @@
+package com.coupon.coupon.application.batch;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class BatchCouponItem {
+
+    private final int index;
+    private final String code;
+    private final String description;
+    private final BigDecimal discountValue;
+    private final LocalDateTime expirationDate;
+    private final boolean published;
+    private final boolean generateCode;
+    private final String error;
+
+    public BatchCouponItem(int index, String code, String description, BigDecimal discountValue,
+                           LocalDateTime expirationDate, boolean published) {
+        this(index, code, description, discountValue, expirationDate, published, false, null);
+    }
+
+    private BatchCouponItem(int index, String code, String description, BigDecimal discountValue,
+                            LocalDateTime expirationDate, boolean published, boolean generateCode, String error) {
+        this.index = index;
+        this.code = code;
+        this.description = description;
+        this.discountValue = discountValue;
+        this.expirationDate = expirationDate;
+        this.published = published;
+        this.generateCode = generateCode;
+        this.error = error;
+    }
+
+    // sem código: o caso de uso pede um ao gerador
+    public static BatchCouponItem withGeneratedCode(int index, String description, BigDecimal discountValue,
+                                                    LocalDateTime expirationDate, boolean published) {
+        return new BatchCouponItem(index, null, description, discountValue, expirationDate, published, true, null);
+    }
+
+    // linha que nem chegou a virar item (formato inválido); vai direto para o resultado como falha
+    public static BatchCouponItem rejected(int index, String error) {
+        return new BatchCouponItem(index, null, null, null, null, false, false, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public BigDecimal getDiscountValue() {
+        return discountValue;
+    }
+
+    public LocalDateTime getExpirationDate() {
+        return expirationDate;
+    }
+
+    public boolean isPublished() {
+        return published;
+    }
+
+    public boolean isGenerateCode() {
+        return generateCode;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,193 @@
+package com.coupon.coupon.application.batch;
+
+import com.coupon.coupon.domain.exception.DomainException;
+import com.coupon.coupon.domain.exception.DuplicateCouponCodeException;
+import com.coupon.coupon.application.create.CreateCouponUseCase;
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponEvent;
+import com.coupon.coupon.domain.repository.CouponCodeGenerator;
+import com.coupon.coupon.domain.repository.CouponCodeRegistry;
+import com.coupon.coupon.domain.repository.CouponInvalidationBus;
+import com.coupon.coupon.domain.repository.CouponOutbox;
+import com.coupon.coupon.domain.repository.CouponReadModel;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Component
+public class BatchCreateCouponUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchCreateCouponUseCase.class);
+
+    static final String REJECTED_BY_DATABASE = "Cupom rejeitado pelo banco de dados: algum campo viola uma restrição.";
+
+    private final CouponRepository couponRepository;
+    private final CouponCodeRegistry codeRegistry;
+    private final CouponCodeGenerator codeGenerator;
+    private final CouponReadModel readModel;
+    private final CouponOutbox outbox;
+    private final CouponInvalidationBus invalidationBus;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BatchCreateCouponUseCase(CouponRepository couponRepository,
+                                    CouponCodeRegistry codeRegistry,
+                                    CouponCodeGenerator codeGenerator,
+                                    CouponReadModel readModel,
+                                    CouponOutbox outbox,
+                                    CouponInvalidationBus invalidationBus,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${coupon.batch.chunk-size:500}") int chunkSize) {
+        this.couponRepository = couponRepository;
+        this.codeRegistry = codeRegistry;
+        this.codeGenerator = codeGenerator;
+        this.readModel = readModel;
+        this.outbox = outbox;
+        this.invalidationBus = invalidationBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    // valida item a item com Coupon.create e persiste os válidos em chunks, uma transação por chunk
+    public List<BatchItemResult> execute(List<BatchCouponItem> items) {
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        stream(items.iterator(), results::add);
+        results.sort(Comparator.comparingInt(BatchItemResult::getIndex));
+        return results;
+    }
+
+    // mesma regra do execute, mas puxando os itens sob demanda: o próximo só é lido depois que o chunk
+    // anterior foi gravado, então a memória fica limitada a um chunk e a leitura anda no ritmo do banco.
+    // Resultados saem fora de ordem (falhas de validação antes dos criados do mesmo chunk).
+    public void stream(Iterator<BatchCouponItem> items, Consumer<BatchItemResult> onResult) {
+        List<BatchCouponItem> chunkItems = new ArrayList<>(chunkSize);
+        List<Coupon> chunk = new ArrayList<>(chunkSize);
+        try {
+            fill(items, onResult, chunkItems, chunk);
+        } finally {
+            // leitura interrompida ou falha fora do previsto no chunk: as reservas pendentes não podem ficar
+            // presas no registro, senão o código passa a ser "duplicado" até o restart. Soltar um código já
+            // gravado é inofensivo: o filtro e o índice único continuam valendo
+            for (Coupon coupon : chunk) {
+                codeRegistry.release(coupon.getCode(), coupon.getId());
+            }
+        }
+    }
+
+    private void fill(Iterator<BatchCouponItem> items, Consumer<BatchItemResult> onResult,
+                      List<BatchCouponItem> chunkItems, List<Coupon> chunk) {
+        while (items.hasNext()) {
+            BatchCouponItem item = items.next();
+            if (item.getError() != null) {
+                onResult.accept(BatchItemResult.failed(item.getIndex(), item.getError()));
+                continue;
+            }
+            Coupon coupon;
+            try {
+                coupon = Coupon.create(item.isGenerateCode() ? codeGenerator.next() : item.getCode(),
+                        item.getDescription(), item.getDiscountValue(), item.getExpirationDate(), item.isPublished());
+            } catch (DomainException ex) {
+                onResult.accept(BatchItemResult.failed(item.getIndex(), ex.getMessage()));
+                continue;
+            }
+            // código gerado é único por construção: não passa pelo registro
+            if (!item.isGenerateCode() && !codeRegistry.reserve(coupon.getCode(), coupon.getId())) {
+                onResult.accept(BatchItemResult.failed(item.getIndex(),
+                        DuplicateCouponCodeException.forCode(coupon.getCode()).getMessage()));
+                continue;
+            }
+            chunkItems.add(item);
+            chunk.add(coupon);
+            if (chunk.size() == chunkSize) {
+                persistChunk(chunkItems, chunk, onResult);
+                chunkItems.clear();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(chunkItems, chunk, onResult);
+            chunkItems.clear();
+            chunk.clear();
+        }
+    }
+
+    private void persistChunk(List<BatchCouponItem> chunkItems, List<Coupon> chunk, Consumer<BatchItemResult> onResult) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Coupon> saved = couponRepository.saveAll(chunk);
+                List<CouponEvent> events = new ArrayList<>(saved.size());
+                List<UUID> ids = new ArrayList<>(saved.size());
+                for (Coupon coupon : saved) {
+                    readModel.put(coupon);
+                    events.add(CouponEvent.created(coupon));
+                    ids.add(coupon.getId());
+                }
+                outbox.recordAll(events);
+                invalidationBus.publish(ids);
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                Coupon coupon = chunk.get(i);
+                // gravado, o código passa a ser protegido pelo filtro e pelo índice único; soltar a reserva
+                // evita que um import de milhões de linhas deixe uma entrada em memória por código
+                codeRegistry.release(coupon.getCode(), coupon.getId());
+                onResult.accept(BatchItemResult.created(chunkItems.get(i).getIndex(), coupon));
+            }
+        } catch (DuplicateCouponCodeException | DataIntegrityViolationException ex) {
+            // código gravado por outra instância no meio do caminho, ou um item que o banco recusa por outra
+            // restrição: os chunks anteriores já foram commitados, então refaz este item a item para que só o
+            // item problemático falhe em vez de abortar o lote com 500
+            log.warn("Chunk de {} cupons rejeitado pelo banco ({}); persistindo item a item", chunk.size(),
+                    ex.getClass().getSimpleName());
+            for (int i = 0; i < chunk.size(); i++) {
+                persistSingle(chunkItems.get(i), chunk.get(i), onResult);
+            }
+        }
+    }
+
+    private void persistSingle(BatchCouponItem item, Coupon coupon, Consumer<BatchItemResult> onResult) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Coupon saved = couponRepository.save(coupon);
+                    readModel.put(saved);
+                    outbox.record(CouponEvent.created(saved));
+                    invalidationBus.publish(List.of(saved.getId()));
+                });
+                codeRegistry.release(coupon.getCode(), coupon.getId());
+                onResult.accept(BatchItemResult.created(item.getIndex(), coupon));
+                return;
+            } catch (DuplicateCouponCodeException ex) {
+                // código gerado que coincidiu com um manual: tenta o próximo da sequência
+                if (item.isGenerateCode() && attempt < CreateCouponUseCase.MAX_GENERATED_CODE_ATTEMPTS) {
+                    coupon.setCode(codeGenerator.next());
+                    continue;
+                }
+                codeRegistry.release(coupon.getCode(), coupon.getId());
+                onResult.accept(BatchItemResult.failed(item.getIndex(), ex.getMessage()));
+                return;
+            } catch (DomainException ex) {
+                codeRegistry.release(coupon.getCode(), coupon.getId());
+                onResult.accept(BatchItemResult.failed(item.getIndex(), ex.getMessage()));
+                return;
+            } catch (DataIntegrityViolationException ex) {
+                // a mensagem do driver expõe SQL e nomes de coluna: o item recebe um texto genérico e o log o detalhe
+                log.warn("Item {} do lote rejeitado pelo banco: {}", item.getIndex(), ex.getMostSpecificCause().getMessage());
+                codeRegistry.release(coupon.getCode(), coupon.getId());
+                onResult.accept(BatchItemResult.failed(item.getIndex(), REJECTED_BY_DATABASE));
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.coupon.coupon.application.batch;
+
+import com.coupon.coupon.domain.model.Coupon;
+
+public class BatchItemResult {
+
+    private final int index;
+    private final Coupon coupon;
+    private final String error;
+
+    private BatchItemResult(int index, Coupon coupon, String error) {
+        this.index = index;
+        this.coupon = coupon;
+        this.error = error;
+    }
+
+    public static BatchItemResult created(int index, Coupon coupon) {
+        return new BatchItemResult(index, coupon, null);
+    }
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, null, error);
+    }
+
+    public boolean isCreated() {
+        return coupon != null;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Coupon getCoupon() {
+        return coupon;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
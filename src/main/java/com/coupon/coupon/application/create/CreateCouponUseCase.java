@@ -1,27 +1,122 @@
 package com.coupon.coupon.application.create;
 
+import com.coupon.coupon.domain.exception.DuplicateCouponCodeException;
 import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponEvent;
+import com.coupon.coupon.domain.repository.CouponCodeGenerator;
+import com.coupon.coupon.domain.repository.CouponCodeRegistry;
+import com.coupon.coupon.domain.repository.CouponInvalidationBus;
+import com.coupon.coupon.domain.repository.CouponOutbox;
+import com.coupon.coupon.domain.repository.CouponReadModel;
 import com.coupon.coupon.domain.repository.CouponRepository;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 public class CreateCouponUseCase {
 
+    // só colide com código informado manualmente; três seguidas indicam chave trocada, não azar
+    public static final int MAX_GENERATED_CODE_ATTEMPTS = 3;
+
     private final CouponRepository couponRepository;
+    private final CouponCodeRegistry codeRegistry;
+    private final CouponCodeGenerator codeGenerator;
+    private final CouponReadModel readModel;
+    private final CouponOutbox outbox;
+    private final CouponInvalidationBus invalidationBus;
+    private final TransactionTemplate transactionTemplate;
+    private final GroupCommitWriter groupCommitWriter;
 
-    public CreateCouponUseCase(CouponRepository couponRepository) {
+    public CreateCouponUseCase(CouponRepository couponRepository, CouponCodeRegistry codeRegistry,
+                               CouponCodeGenerator codeGenerator, CouponReadModel readModel,
+                               CouponOutbox outbox, CouponInvalidationBus invalidationBus,
+                               PlatformTransactionManager transactionManager,
+                               Optional<GroupCommitWriter> groupCommitWriter) {
         this.couponRepository = couponRepository;
+        this.codeRegistry = codeRegistry;
+        this.codeGenerator = codeGenerator;
+        this.readModel = readModel;
+        this.outbox = outbox;
+        this.invalidationBus = invalidationBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.groupCommitWriter = groupCommitWriter.orElse(null);
     }
 
-    @Transactional
+    // transação programática: no modo group commit quem chama espera o grupo sem segurar conexão
     public Coupon execute(String code, String description, BigDecimal discountValue,
                           LocalDateTime expirationDate, boolean published) {
         Coupon coupon = Coupon.create(code, description, discountValue, expirationDate, published);
-        // TODO: em cenário de alta carga, avaliar cache por code para evitar duplicidade
-        return couponRepository.save(coupon);
+        return persist(coupon, true);
+    }
+
+    // código emitido pelo gerador é único por construção e dispensa a reserva no registro;
+    // o índice único ainda barra a colisão com um código informado manualmente, e aí vai o próximo
+    public Coupon executeWithGeneratedCode(String description, BigDecimal discountValue,
+                                           LocalDateTime expirationDate, boolean published) {
+        for (int attempt = 1; ; attempt++) {
+            Coupon coupon = Coupon.create(codeGenerator.next(), description, discountValue, expirationDate, published);
+            try {
+                return persist(coupon, false);
+            } catch (DuplicateCouponCodeException ex) {
+                if (attempt == MAX_GENERATED_CODE_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private Coupon persist(Coupon coupon, boolean reserve) {
+        if (groupCommitWriter == null) {
+            return transactionTemplate.execute(status -> {
+                // primeiro a reservar vence; a reserva é liberada quando a transação termina
+                if (reserve) {
+                    reserve(coupon);
+                }
+                Coupon saved = couponRepository.save(coupon);
+                readModel.put(saved);
+                outbox.record(CouponEvent.created(saved));
+                invalidationBus.publish(List.of(saved.getId()));
+                return saved;
+            });
+        }
+        if (reserve) {
+            reserve(coupon);
+        }
+        Coupon saved;
+        try {
+            saved = groupCommitWriter.write(coupon);
+        } catch (GroupCommitOutcomeUnknownException ex) {
+            // o grupo ainda pode commitar: soltar a reserva agora deixaria outro pedido levar o mesmo código até o
+            // índice único. A reserva (e a projeção, se gravou) acompanham o resultado real quando ele chegar
+            ex.getOutcome().whenComplete((committed, failure) -> {
+                codeRegistry.release(coupon.getCode(), coupon.getId());
+                if (committed != null) {
+                    readModel.put(committed);
+                    invalidationBus.publish(List.of(committed.getId()));
+                }
+            });
+            throw ex;
+        } catch (RuntimeException ex) {
+            codeRegistry.release(coupon.getCode(), coupon.getId());
+            throw ex;
+        }
+        // fora de transação a reserva não acaba sozinha; commitado, o filtro e o banco passam a barrar o código
+        codeRegistry.release(coupon.getCode(), coupon.getId());
+        // o grupo já commitou, com o evento no outbox: entra direto na projeção
+        readModel.put(saved);
+        invalidationBus.publish(List.of(saved.getId()));
+        return saved;
+    }
+
+    private void reserve(Coupon coupon) {
+        if (!codeRegistry.reserve(coupon.getCode(), coupon.getId())) {
+            throw DuplicateCouponCodeException.forCode(coupon.getCode());
+        }
     }
 }
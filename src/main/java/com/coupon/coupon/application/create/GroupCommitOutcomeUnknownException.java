@@ -0,0 +1,22 @@
+package com.coupon.coupon.application.create;
+
+import com.coupon.coupon.domain.model.Coupon;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+// o grupo do cupom já estava gravando e não terminou nem no prazo da transação: o cupom pode ter sido gravado ou não.
+// Quem chama não deve tratar como falha; o resultado real chega depois em getOutcome()
+public class GroupCommitOutcomeUnknownException extends RejectedExecutionException {
+
+    private final transient CompletableFuture<Coupon> outcome;
+
+    public GroupCommitOutcomeUnknownException(CompletableFuture<Coupon> outcome) {
+        super("Gravação em grupo não confirmada a tempo. Confira se o cupom foi criado antes de repetir.");
+        this.outcome = outcome;
+    }
+
+    public CompletableFuture<Coupon> getOutcome() {
+        return outcome;
+    }
+}
@@ -0,0 +1,252 @@
+package com.coupon.coupon.application.create;
+
+import com.coupon.coupon.domain.exception.DuplicateCouponCodeException;
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponEvent;
+import com.coupon.coupon.domain.repository.CouponOutbox;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// write-behind com group commit: uma thread junta até maxGroupSize cupons (ou o que chegar em maxWait) e grava tudo numa transação
+public class GroupCommitWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitWriter.class);
+
+    private final CouponRepository couponRepository;
+    private final CouponOutbox outbox;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Pending> queue;
+    private final int maxGroupSize;
+    private final long maxWaitNanos;
+    private final long enqueueTimeoutNanos;
+    private final long commitTimeoutNanos;
+    private final long transactionTimeoutNanos;
+    // submit enfileira sob o read lock e stop desliga sob o write lock: depois do stop nada entra na fila
+    private final ReadWriteLock lifecycle = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread writer;
+
+    public GroupCommitWriter(CouponRepository couponRepository, CouponOutbox outbox,
+                             PlatformTransactionManager transactionManager, int queueCapacity, int maxGroupSize,
+                             Duration maxWait, Duration enqueueTimeout, Duration commitTimeout,
+                             Duration transactionTimeout) {
+        this.couponRepository = couponRepository;
+        this.outbox = outbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // a transação do grupo tem prazo próprio (em segundos, arredondado para cima): é ele que limita a espera
+        // de quem já está num grupo em gravação
+        int timeoutSeconds = (int) Math.max(1, (transactionTimeout.toMillis() + 999) / 1000);
+        this.transactionTemplate.setTimeout(timeoutSeconds);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxGroupSize = maxGroupSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.enqueueTimeoutNanos = enqueueTimeout.toNanos();
+        this.commitTimeoutNanos = commitTimeout.toNanos();
+        this.transactionTimeoutNanos = TimeUnit.SECONDS.toNanos(timeoutSeconds);
+    }
+
+    // o futuro completa quando o grupo do cupom commitar; fila cheia é rejeitada em vez de crescer sem limite
+    public CompletableFuture<Coupon> submit(Coupon coupon) {
+        return enqueue(coupon).result;
+    }
+
+    // espera o commit por no máximo commitTimeout. Se o cupom ainda está na fila, sai dela e com certeza não é
+    // gravado. Se já está num grupo em gravação, desistir agora daria 503 para um cupom que pode commitar logo
+    // depois; espera então o resultado por até o prazo da transação do grupo. Só se nem assim houver resposta
+    // o resultado fica em aberto (GroupCommitOutcomeUnknownException)
+    public Coupon write(Coupon coupon) {
+        Pending pending = enqueue(coupon);
+        try {
+            try {
+                return pending.result.get(commitTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                if (queue.remove(pending)) {
+                    pending.result.cancel(false);
+                    throw new RejectedExecutionException("Gravação em grupo não começou a tempo. Tente novamente.");
+                }
+            }
+            try {
+                return pending.result.get(transactionTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                throw new GroupCommitOutcomeUnknownException(pending.result);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Espera pela gravação em grupo interrompida.");
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : new CompletionException(ex.getCause());
+        }
+    }
+
+    private Pending enqueue(Coupon coupon) {
+        Pending pending = new Pending(coupon);
+        boolean accepted;
+        lifecycle.readLock().lock();
+        try {
+            if (!running) {
+                throw new RejectedExecutionException("Gravação em grupo não está ativa.");
+            }
+            accepted = queue.offer(pending, enqueueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+        if (!accepted) {
+            throw new RejectedExecutionException("Fila de gravação cheia. Tente novamente.");
+        }
+        return pending;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "coupon-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // para de aceitar e grava o que já está na fila antes de sair. O que sobrar (thread do writer interrompida)
+    // falha na hora em vez de deixar a requisição esperando para sempre
+    @Override
+    public synchronized void stop() {
+        lifecycle.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+        List<Pending> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        if (!leftover.isEmpty()) {
+            log.warn("{} cupons na fila do group commit não gravados no encerramento", leftover.size());
+            fail(leftover, new RejectedExecutionException("Gravação em grupo encerrada. Tente novamente."));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        List<Pending> group = new ArrayList<>(maxGroupSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (group.size() < maxGroupSize) {
+                    if (queue.drainTo(group, maxGroupSize - group.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                commit(group);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                fail(group, ex);
+                return;
+            } catch (RuntimeException | Error ex) {
+                log.error("Falha no group commit de {} cupons", group.size(), ex);
+                fail(group, ex);
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<Pending> group) {
+        List<Coupon> coupons = new ArrayList<>(group.size());
+        for (Pending pending : group) {
+            coupons.add(pending.coupon);
+        }
+        try {
+            List<Coupon> saved = transactionTemplate.execute(status -> {
+                List<Coupon> result = couponRepository.saveAll(coupons);
+                List<CouponEvent> events = new ArrayList<>(result.size());
+                for (Coupon coupon : result) {
+                    events.add(CouponEvent.created(coupon));
+                }
+                outbox.recordAll(events);
+                return result;
+            });
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).result.complete(saved.get(i));
+            }
+            log.debug("Group commit de {} cupons", group.size());
+        } catch (DuplicateCouponCodeException ex) {
+            // um código do grupo já existia: refaz item a item para que só o conflitante falhe
+            log.warn("Grupo de {} cupons rejeitado pelo índice único; gravando item a item", group.size());
+            for (Pending pending : group) {
+                commitSingle(pending);
+            }
+        }
+    }
+
+    private void commitSingle(Pending pending) {
+        try {
+            pending.result.complete(transactionTemplate.execute(status -> {
+                Coupon saved = couponRepository.save(pending.coupon);
+                outbox.record(CouponEvent.created(saved));
+                return saved;
+            }));
+        } catch (RuntimeException ex) {
+            pending.result.completeExceptionally(ex);
+        }
+    }
+
+    private static void fail(List<Pending> group, Throwable cause) {
+        for (Pending pending : group) {
+            pending.result.completeExceptionally(cause);
+        }
+    }
+
+    private static final class Pending {
+
+        private final Coupon coupon;
+        private final CompletableFuture<Coupon> result = new CompletableFuture<>();
+
+        private Pending(Coupon coupon) {
+            this.coupon = coupon;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.coupon.coupon.application.delete;
+
+import com.coupon.coupon.application.retry.ConflictRetryPolicy;
+import com.coupon.coupon.domain.model.CouponEvent;
+import com.coupon.coupon.domain.repository.CouponInvalidationBus;
+import com.coupon.coupon.domain.repository.CouponOutbox;
+import com.coupon.coupon.domain.repository.CouponReadModel;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class BulkDeleteCouponsUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkDeleteCouponsUseCase.class);
+
+    private final CouponRepository couponRepository;
+    private final CouponReadModel readModel;
+    private final CouponOutbox outbox;
+    private final CouponInvalidationBus invalidationBus;
+    private final ConflictRetryPolicy retryPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BulkDeleteCouponsUseCase(CouponRepository couponRepository,
+                                    CouponReadModel readModel,
+                                    CouponOutbox outbox,
+                                    CouponInvalidationBus invalidationBus,
+                                    ConflictRetryPolicy retryPolicy,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${coupon.bulk-delete.chunk-size:500}") int chunkSize) {
+        this.couponRepository = couponRepository;
+        this.readModel = readModel;
+        this.outbox = outbox;
+        this.invalidationBus = invalidationBus;
+        this.retryPolicy = retryPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    // uma transação por chunk: uma limpeza grande não segura locks nem conexão até o fim. Conflito refaz só o
+    // chunk que falhou; os já commitados ficam
+    public int deleteByIds(List<UUID> ids) {
+        List<UUID> distinct = ids.stream().distinct().toList();
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = 0;
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<UUID> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            deleted += retryPolicy.execute("bulk-delete",
+                    () -> transactionTemplate.execute(status -> softDelete(chunk, now)));
+        }
+        log.info("Bulk delete por ids: {} de {} cupons deletados", deleted, distinct.size());
+        return deleted;
+    }
+
+    public int deleteExpiredBefore(LocalDateTime cutoff) {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = 0;
+        while (true) {
+            int[] chunkResult = retryPolicy.execute("bulk-delete", () -> transactionTemplate.execute(status -> {
+                List<UUID> chunk = couponRepository.findIdsExpiredBefore(cutoff, chunkSize);
+                return new int[]{chunk.size(), chunk.isEmpty() ? 0 : softDelete(chunk, now)};
+            }));
+            deleted += chunkResult[1];
+            if (chunkResult[0] < chunkSize) {
+                break;
+            }
+        }
+        log.info("Bulk delete por expiração antes de {}: {} cupons deletados", cutoff, deleted);
+        return deleted;
+    }
+
+    // dentro da transação do chunk: evento e projeção só para os cupons que este UPDATE deletou
+    private int softDelete(List<UUID> chunk, LocalDateTime now) {
+        List<UUID> deleted = couponRepository.softDeleteAll(chunk, now);
+        readModel.removeAll(deleted);
+        List<CouponEvent> events = new ArrayList<>(deleted.size());
+        for (UUID id : deleted) {
+            events.add(CouponEvent.deleted(id, now));
+        }
+        outbox.recordAll(events);
+        invalidationBus.publish(deleted);
+        return deleted.size();
+    }
+}
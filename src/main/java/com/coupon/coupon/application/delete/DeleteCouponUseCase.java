@@ -1,30 +1,59 @@
 package com.coupon.coupon.application.delete;
 
-import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.application.retry.ConflictRetryPolicy;
+import com.coupon.coupon.domain.exception.CouponAlreadyDeletedException;
+import com.coupon.coupon.domain.exception.CouponNotFoundException;
+import com.coupon.coupon.domain.model.CouponEvent;
+import com.coupon.coupon.domain.repository.CouponInvalidationBus;
+import com.coupon.coupon.domain.repository.CouponOutbox;
+import com.coupon.coupon.domain.repository.CouponReadModel;
 import com.coupon.coupon.domain.repository.CouponRepository;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Component
 public class DeleteCouponUseCase {
 
     private final CouponRepository couponRepository;
+    private final CouponReadModel readModel;
+    private final CouponOutbox outbox;
+    private final CouponInvalidationBus invalidationBus;
+    private final ConflictRetryPolicy retryPolicy;
+    private final TransactionTemplate transactionTemplate;
 
-    public DeleteCouponUseCase(CouponRepository couponRepository) {
+    public DeleteCouponUseCase(CouponRepository couponRepository, CouponReadModel readModel, CouponOutbox outbox,
+                               CouponInvalidationBus invalidationBus, ConflictRetryPolicy retryPolicy,
+                               PlatformTransactionManager transactionManager) {
         this.couponRepository = couponRepository;
+        this.readModel = readModel;
+        this.outbox = outbox;
+        this.invalidationBus = invalidationBus;
+        this.retryPolicy = retryPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
+    // um UPDATE condicional; só no caminho de erro consulta o banco para separar 400 de 404.
+    // Conflito no banco refaz a transação inteira pela política de retry
     public void execute(UUID id) {
-        Coupon coupon = findCouponOrThrow(id);
-        coupon.delete();
-        couponRepository.save(coupon);
+        retryPolicy.execute("delete", () -> transactionTemplate.execute(status -> delete(id)));
     }
 
-    private Coupon findCouponOrThrow(UUID id) {
-        return couponRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Cupom não encontrado com id: " + id));
+    private Void delete(UUID id) {
+        LocalDateTime now = LocalDateTime.now();
+        if (couponRepository.softDelete(id, now)) {
+            readModel.remove(id);
+            outbox.record(CouponEvent.deleted(id, now));
+            invalidationBus.publish(List.of(id));
+            return null;
+        }
+        if (couponRepository.existsById(id)) {
+            throw CouponAlreadyDeletedException.forId(id);
+        }
+        throw CouponNotFoundException.forId(id);
     }
 }
@@ -0,0 +1,29 @@
+package com.coupon.coupon.application.expire;
+
+import com.coupon.coupon.domain.repository.CouponRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class ExpireCouponsUseCase {
+
+    private final CouponRepository couponRepository;
+
+    public ExpireCouponsUseCase(CouponRepository couponRepository) {
+        this.couponRepository = couponRepository;
+    }
+
+    // um chunk por transação; retorna quantos cupons passaram a expirados
+    @Transactional
+    public int expireNextChunk(LocalDateTime now, int chunkSize) {
+        List<UUID> ids = couponRepository.findIdsToExpire(now, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return couponRepository.markExpired(ids, now);
+    }
+}
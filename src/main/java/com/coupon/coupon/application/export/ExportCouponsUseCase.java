@@ -0,0 +1,25 @@
+package com.coupon.coupon.application.export;
+
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+@Component
+public class ExportCouponsUseCase {
+
+    private final CouponRepository couponRepository;
+
+    public ExportCouponsUseCase(CouponRepository couponRepository) {
+        this.couponRepository = couponRepository;
+    }
+
+    // changedSince nulo exporta tudo; o consumer recebe cada cupom enquanto o cursor anda
+    @Transactional(readOnly = true)
+    public void export(LocalDateTime changedSince, Consumer<Coupon> consumer) {
+        couponRepository.streamForExport(changedSince, consumer);
+    }
+}
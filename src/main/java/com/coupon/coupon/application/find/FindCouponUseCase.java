@@ -0,0 +1,34 @@
+package com.coupon.coupon.application.find;
+
+import com.coupon.coupon.domain.exception.CouponNotFoundException;
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.repository.CouponReadModel;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+// cupom ativo sai da projeção; só deletado, expirado ou gravado por outra instância chega ao banco
+@Component
+public class FindCouponUseCase {
+
+    private final CouponRepository couponRepository;
+    private final CouponReadModel readModel;
+
+    public FindCouponUseCase(CouponRepository couponRepository, CouponReadModel readModel) {
+        this.couponRepository = couponRepository;
+        this.readModel = readModel;
+    }
+
+    public Coupon findById(UUID id) {
+        return readModel.findById(id)
+                .or(() -> couponRepository.findById(id))
+                .orElseThrow(() -> CouponNotFoundException.forId(id));
+    }
+
+    public Coupon findByCode(String code) {
+        return readModel.findByCode(code)
+                .or(() -> couponRepository.findByCode(code))
+                .orElseThrow(() -> CouponNotFoundException.forCode(code));
+    }
+}
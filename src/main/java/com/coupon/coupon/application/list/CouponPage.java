@@ -0,0 +1,26 @@
+package com.coupon.coupon.application.list;
+
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.repository.CouponKeyset;
+
+import java.util.List;
+
+public class CouponPage {
+
+    private final List<Coupon> items;
+    private final CouponKeyset next;
+
+    public CouponPage(List<Coupon> items, CouponKeyset next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<Coupon> getItems() {
+        return items;
+    }
+
+    // null quando não há próxima página
+    public CouponKeyset getNext() {
+        return next;
+    }
+}
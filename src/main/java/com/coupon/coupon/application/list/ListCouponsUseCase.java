@@ -0,0 +1,57 @@
+package com.coupon.coupon.application.list;
+
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponStatus;
+import com.coupon.coupon.domain.repository.CouponFilter;
+import com.coupon.coupon.domain.repository.CouponKeyset;
+import com.coupon.coupon.domain.repository.CouponReadModel;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// status ACTIVE sai da projeção em memória, sem transação nem conexão; os demais filtros consultam o banco
+@Component
+public class ListCouponsUseCase {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final CouponRepository couponRepository;
+    private final CouponReadModel readModel;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ListCouponsUseCase(CouponRepository couponRepository, CouponReadModel readModel,
+                              PlatformTransactionManager transactionManager) {
+        this.couponRepository = couponRepository;
+        this.readModel = readModel;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public CouponPage list(CouponFilter filter, CouponKeyset after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
+        }
+        // busca um a mais para saber se existe próxima página sem COUNT
+        List<Coupon> rows = filter.getStatus() == CouponStatus.ACTIVE
+                ? readModel.findPage(filter, after, limit + 1)
+                : readOnlyTransaction.execute(status -> couponRepository.findPage(filter, after, limit + 1));
+        if (rows.size() <= limit) {
+            return new CouponPage(rows, null);
+        }
+        List<Coupon> items = rows.subList(0, limit);
+        Coupon last = items.get(limit - 1);
+        return new CouponPage(items, new CouponKeyset(last.getExpirationDate(), last.getId()));
+    }
+
+    public void stream(CouponFilter filter, Consumer<Coupon> consumer) {
+        if (filter.getStatus() == CouponStatus.ACTIVE) {
+            readModel.forEach(filter, consumer);
+            return;
+        }
+        readOnlyTransaction.executeWithoutResult(status -> couponRepository.streamAll(filter, consumer));
+    }
+}
@@ -0,0 +1,59 @@
+package com.coupon.coupon.application.redeem;
+
+import com.coupon.coupon.application.retry.ConflictRetryPolicy;
+import com.coupon.coupon.domain.exception.CouponNotRedeemableException;
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponEvent;
+import com.coupon.coupon.domain.repository.CouponInvalidationBus;
+import com.coupon.coupon.domain.repository.CouponOutbox;
+import com.coupon.coupon.domain.repository.CouponReadModel;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+public class RedeemCouponUseCase {
+
+    private final CouponRepository couponRepository;
+    private final CouponReadModel readModel;
+    private final CouponOutbox outbox;
+    private final CouponInvalidationBus invalidationBus;
+    private final ConflictRetryPolicy retryPolicy;
+    private final TransactionTemplate transactionTemplate;
+
+    public RedeemCouponUseCase(CouponRepository couponRepository, CouponReadModel readModel, CouponOutbox outbox,
+                               CouponInvalidationBus invalidationBus, ConflictRetryPolicy retryPolicy,
+                               PlatformTransactionManager transactionManager) {
+        this.couponRepository = couponRepository;
+        this.readModel = readModel;
+        this.outbox = outbox;
+        this.invalidationBus = invalidationBus;
+        this.retryPolicy = retryPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // um único UPDATE condicional; quem perde a corrida recebe a exceção sem nova leitura.
+    // Resgate não volta atrás: cupom já resgatado na projeção é recusado sem abrir transação
+    public void execute(UUID id) {
+        if (readModel.findById(id).map(Coupon::isRedeemed).orElse(false)
+                || !retryPolicy.execute("redeem", () -> transactionTemplate.execute(status -> redeem(id)))) {
+            throw CouponNotRedeemableException.forId(id);
+        }
+        readModel.markRedeemed(id);
+    }
+
+    private boolean redeem(UUID id) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!couponRepository.redeem(id, now)) {
+            return false;
+        }
+        outbox.record(CouponEvent.redeemed(id, now));
+        invalidationBus.publish(List.of(id));
+        return true;
+    }
+}
@@ -0,0 +1,110 @@
+package com.coupon.coupon.application.retry;
+
+import com.coupon.coupon.domain.exception.CouponConcurrentModificationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// refaz a transação inteira quando o banco acusa conflito (versão desatualizada, lock ou deadlock), até
+// maxAttempts tentativas. Espera exponencial com jitter total: quem colidiu não volta junto e colide de novo
+public class ConflictRetryPolicy {
+
+    private static final Logger log = LoggerFactory.getLogger(ConflictRetryPolicy.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final ConcurrentMap<String, Meters> metersByOperation = new ConcurrentHashMap<>();
+
+    public ConflictRetryPolicy(MeterRegistry meterRegistry, int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("coupon.retry.max-attempts precisa ser pelo menos 1.");
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    // action precisa abrir e fechar a própria transação. Dentro de uma transação já aberta não há o que
+    // refazer aqui: o conflito sobe para quem controla a transação de fora
+    public <T> T execute(String operation, Supplier<T> action) {
+        Meters meters = meters(operation);
+        meters.executions.increment();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (ConcurrencyFailureException ex) {
+                meters.conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    meters.exhausted.increment();
+                    log.warn("Conflito de concorrência em {} após {} tentativas: {}", operation, attempt, ex.getMessage());
+                    throw new CouponConcurrentModificationException(ex);
+                }
+                log.debug("Conflito de concorrência em {} (tentativa {}), refazendo", operation, attempt);
+                sleep(backoffNanos(attempt));
+            }
+        }
+    }
+
+    // uniforme em [0, min(max, inicial * 2^(tentativa-1))]
+    long backoffNanos(int attempt) {
+        long ceiling = initialBackoffNanos << Math.min(attempt - 1, 30);
+        if (ceiling <= 0 || ceiling > maxBackoffNanos) {
+            ceiling = maxBackoffNanos;
+        }
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CouponConcurrentModificationException(ex);
+        }
+    }
+
+    private Meters meters(String operation) {
+        return metersByOperation.computeIfAbsent(operation, key -> new Meters(meterRegistry, key));
+    }
+
+    // taxa de conflito = conflicts / executions, por operação
+    private static final class Meters {
+
+        private final Counter executions;
+        private final Counter conflicts;
+        private final Counter exhausted;
+
+        private Meters(MeterRegistry registry, String operation) {
+            this.executions = Counter.builder("coupon.concurrency.executions")
+                    .description("Operações protegidas pela política de retry")
+                    .tag("operation", operation)
+                    .register(registry);
+            this.conflicts = Counter.builder("coupon.concurrency.conflicts")
+                    .description("Tentativas que falharam por conflito de concorrência")
+                    .tag("operation", operation)
+                    .register(registry);
+            this.exhausted = Counter.builder("coupon.concurrency.exhausted")
+                    .description("Operações que esgotaram as tentativas e voltaram 409")
+                    .tag("operation", operation)
+                    .register(registry);
+        }
+    }
+}
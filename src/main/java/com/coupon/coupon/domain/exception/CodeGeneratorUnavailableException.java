@@ -0,0 +1,9 @@
+package com.coupon.coupon.domain.exception;
+
+public class CodeGeneratorUnavailableException extends DomainException {
+
+    public CodeGeneratorUnavailableException() {
+        super(ErrorCode.CODE_GENERATOR_UNAVAILABLE,
+                "Geração de códigos indisponível: a chave do gerador não foi configurada. Informe o código do cupom.");
+    }
+}
@@ -1,8 +1,14 @@
 package com.coupon.coupon.domain.exception;
 
+import java.util.UUID;
+
 public class CouponAlreadyDeletedException extends DomainException {
 
     public CouponAlreadyDeletedException(String message) {
-        super(message);
+        super(ErrorCode.COUPON_ALREADY_DELETED, message);
+    }
+
+    public static CouponAlreadyDeletedException forId(UUID id) {
+        return new CouponAlreadyDeletedException("O cupom com id '" + id + "' já foi deletado.");
     }
 }
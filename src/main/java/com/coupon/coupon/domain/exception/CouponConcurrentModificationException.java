@@ -0,0 +1,9 @@
+package com.coupon.coupon.domain.exception;
+
+public class CouponConcurrentModificationException extends DomainException {
+
+    public CouponConcurrentModificationException(Throwable cause) {
+        super(ErrorCode.CONCURRENT_MODIFICATION,
+                "O cupom foi alterado por outra requisição ao mesmo tempo. Tente novamente.", cause);
+    }
+}
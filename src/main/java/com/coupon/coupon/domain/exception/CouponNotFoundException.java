@@ -0,0 +1,18 @@
+package com.coupon.coupon.domain.exception;
+
+import java.util.UUID;
+
+public class CouponNotFoundException extends DomainException {
+
+    public CouponNotFoundException(String message) {
+        super(ErrorCode.COUPON_NOT_FOUND, message);
+    }
+
+    public static CouponNotFoundException forId(UUID id) {
+        return new CouponNotFoundException("Cupom não encontrado com id: " + id);
+    }
+
+    public static CouponNotFoundException forCode(String code) {
+        return new CouponNotFoundException("Cupom não encontrado com código: " + code);
+    }
+}
@@ -0,0 +1,15 @@
+package com.coupon.coupon.domain.exception;
+
+import java.util.UUID;
+
+public class CouponNotRedeemableException extends DomainException {
+
+    public CouponNotRedeemableException(String message) {
+        super(ErrorCode.COUPON_NOT_REDEEMABLE, message);
+    }
+
+    public static CouponNotRedeemableException forId(UUID id) {
+        return new CouponNotRedeemableException(
+                "Cupom " + id + " não pode ser resgatado: inexistente, deletado, expirado ou já resgatado.");
+    }
+}
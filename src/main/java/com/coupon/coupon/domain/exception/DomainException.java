@@ -1,12 +1,28 @@
 package com.coupon.coupon.domain.exception;
 
+// sem stack trace: são erros esperados (validação, conflito), tratados pelo código e não por depuração
 public class DomainException extends RuntimeException {
 
+    private final ErrorCode code;
+
     public DomainException(String message) {
-        super(message);
+        this(ErrorCode.BUSINESS_RULE, message, null);
     }
 
     public DomainException(String message, Throwable cause) {
-        super(message, cause);
+        this(ErrorCode.BUSINESS_RULE, message, cause);
+    }
+
+    protected DomainException(ErrorCode code, String message) {
+        this(code, message, null);
+    }
+
+    protected DomainException(ErrorCode code, String message, Throwable cause) {
+        super(message, cause, false, false);
+        this.code = code;
+    }
+
+    public ErrorCode getCode() {
+        return code;
     }
 }
@@ -0,0 +1,12 @@
+package com.coupon.coupon.domain.exception;
+
+public class DuplicateCouponCodeException extends DomainException {
+
+    public DuplicateCouponCodeException(String message) {
+        super(ErrorCode.DUPLICATE_COUPON_CODE, message);
+    }
+
+    public static DuplicateCouponCodeException forCode(String code) {
+        return new DuplicateCouponCodeException("Já existe um cupom com o código '" + code + "'.");
+    }
+}
@@ -0,0 +1,20 @@
+package com.coupon.coupon.domain.exception;
+
+// códigos estáveis devolvidos ao cliente junto da mensagem
+public enum ErrorCode {
+    BUSINESS_RULE,
+    INVALID_COUPON_CODE,
+    INVALID_DISCOUNT_VALUE,
+    PAST_EXPIRATION_DATE,
+    COUPON_NOT_FOUND,
+    COUPON_ALREADY_DELETED,
+    COUPON_NOT_REDEEMABLE,
+    DUPLICATE_COUPON_CODE,
+    INVALID_REQUEST,
+    IDEMPOTENCY_CONFLICT,
+    CONCURRENT_MODIFICATION,
+    RATE_LIMITED,
+    SERVICE_UNAVAILABLE,
+    CODE_GENERATOR_UNAVAILABLE,
+    INTERNAL_ERROR
+}
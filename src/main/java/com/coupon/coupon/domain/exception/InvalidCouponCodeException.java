@@ -3,6 +3,6 @@ package com.coupon.coupon.domain.exception;
 public class InvalidCouponCodeException extends DomainException {
 
     public InvalidCouponCodeException(String message) {
-        super(message);
+        super(ErrorCode.INVALID_COUPON_CODE, message);
     }
 }
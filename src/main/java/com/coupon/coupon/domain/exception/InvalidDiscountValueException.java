@@ -3,6 +3,6 @@ package com.coupon.coupon.domain.exception;
 public class InvalidDiscountValueException extends DomainException {
 
     public InvalidDiscountValueException(String message) {
-        super(message);
+        super(ErrorCode.INVALID_DISCOUNT_VALUE, message);
     }
 }
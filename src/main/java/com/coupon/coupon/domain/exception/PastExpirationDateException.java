@@ -3,6 +3,6 @@ package com.coupon.coupon.domain.exception;
 public class PastExpirationDateException extends DomainException {
 
     public PastExpirationDateException(String message) {
-        super(message);
+        super(ErrorCode.PAST_EXPIRATION_DATE, message);
     }
 }
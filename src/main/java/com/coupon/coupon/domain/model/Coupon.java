@@ -1,9 +1,6 @@
 package com.coupon.coupon.domain.model;
 
 import com.coupon.coupon.domain.exception.CouponAlreadyDeletedException;
-import com.coupon.coupon.domain.exception.InvalidCouponCodeException;
-import com.coupon.coupon.domain.exception.InvalidDiscountValueException;
-import com.coupon.coupon.domain.exception.PastExpirationDateException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -11,9 +8,6 @@ import java.util.UUID;
 
 public class Coupon {
 
-    private static final int CODE_LENGTH = 6;
-    private static final BigDecimal MIN_DISCOUNT_VALUE = new BigDecimal("0.5");
-
     private UUID id;
     private String code;
     private String description;
@@ -22,16 +16,20 @@ public class Coupon {
     private boolean published;
     private boolean redeemed;
     private LocalDateTime deletedAt;
+    private LocalDateTime expiredAt;
+    // última gravação do cupom, preenchida pela persistência; base do export incremental
+    private LocalDateTime updatedAt;
+    // versão da linha no banco: update só grava se ninguém alterou o cupom desde a leitura
+    private long version;
 
     public Coupon() {
     }
 
     public static Coupon create(String code, String description, BigDecimal discountValue,
                                 LocalDateTime expirationDate, boolean published) {
-        String sanitizedCode = sanitizeCode(code);
-        validateCodeLength(sanitizedCode);
-        validateDiscountValue(discountValue);
-        validateExpirationDate(expirationDate);
+        String sanitizedCode = CouponValidation.sanitizeCode(code);
+        CouponValidation.validateDiscountValue(discountValue);
+        CouponValidation.validateExpirationDate(expirationDate);
 
         Coupon coupon = new Coupon();
         coupon.id = UUID.randomUUID();
@@ -45,36 +43,6 @@ public class Coupon {
         return coupon;
     }
 
-    // código aceito só alfanumérico; especiais são removidos antes de validar tamanho
-    private static String sanitizeCode(String code) {
-        if (code == null || code.isBlank()) {
-            return "";
-        }
-        return code.replaceAll("[^a-zA-Z0-9]", "");
-    }
-
-    private static void validateCodeLength(String sanitizedCode) {
-        if (sanitizedCode.length() != CODE_LENGTH) {
-            throw new InvalidCouponCodeException(
-                    "O código do cupom deve ter exatamente " + CODE_LENGTH + " caracteres alfanuméricos após sanitização. " +
-                            "Recebido: '" + sanitizedCode + "' (" + sanitizedCode.length() + " caracteres).");
-        }
-    }
-
-    private static void validateDiscountValue(BigDecimal discountValue) {
-        if (discountValue == null || discountValue.compareTo(MIN_DISCOUNT_VALUE) < 0) {
-            throw new InvalidDiscountValueException(
-                    "O valor de desconto deve ser no mínimo " + MIN_DISCOUNT_VALUE + ". Recebido: " + discountValue);
-        }
-    }
-
-    private static void validateExpirationDate(LocalDateTime expirationDate) {
-        if (expirationDate == null || expirationDate.isBefore(LocalDateTime.now())) {
-            throw new PastExpirationDateException(
-                    "A data de expiração não pode ser uma data passada. Recebida: " + expirationDate);
-        }
-    }
-
     public void delete() {
         if (this.deletedAt != null) {
             throw new CouponAlreadyDeletedException(
@@ -87,6 +55,11 @@ public class Coupon {
         return deletedAt != null;
     }
 
+    // expiredAt é marcado pelo sweeper; até ele passar, vale a data de expiração
+    public boolean isExpired() {
+        return expiredAt != null || CouponValidation.isPast(expirationDate);
+    }
+
     public UUID getId() {
         return id;
     }
@@ -150,4 +123,28 @@ public class Coupon {
     public void setDeletedAt(LocalDateTime deletedAt) {
         this.deletedAt = deletedAt;
     }
+
+    public LocalDateTime getExpiredAt() {
+        return expiredAt;
+    }
+
+    public void setExpiredAt(LocalDateTime expiredAt) {
+        this.expiredAt = expiredAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,48 @@
+package com.coupon.coupon.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// fato do ciclo de vida de um cupom, gravado no outbox na mesma transação da mudança; coupon só no CREATED
+public class CouponEvent {
+
+    private final CouponEventType type;
+    private final UUID couponId;
+    private final LocalDateTime occurredAt;
+    private final Coupon coupon;
+
+    private CouponEvent(CouponEventType type, UUID couponId, LocalDateTime occurredAt, Coupon coupon) {
+        this.type = type;
+        this.couponId = couponId;
+        this.occurredAt = occurredAt;
+        this.coupon = coupon;
+    }
+
+    public static CouponEvent created(Coupon coupon) {
+        return new CouponEvent(CouponEventType.CREATED, coupon.getId(), LocalDateTime.now(), coupon);
+    }
+
+    public static CouponEvent deleted(UUID couponId, LocalDateTime occurredAt) {
+        return new CouponEvent(CouponEventType.DELETED, couponId, occurredAt, null);
+    }
+
+    public static CouponEvent redeemed(UUID couponId, LocalDateTime occurredAt) {
+        return new CouponEvent(CouponEventType.REDEEMED, couponId, occurredAt, null);
+    }
+
+    public CouponEventType getType() {
+        return type;
+    }
+
+    public UUID getCouponId() {
+        return couponId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public Coupon getCoupon() {
+        return coupon;
+    }
+}
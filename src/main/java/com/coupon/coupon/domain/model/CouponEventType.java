@@ -0,0 +1,7 @@
+package com.coupon.coupon.domain.model;
+
+public enum CouponEventType {
+    CREATED,
+    DELETED,
+    REDEEMED
+}
@@ -0,0 +1,18 @@
+package com.coupon.coupon.domain.model;
+
+import java.util.Locale;
+
+public enum CouponStatus {
+    ACTIVE,
+    EXPIRED,
+    DELETED;
+
+    // aceita active/Active/ACTIVE
+    public static CouponStatus parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Status inválido: '" + value + "'. Use ACTIVE, EXPIRED ou DELETED.");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.coupon.coupon.domain.model;
+
+import com.coupon.coupon.domain.exception.InvalidCouponCodeException;
+import com.coupon.coupon.domain.exception.InvalidDiscountValueException;
+import com.coupon.coupon.domain.exception.PastExpirationDateException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+
+// regras de criação em passada única, sem regex; mensagens só são montadas quando a validação falha
+final class CouponValidation {
+
+    static final int CODE_LENGTH = 6;
+    static final BigDecimal MIN_DISCOUNT_VALUE = new BigDecimal("0.5");
+
+    // fuso resolvido uma vez; com offset fixo (caso comum em container) não há alocação por chamada
+    private static final ZoneRules ZONE_RULES = ZoneId.systemDefault().getRules();
+
+    private CouponValidation() {
+    }
+
+    // código aceito só alfanumérico ASCII; especiais são removidos antes de validar tamanho.
+    // Código já limpo é devolvido sem cópia.
+    static String sanitizeCode(String code) {
+        if (code == null) {
+            throw invalidCode("");
+        }
+        int length = code.length();
+        int alphanumerics = 0;
+        for (int i = 0; i < length; i++) {
+            if (isAsciiAlphanumeric(code.charAt(i))) {
+                alphanumerics++;
+            }
+        }
+        if (alphanumerics != CODE_LENGTH) {
+            throw invalidCode(stripNonAlphanumerics(code, alphanumerics));
+        }
+        if (alphanumerics == length) {
+            return code;
+        }
+        return stripNonAlphanumerics(code, alphanumerics);
+    }
+
+    static void validateDiscountValue(BigDecimal discountValue) {
+        if (discountValue == null || discountValue.compareTo(MIN_DISCOUNT_VALUE) < 0) {
+            throw new InvalidDiscountValueException(
+                    "O valor de desconto deve ser no mínimo " + MIN_DISCOUNT_VALUE + ". Recebido: " + discountValue);
+        }
+    }
+
+    static void validateExpirationDate(LocalDateTime expirationDate) {
+        if (expirationDate == null || isPast(expirationDate)) {
+            throw new PastExpirationDateException(
+                    "A data de expiração não pode ser uma data passada. Recebida: " + expirationDate);
+        }
+    }
+
+    // equivalente a expirationDate.isBefore(LocalDateTime.now()), comparando em epoch sem instanciar o "agora"
+    static boolean isPast(LocalDateTime expirationDate) {
+        long nowMillis = System.currentTimeMillis();
+        ZoneOffset offset = ZONE_RULES.isFixedOffset()
+                ? ZONE_RULES.getOffset(Instant.EPOCH)
+                : ZONE_RULES.getOffset(Instant.ofEpochMilli(nowMillis));
+        long expirationSecond = expirationDate.toEpochSecond(offset);
+        long nowSecond = Math.floorDiv(nowMillis, 1000L);
+        if (expirationSecond != nowSecond) {
+            return expirationSecond < nowSecond;
+        }
+        return expirationDate.getNano() < Math.floorMod(nowMillis, 1000L) * 1_000_000L;
+    }
+
+    private static boolean isAsciiAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static String stripNonAlphanumerics(String code, int alphanumerics) {
+        char[] chars = new char[alphanumerics];
+        int position = 0;
+        for (int i = 0; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (isAsciiAlphanumeric(c)) {
+                chars[position++] = c;
+            }
+        }
+        return new String(chars);
+    }
+
+    private static InvalidCouponCodeException invalidCode(String sanitizedCode) {
+        return new InvalidCouponCodeException(
+                "O código do cupom deve ter exatamente " + CODE_LENGTH + " caracteres alfanuméricos após sanitização. " +
+                        "Recebido: '" + sanitizedCode + "' (" + sanitizedCode.length() + " caracteres).");
+    }
+}
@@ -0,0 +1,7 @@
+package com.coupon.coupon.domain.repository;
+
+public interface CouponCodeGenerator {
+
+    // código de 6 caracteres que este gerador nunca devolveu antes, em nenhuma instância
+    String next();
+}
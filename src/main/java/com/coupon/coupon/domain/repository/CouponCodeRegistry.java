@@ -0,0 +1,11 @@
+package com.coupon.coupon.domain.repository;
+
+import java.util.UUID;
+
+public interface CouponCodeRegistry {
+
+    // true só para quem ficou com o código; concorrentes com o mesmo código recebem false
+    boolean reserve(String code, UUID id);
+
+    void release(String code, UUID id);
+}
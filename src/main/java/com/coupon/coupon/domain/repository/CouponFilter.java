@@ -0,0 +1,41 @@
+package com.coupon.coupon.domain.repository;
+
+import com.coupon.coupon.domain.model.CouponStatus;
+
+import java.time.LocalDateTime;
+
+// campos null não filtram
+public class CouponFilter {
+
+    private final CouponStatus status;
+    private final Boolean published;
+    private final LocalDateTime expiresFrom;
+    private final LocalDateTime expiresTo;
+
+    public CouponFilter(CouponStatus status, Boolean published, LocalDateTime expiresFrom, LocalDateTime expiresTo) {
+        this.status = status;
+        this.published = published;
+        this.expiresFrom = expiresFrom;
+        this.expiresTo = expiresTo;
+    }
+
+    public static CouponFilter none() {
+        return new CouponFilter(null, null, null, null);
+    }
+
+    public CouponStatus getStatus() {
+        return status;
+    }
+
+    public Boolean getPublished() {
+        return published;
+    }
+
+    public LocalDateTime getExpiresFrom() {
+        return expiresFrom;
+    }
+
+    public LocalDateTime getExpiresTo() {
+        return expiresTo;
+    }
+}
@@ -0,0 +1,13 @@
+package com.coupon.coupon.domain.repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+// avisa caches locais de que cupons mudaram, nesta instância ou em outra
+public interface CouponInvalidationBus {
+
+    // dentro de transação, os ids são juntados e entregues uma vez só, depois do commit; rollback não entrega nada
+    void publish(Collection<UUID> ids);
+
+    void subscribe(CouponInvalidationListener listener);
+}
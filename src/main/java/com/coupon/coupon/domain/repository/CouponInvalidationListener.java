@@ -0,0 +1,10 @@
+package com.coupon.coupon.domain.repository;
+
+import java.util.Set;
+import java.util.UUID;
+
+public interface CouponInvalidationListener {
+
+    // ids sem repetição; local = escrita desta instância, que já atualizou o que ela mesma mantém
+    void onInvalidated(Set<UUID> ids, boolean local);
+}
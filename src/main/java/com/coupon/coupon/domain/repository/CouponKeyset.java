@@ -0,0 +1,24 @@
+package com.coupon.coupon.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// posição da paginação por seek: último (expirationDate, id) entregue
+public class CouponKeyset {
+
+    private final LocalDateTime expirationDate;
+    private final UUID id;
+
+    public CouponKeyset(LocalDateTime expirationDate, UUID id) {
+        this.expirationDate = expirationDate;
+        this.id = id;
+    }
+
+    public LocalDateTime getExpirationDate() {
+        return expirationDate;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+}
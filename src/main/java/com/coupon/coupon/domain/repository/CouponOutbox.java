@@ -0,0 +1,13 @@
+package com.coupon.coupon.domain.repository;
+
+import com.coupon.coupon.domain.model.CouponEvent;
+
+import java.util.List;
+
+// chamado dentro da transação que altera o cupom: o evento só existe se a mudança commitar
+public interface CouponOutbox {
+
+    void record(CouponEvent event);
+
+    void recordAll(List<CouponEvent> events);
+}
@@ -0,0 +1,33 @@
+package com.coupon.coupon.domain.repository;
+
+import com.coupon.coupon.domain.model.Coupon;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// projeção em memória dos cupons ativos (não deletados e com expirationDate no futuro), para leitura sem banco.
+// Dentro de transação as alterações só entram depois do commit; fora dela, na hora
+public interface CouponReadModel {
+
+    void put(Coupon coupon);
+
+    void markRedeemed(UUID id);
+
+    void remove(UUID id);
+
+    void removeAll(Collection<UUID> ids);
+
+    // vazio quando o cupom não é ativo (ou não é conhecido aqui): quem chama decide se consulta o banco
+    Optional<Coupon> findById(UUID id);
+
+    Optional<Coupon> findByCode(String code);
+
+    // equivalentes a findPage/streamAll do CouponRepository com status ACTIVE: mesma ordem (expirationDate, id)
+    // e mesmo cursor. O status do filtro é ignorado
+    List<Coupon> findPage(CouponFilter filter, CouponKeyset after, int limit);
+
+    void forEach(CouponFilter filter, Consumer<Coupon> consumer);
+}
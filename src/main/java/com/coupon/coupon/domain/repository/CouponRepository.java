@@ -2,12 +2,57 @@ package com.coupon.coupon.domain.repository;
 
 import com.coupon.coupon.domain.model.Coupon;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface CouponRepository {
 
+    // save/saveAll inserem cupons novos; alterações em cupom existente passam por update
     Coupon save(Coupon coupon);
 
+    List<Coupon> saveAll(List<Coupon> coupons);
+
+    // read-modify-write: grava só se coupon.version ainda for a do banco. Nenhum caso de uso atual passa por
+    // aqui (resgate, deleção e expiração são UPDATEs condicionais que só incrementam a versão)
+    Coupon update(Coupon coupon);
+
+    // marca como resgatado só se ainda disponível (não resgatado, não deletado, não expirado em now)
+    boolean redeem(UUID id, LocalDateTime now);
+
+    // marca deletedAt só se o cupom ainda não foi deletado; false quando inexistente ou já deletado
+    boolean softDelete(UUID id, LocalDateTime now);
+
+    // retorna os ids de fato deletados, sem os inexistentes e os já deletados
+    List<UUID> softDeleteAll(List<UUID> ids, LocalDateTime now);
+
+    // ids não deletados com expirationDate < cutoff, em ordem de expiração
+    List<UUID> findIdsExpiredBefore(LocalDateTime cutoff, int limit);
+
+    // não deletados, ainda sem expiredAt e com expirationDate <= now, em ordem de expiração
+    List<UUID> findIdsToExpire(LocalDateTime now, int limit);
+
+    int markExpired(List<UUID> ids, LocalDateTime now);
+
+    boolean existsById(UUID id);
+
     Optional<Coupon> findById(UUID id);
+
+    Optional<Coupon> findByCode(String code);
+
+    // ausentes ficam fora do resultado; ordem não garantida
+    List<Coupon> findAllById(Collection<UUID> ids);
+
+    // ordenado por (expirationDate, id); after null começa do início
+    List<Coupon> findPage(CouponFilter filter, CouponKeyset after, int limit);
+
+    // lê por cursor do banco sem materializar o resultado; precisa de transação aberta
+    void streamAll(CouponFilter filter, Consumer<Coupon> consumer);
+
+    // a tabela inteira, inclusive deletados; com changedSince, só os gravados a partir dele, em ordem de updatedAt.
+    // Também por cursor e dentro de transação
+    void streamForExport(LocalDateTime changedSince, Consumer<Coupon> consumer);
 }
@@ -0,0 +1,194 @@
+package com.coupon.coupon.infrastructure.cache;
+
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.repository.CouponFilter;
+import com.coupon.coupon.domain.repository.CouponKeyset;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+// decorator read-through do findById; Caffeine faz a evicção por tamanho (W-TinyLFU) e por TTL
+public class CachingCouponRepository implements CouponRepository, MeterBinder {
+
+    private final CouponRepository delegate;
+    private final Cache<UUID, Coupon> cache;
+
+    public CachingCouponRepository(CouponRepository delegate, long maximumSize, Duration timeToLive) {
+        this(delegate, maximumSize, timeToLive, Ticker.systemTicker());
+    }
+
+    CachingCouponRepository(CouponRepository delegate, long maximumSize, Duration timeToLive, Ticker ticker) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Coupon save(Coupon coupon) {
+        Coupon saved = delegate.save(coupon);
+        invalidate(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public List<Coupon> saveAll(List<Coupon> coupons) {
+        List<Coupon> saved = delegate.saveAll(coupons);
+        for (Coupon coupon : saved) {
+            invalidate(coupon.getId());
+        }
+        return saved;
+    }
+
+    @Override
+    public Coupon update(Coupon coupon) {
+        Coupon updated = delegate.update(coupon);
+        invalidate(updated.getId());
+        return updated;
+    }
+
+    @Override
+    public boolean redeem(UUID id, LocalDateTime now) {
+        boolean redeemed = delegate.redeem(id, now);
+        invalidate(id);
+        return redeemed;
+    }
+
+    @Override
+    public boolean softDelete(UUID id, LocalDateTime now) {
+        boolean deleted = delegate.softDelete(id, now);
+        invalidate(id);
+        return deleted;
+    }
+
+    @Override
+    public List<UUID> softDeleteAll(List<UUID> ids, LocalDateTime now) {
+        List<UUID> deleted = delegate.softDeleteAll(ids, now);
+        for (UUID id : ids) {
+            invalidate(id);
+        }
+        return deleted;
+    }
+
+    @Override
+    public List<UUID> findIdsExpiredBefore(LocalDateTime cutoff, int limit) {
+        return delegate.findIdsExpiredBefore(cutoff, limit);
+    }
+
+    @Override
+    public List<UUID> findIdsToExpire(LocalDateTime now, int limit) {
+        return delegate.findIdsToExpire(now, limit);
+    }
+
+    @Override
+    public int markExpired(List<UUID> ids, LocalDateTime now) {
+        int expired = delegate.markExpired(ids, now);
+        for (UUID id : ids) {
+            invalidate(id);
+        }
+        return expired;
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return delegate.existsById(id);
+    }
+
+    // cargas concorrentes do mesmo id são coalescidas; ausência não é cacheada
+    @Override
+    public Optional<Coupon> findById(UUID id) {
+        Coupon cached = cache.get(id, key -> delegate.findById(key).orElse(null));
+        return Optional.ofNullable(cached).map(CachingCouponRepository::copy);
+    }
+
+    @Override
+    public Optional<Coupon> findByCode(String code) {
+        return delegate.findByCode(code);
+    }
+
+    // usado para reler cupons invalidados: precisa do banco, não do cache
+    @Override
+    public List<Coupon> findAllById(Collection<UUID> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    // listagens não passam pelo cache
+    @Override
+    public List<Coupon> findPage(CouponFilter filter, CouponKeyset after, int limit) {
+        return delegate.findPage(filter, after, limit);
+    }
+
+    @Override
+    public void streamAll(CouponFilter filter, Consumer<Coupon> consumer) {
+        delegate.streamAll(filter, consumer);
+    }
+
+    @Override
+    public void streamForExport(LocalDateTime changedSince, Consumer<Coupon> consumer) {
+        delegate.streamForExport(changedSince, consumer);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // hits, misses, evicções e tamanho do cache em cache_gets / cache_evictions / cache_size
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "couponById");
+    }
+
+    // invalidação vinda de outra instância: a mudança já commitou lá
+    public void invalidateAll(Collection<UUID> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    public void invalidate(UUID id) {
+        cache.invalidate(id);
+        // dentro de transação, invalida de novo ao final: uma leitura no meio pode ter cacheado estado não commitado
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    // Coupon é mutável (delete() altera o estado); quem lê recebe cópia para não corromper o cache
+    private static Coupon copy(Coupon source) {
+        Coupon copy = new Coupon();
+        copy.setId(source.getId());
+        copy.setCode(source.getCode());
+        copy.setDescription(source.getDescription());
+        copy.setDiscountValue(source.getDiscountValue());
+        copy.setExpirationDate(source.getExpirationDate());
+        copy.setPublished(source.isPublished());
+        copy.setRedeemed(source.isRedeemed());
+        copy.setDeletedAt(source.getDeletedAt());
+        copy.setExpiredAt(source.getExpiredAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setVersion(source.getVersion());
+        return copy;
+    }
+}
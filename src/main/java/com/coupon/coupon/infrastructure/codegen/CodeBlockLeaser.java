@@ -0,0 +1,7 @@
+package com.coupon.coupon.infrastructure.codegen;
+
+public interface CodeBlockLeaser {
+
+    // reserva [início, início + size) da sequência compartilhada e devolve o início; cada bloco sai uma vez só
+    long lease(int size);
+}
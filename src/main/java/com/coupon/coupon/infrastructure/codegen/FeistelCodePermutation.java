@@ -0,0 +1,114 @@
+package com.coupon.coupon.infrastructure.codegen;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// permutação com chave de [0, 62^6): número de sequência -> código de 6 caracteres base 62.
+// Rede de Feistel balanceada sobre 36 bits (duas metades de 18) e cycle-walking: o que cai acima de 62^6
+// é permutado de novo até entrar no intervalo (1,2 voltas em média). Bijeção: sequências distintas
+// nunca dão o mesmo código, então não há consulta de existência. Trocar a chave depois de emitir
+// códigos perde essa garantia (o índice único no banco continua barrando duplicatas)
+public final class FeistelCodePermutation {
+
+    public static final int CODE_LENGTH = 6;
+    public static final long SPACE = 56_800_235_584L; // 62^6
+
+    private static final char[] ALPHABET =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final int HALF_BITS = 18;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int ROUNDS = 6;
+
+    private final long[] roundKeys = new long[ROUNDS];
+
+    public FeistelCodePermutation(String key) {
+        if (key == null || key.isBlank()) {
+            throw new IllegalArgumentException("A chave do gerador de códigos não pode ser vazia.");
+        }
+        long seed = seed(key);
+        for (int i = 0; i < ROUNDS; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            roundKeys[i] = mix(seed);
+        }
+    }
+
+    public long permute(long value) {
+        checkRange(value);
+        long result = value;
+        do {
+            result = encrypt(result);
+        } while (result >= SPACE);
+        return result;
+    }
+
+    public long invert(long value) {
+        checkRange(value);
+        long result = value;
+        do {
+            result = decrypt(result);
+        } while (result >= SPACE);
+        return result;
+    }
+
+    public static String encode(long value) {
+        char[] code = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET[(int) (value % 62)];
+            value /= 62;
+        }
+        return new String(code);
+    }
+
+    private long encrypt(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (int i = 0; i < ROUNDS; i++) {
+            long next = left ^ round(right, i);
+            left = right;
+            right = next;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private long decrypt(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (int i = ROUNDS - 1; i >= 0; i--) {
+            long previous = right ^ round(left, i);
+            right = left;
+            left = previous;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private long round(long half, int index) {
+        return mix(half ^ roundKeys[index]) & HALF_MASK;
+    }
+
+    // finalizador do SplitMix64: cada bit de entrada afeta todos os de saída
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long seed(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            long seed = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                seed = (seed << 8) | (hash[i] & 0xFF);
+            }
+            return seed;
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void checkRange(long value) {
+        if (value < 0 || value >= SPACE) {
+            throw new IllegalArgumentException("Valor fora do espaço de códigos: " + value);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.coupon.coupon.infrastructure.codegen;
+
+import com.coupon.coupon.domain.repository.CouponCodeGenerator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// números de sequência vêm em blocos arrendados do banco; dentro do bloco as threads só disputam um AtomicLong.
+// O que sobra de um bloco quando a instância para é descartado (o espaço tem 56 bilhões de códigos)
+public class FeistelCouponCodeGenerator implements CouponCodeGenerator {
+
+    private final FeistelCodePermutation permutation;
+    private final CodeBlockLeaser leaser;
+    private final int blockSize;
+    // lock e não synchronized: o arrendamento roda uma transação no banco, e bloquear em synchronized prende a
+    // virtual thread na carrier (pinning) durante toda a ida ao banco
+    private final ReentrantLock leaseLock = new ReentrantLock();
+    private volatile Block block;
+
+    public FeistelCouponCodeGenerator(FeistelCodePermutation permutation, CodeBlockLeaser leaser, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize deve ser positivo.");
+        }
+        this.permutation = permutation;
+        this.leaser = leaser;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public String next() {
+        while (true) {
+            Block current = block;
+            if (current != null) {
+                long sequence = current.next.getAndIncrement();
+                if (sequence < current.end) {
+                    return FeistelCodePermutation.encode(permutation.permute(sequence));
+                }
+            }
+            // só uma thread arrenda o próximo bloco; as outras voltam e usam o que ela trouxe
+            leaseLock.lock();
+            try {
+                if (block == current) {
+                    block = lease();
+                }
+            } finally {
+                leaseLock.unlock();
+            }
+        }
+    }
+
+    private Block lease() {
+        long start = leaser.lease(blockSize);
+        if (start >= FeistelCodePermutation.SPACE) {
+            throw new IllegalStateException("Espaço de códigos gerados esgotado.");
+        }
+        return new Block(start, Math.min(start + blockSize, FeistelCodePermutation.SPACE));
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.coupon.coupon.infrastructure.codegen;
+
+import com.coupon.coupon.domain.exception.CodeGeneratorUnavailableException;
+import com.coupon.coupon.domain.repository.CouponCodeGenerator;
+
+// sem chave configurada: só a criação com generateCode falha; o resto da API segue normal
+public class UnavailableCouponCodeGenerator implements CouponCodeGenerator {
+
+    @Override
+    public String next() {
+        throw new CodeGeneratorUnavailableException();
+    }
+}
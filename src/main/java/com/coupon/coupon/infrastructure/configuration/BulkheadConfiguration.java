@@ -0,0 +1,28 @@
+package com.coupon.coupon.infrastructure.configuration;
+
+import com.coupon.coupon.api.filter.BulkheadFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "coupon.bulkhead.enabled", havingValue = "true")
+public class BulkheadConfiguration {
+
+    // só as rotas de cupom, que usam o banco; Swagger e console H2 ficam fora
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(
+            @Value("${coupon.bulkhead.max-concurrent:40}") int maxConcurrent,
+            @Value("${coupon.bulkhead.max-concurrent-streams:4}") int maxConcurrentStreams,
+            @Value("${coupon.bulkhead.acquire-timeout:PT0.5S}") Duration acquireTimeout) {
+        FilterRegistrationBean<BulkheadFilter> registration =
+                new FilterRegistrationBean<>(new BulkheadFilter(maxConcurrent, maxConcurrentStreams, acquireTimeout));
+        registration.addUrlPatterns("/coupons", "/coupons/*");
+        registration.setOrder(2);
+        return registration;
+    }
+}
@@ -0,0 +1,22 @@
+package com.coupon.coupon.infrastructure.configuration;
+
+import com.coupon.coupon.application.retry.ConflictRetryPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ConflictRetryConfiguration {
+
+    @Bean
+    public ConflictRetryPolicy conflictRetryPolicy(
+            MeterRegistry meterRegistry,
+            @Value("${coupon.retry.max-attempts:3}") int maxAttempts,
+            @Value("${coupon.retry.initial-backoff:PT0.005S}") Duration initialBackoff,
+            @Value("${coupon.retry.max-backoff:PT0.1S}") Duration maxBackoff) {
+        return new ConflictRetryPolicy(meterRegistry, maxAttempts, initialBackoff, maxBackoff);
+    }
+}
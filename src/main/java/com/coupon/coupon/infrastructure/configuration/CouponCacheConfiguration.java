@@ -0,0 +1,35 @@
+package com.coupon.coupon.infrastructure.configuration;
+
+import com.coupon.coupon.domain.repository.CouponInvalidationBus;
+import com.coupon.coupon.infrastructure.cache.CachingCouponRepository;
+import com.coupon.coupon.infrastructure.persistence.CouponRepositoryAdapter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "coupon.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CouponCacheConfiguration {
+
+    // @Primary: casos de uso recebem o decorator; o adapter continua injetável pelo tipo concreto
+    @Bean
+    @Primary
+    public CachingCouponRepository cachingCouponRepository(
+            CouponRepositoryAdapter adapter,
+            CouponInvalidationBus invalidationBus,
+            @Value("${coupon.cache.maximum-size:100000}") long maximumSize,
+            @Value("${coupon.cache.ttl:PT10M}") Duration timeToLive) {
+        CachingCouponRepository repository = new CachingCouponRepository(adapter, maximumSize, timeToLive);
+        // as escritas desta instância já invalidam no próprio decorator; daqui só vem o que mudou em outra
+        invalidationBus.subscribe((ids, local) -> {
+            if (!local) {
+                repository.invalidateAll(ids);
+            }
+        });
+        return repository;
+    }
+}
@@ -0,0 +1,32 @@
+package com.coupon.coupon.infrastructure.configuration;
+
+import com.coupon.coupon.domain.repository.CouponCodeGenerator;
+import com.coupon.coupon.infrastructure.codegen.CodeBlockLeaser;
+import com.coupon.coupon.infrastructure.codegen.FeistelCodePermutation;
+import com.coupon.coupon.infrastructure.codegen.FeistelCouponCodeGenerator;
+import com.coupon.coupon.infrastructure.codegen.UnavailableCouponCodeGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CouponCodeGeneratorConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponCodeGeneratorConfiguration.class);
+
+    // a chave precisa ser a mesma em todas as instâncias e não pode mudar depois que códigos foram emitidos.
+    // Sem chave não há chave padrão: só generateCode é recusado, para nenhum código sair de uma chave conhecida
+    @Bean
+    public CouponCodeGenerator couponCodeGenerator(CodeBlockLeaser leaser,
+                                                   @Value("${coupon.code-generator.key:}") String key,
+                                                   @Value("${coupon.code-generator.block-size:1000}") int blockSize) {
+        if (key == null || key.isBlank()) {
+            log.warn("coupon.code-generator.key não configurada (variável COUPON_CODE_GENERATOR_KEY): "
+                    + "criação com generateCode vai responder 503");
+            return new UnavailableCouponCodeGenerator();
+        }
+        return new FeistelCouponCodeGenerator(new FeistelCodePermutation(key), leaser, blockSize);
+    }
+}
@@ -0,0 +1,34 @@
+package com.coupon.coupon.infrastructure.configuration;
+
+import com.coupon.coupon.infrastructure.invalidation.CouponChangeLog;
+import com.coupon.coupon.infrastructure.invalidation.InJvmCouponInvalidationBus;
+import com.coupon.coupon.infrastructure.invalidation.PollingCouponInvalidationBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+
+@Configuration
+@EnableScheduling
+public class CouponInvalidationConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "coupon.invalidation.bus", havingValue = "in-jvm", matchIfMissing = true)
+    public InJvmCouponInvalidationBus inJvmCouponInvalidationBus(MeterRegistry registry) {
+        return new InJvmCouponInvalidationBus(registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "coupon.invalidation.bus", havingValue = "db-polling")
+    public PollingCouponInvalidationBus pollingCouponInvalidationBus(
+            CouponChangeLog changeLog,
+            MeterRegistry registry,
+            @Value("${coupon.invalidation.batch-size:1000}") int batchSize,
+            @Value("${coupon.invalidation.gap-timeout:PT1M}") Duration gapTimeout) {
+        return new PollingCouponInvalidationBus(changeLog, registry, batchSize, gapTimeout);
+    }
+}
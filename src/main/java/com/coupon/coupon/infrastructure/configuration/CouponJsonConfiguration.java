@@ -0,0 +1,18 @@
+package com.coupon.coupon.infrastructure.configuration;
+
+import com.coupon.coupon.api.response.CouponJsonHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class CouponJsonConfiguration implements WebMvcConfigurer {
+
+    // na frente do Jackson, para ser escolhido nas respostas de cupom
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new CouponJsonHttpMessageConverter());
+    }
+}
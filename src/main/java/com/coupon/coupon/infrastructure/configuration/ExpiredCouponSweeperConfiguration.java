@@ -0,0 +1,28 @@
+package com.coupon.coupon.infrastructure.configuration;
+
+import com.coupon.coupon.application.expire.ExpireCouponsUseCase;
+import com.coupon.coupon.infrastructure.scheduling.ExpiredCouponSweeper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "coupon.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class ExpiredCouponSweeperConfiguration {
+
+    @Bean
+    public ExpiredCouponSweeper expiredCouponSweeper(
+            ExpireCouponsUseCase expireCouponsUseCase,
+            MeterRegistry registry,
+            @Value("${coupon.sweeper.chunk-size:500}") int chunkSize,
+            @Value("${coupon.sweeper.max-chunks-per-run:100}") int maxChunksPerRun,
+            @Value("${coupon.sweeper.pause-between-chunks:PT0.05S}") Duration pauseBetweenChunks) {
+        return new ExpiredCouponSweeper(expireCouponsUseCase, registry, chunkSize, maxChunksPerRun, pauseBetweenChunks);
+    }
+}
@@ -0,0 +1,32 @@
+package com.coupon.coupon.infrastructure.configuration;
+
+import com.coupon.coupon.application.create.GroupCommitWriter;
+import com.coupon.coupon.domain.repository.CouponOutbox;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "coupon.create.group-commit.enabled", havingValue = "true")
+public class GroupCommitConfiguration {
+
+    @Bean
+    public GroupCommitWriter groupCommitWriter(
+            CouponRepository couponRepository,
+            CouponOutbox outbox,
+            PlatformTransactionManager transactionManager,
+            @Value("${coupon.create.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${coupon.create.group-commit.max-group-size:256}") int maxGroupSize,
+            @Value("${coupon.create.group-commit.max-wait:PT0.005S}") Duration maxWait,
+            @Value("${coupon.create.group-commit.enqueue-timeout:PT0.1S}") Duration enqueueTimeout,
+            @Value("${coupon.create.group-commit.commit-timeout:PT5S}") Duration commitTimeout,
+            @Value("${coupon.create.group-commit.transaction-timeout:PT10S}") Duration transactionTimeout) {
+        return new GroupCommitWriter(couponRepository, outbox, transactionManager, queueCapacity, maxGroupSize,
+                maxWait, enqueueTimeout, commitTimeout, transactionTimeout);
+    }
+}
@@ -0,0 +1,20 @@
+package com.coupon.coupon.infrastructure.configuration;
+
+import com.coupon.coupon.infrastructure.idempotency.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class IdempotencyConfiguration {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(
+            @Value("${coupon.idempotency.maximum-size:100000}") long maximumSize,
+            @Value("${coupon.idempotency.ttl:PT24H}") Duration timeToLive,
+            @Value("${coupon.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        return new IdempotencyStore(maximumSize, timeToLive, waitTimeout);
+    }
+}
@@ -0,0 +1,30 @@
+package com.coupon.coupon.infrastructure.configuration;
+
+import com.coupon.coupon.infrastructure.outbox.OutboxPruner;
+import com.coupon.coupon.infrastructure.outbox.OutboxStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Duration;
+
+// separado do relay: a limpeza roda mesmo nas instâncias com o relay desligado
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "coupon.outbox.prune.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxPrunerConfiguration {
+
+    @Bean
+    public OutboxPruner outboxPruner(
+            OutboxStore store,
+            MeterRegistry registry,
+            @Value("${coupon.outbox.retention:PT24H}") Duration retention,
+            @Value("${coupon.outbox.max-age:PT72H}") Duration maxAge,
+            @Value("${coupon.outbox.prune-chunk-size:1000}") int chunkSize,
+            @Value("${coupon.outbox.delivery.enabled:false}") boolean deliveryEnabled) {
+        return new OutboxPruner(store, registry, retention, maxAge, chunkSize, !deliveryEnabled);
+    }
+}
@@ -0,0 +1,53 @@
+package com.coupon.coupon.infrastructure.configuration;
+
+import com.coupon.coupon.infrastructure.outbox.CouponEventSink;
+import com.coupon.coupon.infrastructure.outbox.FileCouponEventSink;
+import com.coupon.coupon.infrastructure.outbox.InProcessCouponEventSink;
+import com.coupon.coupon.infrastructure.outbox.OutboxRelay;
+import com.coupon.coupon.infrastructure.outbox.OutboxStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+// só com coupon.outbox.relay.enabled=true, e numa instância só: o relay não disputa as linhas com outras instâncias
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "coupon.outbox.relay.enabled", havingValue = "true")
+public class OutboxRelayConfiguration {
+
+    @Bean
+    public InProcessCouponEventSink inProcessCouponEventSink(ApplicationEventPublisher publisher) {
+        return new InProcessCouponEventSink(publisher);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "coupon.outbox.file.enabled", havingValue = "true")
+    public FileCouponEventSink fileCouponEventSink(
+            @Value("${coupon.outbox.file.path:outbox/coupon-events.ndjson}") Path file) throws IOException {
+        return new FileCouponEventSink(file);
+    }
+
+    @Bean
+    public OutboxRelay outboxRelay(
+            OutboxStore store,
+            List<CouponEventSink> sinks,
+            MeterRegistry registry,
+            @Value("${coupon.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${coupon.outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${coupon.outbox.delivery.enabled:false}") boolean deliveryEnabled) {
+        // sem delivery.enabled a limpeza das outras instâncias apagaria pendentes por idade antes deste relay entregar
+        if (!deliveryEnabled) {
+            throw new IllegalStateException("coupon.outbox.relay.enabled=true exige coupon.outbox.delivery.enabled=true "
+                    + "em todas as instâncias.");
+        }
+        return new OutboxRelay(store, sinks, registry, batchSize, maxBatchesPerRun);
+    }
+}
@@ -0,0 +1,48 @@
+package com.coupon.coupon.infrastructure.configuration;
+
+import com.coupon.coupon.api.filter.RateLimit;
+import com.coupon.coupon.api.filter.RateLimitFilter;
+import com.coupon.coupon.api.filter.RateLimitFilter.Route;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+@Configuration
+@ConditionalOnProperty(name = "coupon.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfiguration {
+
+    // antes do bulkhead: requisição recusada por limite não ocupa permissão
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            MeterRegistry registry,
+            @Value("${coupon.rate-limit.create.per-second:20}") double createPerSecond,
+            @Value("${coupon.rate-limit.create.burst:40}") int createBurst,
+            @Value("${coupon.rate-limit.batch.per-second:1}") double batchPerSecond,
+            @Value("${coupon.rate-limit.batch.burst:2}") int batchBurst,
+            @Value("${coupon.rate-limit.delete.per-second:20}") double deletePerSecond,
+            @Value("${coupon.rate-limit.delete.burst:40}") int deleteBurst,
+            @Value("${coupon.rate-limit.other.per-second:100}") double otherPerSecond,
+            @Value("${coupon.rate-limit.other.burst:200}") int otherBurst,
+            @Value("${coupon.rate-limit.api-keys:}") Set<String> apiKeys,
+            @Value("${coupon.rate-limit.maximum-clients:1000000}") long maximumClients,
+            @Value("${coupon.rate-limit.idle-timeout:PT10M}") Duration idleTimeout) {
+        Map<Route, RateLimit> limits = new EnumMap<>(Route.class);
+        limits.put(Route.CREATE, new RateLimit(createPerSecond, createBurst));
+        limits.put(Route.BATCH, new RateLimit(batchPerSecond, batchBurst));
+        limits.put(Route.DELETE, new RateLimit(deletePerSecond, deleteBurst));
+        limits.put(Route.OTHER, new RateLimit(otherPerSecond, otherBurst));
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(limits, apiKeys, maximumClients, idleTimeout, registry));
+        registration.addUrlPatterns("/coupons", "/coupons/*");
+        registration.setOrder(1);
+        return registration;
+    }
+}
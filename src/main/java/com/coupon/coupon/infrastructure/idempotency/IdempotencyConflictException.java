@@ -0,0 +1,8 @@
+package com.coupon.coupon.infrastructure.idempotency;
+
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
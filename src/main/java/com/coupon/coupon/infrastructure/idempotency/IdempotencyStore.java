@@ -0,0 +1,113 @@
+package com.coupon.coupon.infrastructure.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// (cliente, chave) -> resposta da primeira execução; a entrada entra antes da execução, então duplicatas concorrentes
+// esperam por ela. A chave vale só dentro do cliente: outro cliente com a mesma chave não recebe a resposta alheia
+public class IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+    private final Duration waitTimeout;
+
+    public IdempotencyStore(long maximumSize, Duration timeToLive, Duration waitTimeout) {
+        this(maximumSize, timeToLive, waitTimeout, Ticker.systemTicker());
+    }
+
+    IdempotencyStore(long maximumSize, Duration timeToLive, Duration waitTimeout, Ticker ticker) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .build();
+        this.waitTimeout = waitTimeout;
+    }
+
+    // fingerprint identifica o corpo da requisição: a mesma chave com outro corpo é rejeitada.
+    // client não pode conter '|' (IP de origem, por exemplo), para a chave composta não ser ambígua
+    public <T> Result<T> execute(String client, String key, Object fingerprint, Supplier<T> action) {
+        String scopedKey = client + "|" + key;
+        Entry created = new Entry(fingerprint);
+        Entry existing = entries.asMap().putIfAbsent(scopedKey, created);
+        if (existing != null) {
+            return replay(key, existing, fingerprint);
+        }
+        try {
+            T value = action.get();
+            created.result.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException | Error ex) {
+            // falha não é memorizada: a próxima tentativa com a mesma chave executa de novo
+            entries.asMap().remove(scopedKey, created);
+            created.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Result<T> replay(String key, Entry existing, Object fingerprint) {
+        if (!Objects.equals(existing.fingerprint, fingerprint)) {
+            throw new IdempotencyConflictException(
+                    "Idempotency-Key '" + key + "' já foi usada com outro corpo de requisição.");
+        }
+        try {
+            return new Result<>((T) existing.result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS), true);
+        } catch (TimeoutException ex) {
+            throw new IdempotencyConflictException(
+                    "Requisição com Idempotency-Key '" + key + "' ainda em processamento.");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException(
+                    "Requisição com Idempotency-Key '" + key + "' ainda em processamento.");
+        } catch (ExecutionException ex) {
+            // a primeira execução falhou: a duplicata recebe o mesmo erro
+            Throwable cause = ex.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+        }
+    }
+
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    private static final class Entry {
+
+        private final Object fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private Entry(Object fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    public static final class Result<T> {
+
+        private final T value;
+        private final boolean replayed;
+
+        private Result(T value, boolean replayed) {
+            this.value = value;
+            this.replayed = replayed;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public boolean isReplayed() {
+            return replayed;
+        }
+    }
+}
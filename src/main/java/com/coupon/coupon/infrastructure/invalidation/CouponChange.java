@@ -0,0 +1,23 @@
+package com.coupon.coupon.infrastructure.invalidation;
+
+import java.util.UUID;
+
+// uma linha do change log: sequence crescente e o cupom alterado
+public class CouponChange {
+
+    private final long sequence;
+    private final UUID couponId;
+
+    public CouponChange(long sequence, UUID couponId) {
+        this.sequence = sequence;
+        this.couponId = couponId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public UUID getCouponId() {
+        return couponId;
+    }
+}
@@ -0,0 +1,15 @@
+package com.coupon.coupon.infrastructure.invalidation;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CouponChangeLog {
+
+    // maior sequence gravada até agora; 0 com o log vazio
+    long lastSequence();
+
+    // em ordem de sequence
+    List<CouponChange> findAfter(long sequence, int limit);
+
+    List<CouponChange> findBySequences(Collection<Long> sequences);
+}
@@ -0,0 +1,85 @@
+package com.coupon.coupon.infrastructure.invalidation;
+
+import com.coupon.coupon.domain.repository.CouponInvalidationBus;
+import com.coupon.coupon.domain.repository.CouponInvalidationListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// só a própria JVM: serve para uma instância. Os ids de uma transação ficam na sincronização dela, e não num
+// recurso ligado à thread, para que uma transação REQUIRES_NEW no meio tenha o seu próprio lote
+public class InJvmCouponInvalidationBus implements CouponInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(InJvmCouponInvalidationBus.class);
+
+    private final List<CouponInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+    private final Counter published;
+
+    public InJvmCouponInvalidationBus(MeterRegistry registry) {
+        this.published = Counter.builder("coupon.invalidation.published")
+                .description("Cupons invalidados por escritas desta instância")
+                .register(registry);
+    }
+
+    @Override
+    public void publish(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            published.increment(ids.size());
+            deliver(new LinkedHashSet<>(ids), true);
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingInvalidations pending && pending.owner() == this) {
+                pending.ids.addAll(ids);
+                return;
+            }
+        }
+        PendingInvalidations pending = new PendingInvalidations();
+        pending.ids.addAll(ids);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    @Override
+    public void subscribe(CouponInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    // a escrita já commitou: listener com problema é logado e não chega a quem escreveu
+    protected void deliver(Set<UUID> ids, boolean local) {
+        for (CouponInvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidated(ids, local);
+            } catch (RuntimeException ex) {
+                log.warn("Listener de invalidação falhou para {} cupons", ids.size(), ex);
+            }
+        }
+    }
+
+    private final class PendingInvalidations implements TransactionSynchronization {
+
+        private final Set<UUID> ids = new LinkedHashSet<>();
+
+        InJvmCouponInvalidationBus owner() {
+            return InJvmCouponInvalidationBus.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            published.increment(ids.size());
+            deliver(ids, true);
+        }
+    }
+}
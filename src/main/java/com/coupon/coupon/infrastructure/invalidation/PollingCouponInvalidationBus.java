@@ -0,0 +1,94 @@
+package com.coupon.coupon.infrastructure.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// entre instâncias sem broker: cada uma lê o change log compartilhado a partir da última sequence vista e entrega
+// os ids de cada lote de uma vez. A sequence sai no INSERT, mas as transações commitam fora de ordem: um buraco
+// pode ser uma transação ainda aberta. Buracos são consultados de novo a cada poll até aparecerem ou passarem de
+// gapTimeout (um rollback nunca preenche o seu). As escritas desta instância também voltam pelo log, sem custo
+// além de uma releitura em lote
+public class PollingCouponInvalidationBus extends InJvmCouponInvalidationBus {
+
+    // buraco maior que isso é salto da sequence, não transações em voo
+    private static final int MAX_GAPS = 1000;
+
+    private final CouponChangeLog changeLog;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final NavigableMap<Long, Long> gaps = new TreeMap<>();
+    private final AtomicInteger gapCount = new AtomicInteger();
+    private final Counter received;
+    // poll consulta o banco segurando o lock: synchronized prenderia a virtual thread do scheduler na carrier
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private long cursor;
+
+    // começa do fim do log: o estado anterior já vem da carga inicial de quem mantém cache
+    public PollingCouponInvalidationBus(CouponChangeLog changeLog, MeterRegistry registry, int batchSize,
+                                        Duration gapTimeout) {
+        super(registry);
+        this.changeLog = changeLog;
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.cursor = changeLog.lastSequence();
+        this.received = Counter.builder("coupon.invalidation.received")
+                .description("Cupons invalidados lidos do change log compartilhado")
+                .register(registry);
+        Gauge.builder("coupon.invalidation.gaps", gapCount, AtomicInteger::get)
+                .description("Sequences ainda não vistas abaixo do cursor do change log")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.invalidation.poll-interval:PT0.5S}")
+    public void poll() {
+        pollLock.lock();
+        try {
+            long now = System.nanoTime();
+            if (!gaps.isEmpty()) {
+                Set<UUID> late = new LinkedHashSet<>();
+                for (CouponChange change : changeLog.findBySequences(List.copyOf(gaps.keySet()))) {
+                    gaps.remove(change.getSequence());
+                    late.add(change.getCouponId());
+                }
+                gaps.values().removeIf(firstSeen -> now - firstSeen > gapTimeoutNanos);
+                receive(late);
+            }
+            List<CouponChange> changes;
+            do {
+                changes = changeLog.findAfter(cursor, batchSize);
+                Set<UUID> ids = new LinkedHashSet<>();
+                for (CouponChange change : changes) {
+                    for (long missing = cursor + 1; missing < change.getSequence() && gaps.size() < MAX_GAPS;
+                         missing++) {
+                        gaps.put(missing, now);
+                    }
+                    cursor = change.getSequence();
+                    ids.add(change.getCouponId());
+                }
+                receive(ids);
+            } while (changes.size() == batchSize);
+            gapCount.set(gaps.size());
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private void receive(Set<UUID> ids) {
+        if (!ids.isEmpty()) {
+            received.increment(ids.size());
+            deliver(ids, false);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.coupon.coupon.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// timers por operação e resultado; meters ficam em cache para o caminho quente não montar tags a cada chamada
+@Aspect
+@Component
+public class CouponMetricsAspect {
+
+    static final String USE_CASE_TIMER = "coupon.usecase";
+    static final String REPOSITORY_TIMER = "coupon.repository";
+    static final String ERROR_COUNTER = "coupon.http.errors";
+    static final String SUCCESS = "success";
+
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(100_000);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+
+    private final MeterRegistry registry;
+    private final Map<Method, OperationTimers> operations = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public CouponMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.coupon.coupon.application..*UseCase.*(..))")
+    public Object timeUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(USE_CASE_TIMER, joinPoint);
+    }
+
+    @Around("execution(public * com.coupon.coupon.infrastructure.persistence.CouponRepositoryAdapter.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(REPOSITORY_TIMER, joinPoint);
+    }
+
+    // um contador por handler, status e classe da exceção tratada
+    @AfterReturning(pointcut = "execution(public * com.coupon.coupon.api.controller.GlobalExceptionHandler.*(..))",
+            returning = "response")
+    public void countHandledError(JoinPoint joinPoint, Object response) {
+        if (!(response instanceof ResponseEntity<?> entity) || joinPoint.getArgs().length == 0) {
+            return;
+        }
+        String exception = joinPoint.getArgs()[0].getClass().getSimpleName();
+        int status = entity.getStatusCode().value();
+        String key = exception + '|' + status;
+        counters.computeIfAbsent(key, k -> Counter.builder(ERROR_COUNTER)
+                .description("Exceções tratadas pelo GlobalExceptionHandler")
+                .tag("exception", exception)
+                .tag("status", Integer.toString(status))
+                .register(registry)).increment();
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            operation(name, method).success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            operation(name, method).failure(ex.getClass()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private OperationTimers operation(String name, Method method) {
+        OperationTimers timers = operations.get(method);
+        if (timers != null) {
+            return timers;
+        }
+        return operations.computeIfAbsent(method, m -> new OperationTimers(registry, name,
+                m.getDeclaringClass().getSimpleName(), m.getName()));
+    }
+
+    // indexado pelo Method: no caminho quente não há concatenação de chave nem montagem de tags
+    private static final class OperationTimers {
+
+        private final MeterRegistry registry;
+        private final String name;
+        private final String type;
+        private final String method;
+        private final Timer success;
+        private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        OperationTimers(MeterRegistry registry, String name, String type, String method) {
+            this.registry = registry;
+            this.name = name;
+            this.type = type;
+            this.method = method;
+            this.success = build(SUCCESS);
+        }
+
+        Timer failure(Class<?> exceptionType) {
+            return failures.computeIfAbsent(exceptionType, t -> build(t.getSimpleName()));
+        }
+
+        // histograma em buckets, não percentis no cliente: p50/p99/p999 saem do histogram_quantile e agregam entre instâncias
+        private Timer build(String outcome) {
+            return Timer.builder(name)
+                    .tag("class", type)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_EXPECTED)
+                    .maximumExpectedValue(MAX_EXPECTED)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.coupon.coupon.infrastructure.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface CouponEventSink {
+
+    // lote em ordem de sequence; uma exceção faz o relay reenviar o lote inteiro na próxima execução
+    void publish(List<OutboxMessage> batch) throws IOException;
+}
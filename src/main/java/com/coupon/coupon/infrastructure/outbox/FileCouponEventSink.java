@@ -0,0 +1,63 @@
+package com.coupon.coupon.infrastructure.outbox;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// NDJSON anexado ao arquivo, uma linha por evento; o lote inteiro vai num write e num force,
+// então o que o relay marca como entregue já está no disco. Reenvio após falha pode repetir linhas
+public class FileCouponEventSink implements CouponEventSink {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final Path file;
+
+    public FileCouponEventSink(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(batch.size() * 256);
+        for (OutboxMessage message : batch) {
+            writeLine(buffer, message);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        }
+    }
+
+    private static void writeLine(ByteArrayOutputStream buffer, OutboxMessage message) throws IOException {
+        try (JsonGenerator json = JSON.createGenerator(buffer)) {
+            json.writeStartObject();
+            json.writeNumberField("sequence", message.getSequence());
+            json.writeStringField("type", message.getType().name());
+            json.writeStringField("couponId", message.getCouponId().toString());
+            json.writeStringField("occurredAt", message.getOccurredAt().toString());
+            if (message.getPayload() != null) {
+                // já é JSON: entra como objeto, não como string escapada
+                json.writeFieldName("payload");
+                json.writeRawValue(message.getPayload());
+            }
+            json.writeEndObject();
+        }
+        buffer.write('\n');
+    }
+}
@@ -0,0 +1,23 @@
+package com.coupon.coupon.infrastructure.outbox;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+// cada evento vira um evento de aplicação do Spring: basta um @EventListener de OutboxMessage.
+// Os listeners rodam na thread do relay; exceção num deles reenvia o lote
+public class InProcessCouponEventSink implements CouponEventSink {
+
+    private final ApplicationEventPublisher publisher;
+
+    public InProcessCouponEventSink(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            publisher.publishEvent(message);
+        }
+    }
+}
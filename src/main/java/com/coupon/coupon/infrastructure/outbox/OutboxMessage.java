@@ -0,0 +1,45 @@
+package com.coupon.coupon.infrastructure.outbox;
+
+import com.coupon.coupon.domain.model.CouponEventType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// evento como sai do outbox: sequence é crescente e única, serve de chave de deduplicação para quem consome.
+// payload é o JSON do cupom no CREATED e null nos demais
+public class OutboxMessage {
+
+    private final long sequence;
+    private final CouponEventType type;
+    private final UUID couponId;
+    private final LocalDateTime occurredAt;
+    private final String payload;
+
+    public OutboxMessage(long sequence, CouponEventType type, UUID couponId, LocalDateTime occurredAt, String payload) {
+        this.sequence = sequence;
+        this.type = type;
+        this.couponId = couponId;
+        this.occurredAt = occurredAt;
+        this.payload = payload;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public CouponEventType getType() {
+        return type;
+    }
+
+    public UUID getCouponId() {
+        return couponId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,70 @@
+package com.coupon.coupon.infrastructure.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// limpa o coupon_outbox independente do relay: a tabela também é o change log da invalidação e cresce mesmo sem
+// relay. Entregues saem depois de retention. Linha não entregue só sai por idade (maxAge) quando nenhuma instância
+// entrega eventos (pruneUndispatched): com um relay no ar, apagar pendente quebraria o at-least-once.
+// Pode rodar em todas as instâncias: duas ao mesmo tempo só disputam os mesmos chunks
+public class OutboxPruner {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPruner.class);
+
+    private final OutboxStore store;
+    private final Duration retention;
+    private final Duration maxAge;
+    private final int chunkSize;
+    private final boolean pruneUndispatched;
+    private final Counter pruned;
+
+    public OutboxPruner(OutboxStore store, MeterRegistry registry, Duration retention, Duration maxAge, int chunkSize,
+                        boolean pruneUndispatched) {
+        this.store = store;
+        this.retention = retention;
+        this.maxAge = maxAge;
+        this.chunkSize = chunkSize;
+        this.pruneUndispatched = pruneUndispatched;
+        this.pruned = Counter.builder("coupon.outbox.pruned")
+                .description("Linhas apagadas do outbox após a retenção ou a idade máxima")
+                .register(registry);
+    }
+
+    // chunks curtos até esgotar: cada um é uma transação própria, sem um DELETE gigante segurando locks
+    @Scheduled(fixedDelayString = "${coupon.outbox.prune-interval:PT10M}",
+            initialDelayString = "${coupon.outbox.prune-initial-delay:PT1M}")
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dispatchedCutoff = now.minus(retention);
+        long dispatched = 0;
+        int affected;
+        do {
+            affected = store.pruneDispatchedBefore(dispatchedCutoff, chunkSize);
+            pruned.increment(affected);
+            dispatched += affected;
+        } while (affected == chunkSize);
+        if (dispatched > 0) {
+            log.info("Outbox: {} eventos entregues antes de {} apagados", dispatched, dispatchedCutoff);
+        }
+        if (!pruneUndispatched) {
+            return;
+        }
+
+        LocalDateTime ageCutoff = now.minus(maxAge);
+        long expired = 0;
+        do {
+            affected = store.pruneOccurredBefore(ageCutoff, chunkSize);
+            pruned.increment(affected);
+            expired += affected;
+        } while (affected == chunkSize);
+        if (expired > 0) {
+            log.info("Outbox sem entrega: {} linhas do change log gravadas antes de {} apagadas", expired, ageCutoff);
+        }
+    }
+}
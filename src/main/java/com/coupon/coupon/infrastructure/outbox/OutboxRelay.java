@@ -0,0 +1,85 @@
+package com.coupon.coupon.infrastructure.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// entrega o outbox em lotes na ordem de sequence: publica em todos os sinks e só então marca como entregue.
+// Falha num sink deixa o lote pendente e ele volta inteiro na próxima execução (at-least-once): quem consome
+// deduplica pela sequence. Uma instância por vez deve rodar o relay, senão a ordem entre lotes se perde
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxStore store;
+    private final List<CouponEventSink> sinks;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter dispatched;
+    private final Counter failures;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxStore store, List<CouponEventSink> sinks, MeterRegistry registry,
+                       int batchSize, int maxBatchesPerRun) {
+        this.store = store;
+        this.sinks = List.copyOf(sinks);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.dispatched = Counter.builder("coupon.outbox.dispatched")
+                .description("Eventos de cupom entregues a todos os sinks")
+                .register(registry);
+        this.failures = Counter.builder("coupon.outbox.relay.failures")
+                .description("Lotes do outbox que falharam em algum sink e ficaram para a próxima execução")
+                .register(registry);
+        this.batchTimer = Timer.builder("coupon.outbox.batch")
+                .description("Duração da entrega de cada lote do outbox")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.outbox.relay.interval:PT1S}",
+            initialDelayString = "${coupon.outbox.relay.initial-delay:PT5S}")
+    public void relay() {
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int delivered;
+            try {
+                delivered = dispatchNextBatch();
+            } catch (IOException | RuntimeException ex) {
+                failures.increment();
+                log.warn("Falha ao entregar lote do outbox; nova tentativa na próxima execução", ex);
+                return;
+            }
+            if (delivered < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // retorna quantos eventos o lote entregou; 0 quando não há pendentes
+    public int dispatchNextBatch() throws IOException {
+        List<OutboxMessage> batch = store.fetchPending(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        for (CouponEventSink sink : sinks) {
+            sink.publish(batch);
+        }
+        List<Long> sequences = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            sequences.add(message.getSequence());
+        }
+        store.markDispatched(sequences, LocalDateTime.now());
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        dispatched.increment(batch.size());
+        return batch.size();
+    }
+}
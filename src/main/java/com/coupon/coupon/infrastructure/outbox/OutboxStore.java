@@ -0,0 +1,18 @@
+package com.coupon.coupon.infrastructure.outbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxStore {
+
+    // ainda não entregues, em ordem de sequence
+    List<OutboxMessage> fetchPending(int limit);
+
+    void markDispatched(List<Long> sequences, LocalDateTime now);
+
+    // apaga até limit entregues antes de cutoff e retorna quantos apagou
+    int pruneDispatchedBefore(LocalDateTime cutoff, int limit);
+
+    // apaga até limit gravados antes de cutoff, entregues ou não, e retorna quantos apagou
+    int pruneOccurredBefore(LocalDateTime cutoff, int limit);
+}
@@ -0,0 +1,45 @@
+package com.coupon.coupon.infrastructure.persistence;
+
+import com.coupon.coupon.infrastructure.codegen.CodeBlockLeaser;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// arrenda blocos da sequência de códigos numa transação própria e curta, fora da transação de quem pediu o código
+@Component
+public class CouponCodeSequenceAdapter implements CodeBlockLeaser {
+
+    static final String SEQUENCE = "coupon-code";
+
+    private final CouponCodeSequenceJpaRepository jpaRepository;
+    private final TransactionTemplate newTransaction;
+
+    public CouponCodeSequenceAdapter(CouponCodeSequenceJpaRepository jpaRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.jpaRepository = jpaRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public long lease(int size) {
+        while (true) {
+            Long end = newTransaction.execute(status -> jpaRepository.advance(SEQUENCE, size) == 1
+                    ? jpaRepository.currentValue(SEQUENCE)
+                    : null);
+            if (end != null) {
+                return end - size;
+            }
+            // primeira vez: cria a linha já com o primeiro bloco; se outra instância criou antes, avança a dela
+            try {
+                newTransaction.executeWithoutResult(status ->
+                        jpaRepository.saveAndFlush(new CouponCodeSequenceJpaEntity(SEQUENCE, size)));
+                return 0;
+            } catch (DataIntegrityViolationException ex) {
+                // segue para o UPDATE
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.coupon.coupon.infrastructure.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+// uma linha por sequência; nextValue é o início do próximo bloco a ser arrendado
+@Entity
+@Table(name = "coupon_code_sequence")
+public class CouponCodeSequenceJpaEntity implements Persistable<String> {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false)
+    private long nextValue;
+
+    // sempre INSERT: um merge sobrescreveria a linha criada por outra instância e repetiria blocos
+    @Transient
+    private boolean isNew = true;
+
+    public CouponCodeSequenceJpaEntity() {
+    }
+
+    public CouponCodeSequenceJpaEntity(String name, long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public String getId() {
+        return name;
+    }
+
+    public long getNextValue() {
+        return nextValue;
+    }
+}
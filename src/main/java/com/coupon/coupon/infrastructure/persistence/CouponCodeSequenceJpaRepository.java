@@ -0,0 +1,16 @@
+package com.coupon.coupon.infrastructure.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface CouponCodeSequenceJpaRepository extends JpaRepository<CouponCodeSequenceJpaEntity, String> {
+
+    // o UPDATE trava a linha até o commit: instâncias concorrentes avançam a sequência uma de cada vez
+    @Modifying
+    @Query("update CouponCodeSequenceJpaEntity s set s.nextValue = s.nextValue + :size where s.name = :name")
+    int advance(String name, long size);
+
+    @Query("select s.nextValue from CouponCodeSequenceJpaEntity s where s.name = :name")
+    long currentValue(String name);
+}
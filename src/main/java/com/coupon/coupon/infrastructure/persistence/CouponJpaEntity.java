@@ -3,15 +3,33 @@ package com.coupon.coupon.infrastructure.persistence;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "coupon")
-public class CouponJpaEntity {
+@Table(name = "coupon",
+        uniqueConstraints = @UniqueConstraint(name = CouponJpaEntity.CODE_CONSTRAINT, columnNames = "code"),
+        indexes = {
+                @Index(name = "idx_coupon_expiration_id", columnList = "expirationDate, id"),
+                // deletedAt e expiredAt nulos na frente: o sweeper só percorre o trecho ainda não varrido, e um
+                // cupom deletado (que nunca recebe expiredAt) sai do trecho em vez de ser relido a cada execução
+                @Index(name = "idx_coupon_sweep", columnList = "deletedAt, expiredAt, expirationDate"),
+                // export incremental: range scan em updatedAt já na ordem de saída
+                @Index(name = "idx_coupon_updated_at", columnList = "updatedAt, id")
+        })
+public class CouponJpaEntity implements Persistable<UUID> {
+
+    static final String CODE_CONSTRAINT = "uk_coupon_code";
 
     @Id
     private UUID id;
@@ -37,6 +55,34 @@ public class CouponJpaEntity {
     @Column
     private LocalDateTime deletedAt;
 
+    @Column
+    private LocalDateTime expiredAt;
+
+    // optimistic locking: o UPDATE do dirty checking leva "where version = ?"; os UPDATEs em massa incrementam à mão
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // toda escrita grava o instante, inclusive os UPDATEs condicionais do CouponJpaRepository
+    @Column
+    private LocalDateTime updatedAt;
+
+    // id é gerado no domínio; sem esta marca o save() faria merge (SELECT + INSERT) para todo cupom novo
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
     public UUID getId() {
         return id;
     }
@@ -100,4 +146,28 @@ public class CouponJpaEntity {
     public void setDeletedAt(LocalDateTime deletedAt) {
         this.deletedAt = deletedAt;
     }
+
+    public LocalDateTime getExpiredAt() {
+        return expiredAt;
+    }
+
+    public void setExpiredAt(LocalDateTime expiredAt) {
+        this.expiredAt = expiredAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
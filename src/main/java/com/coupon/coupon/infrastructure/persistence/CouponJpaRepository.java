@@ -1,8 +1,59 @@
 package com.coupon.coupon.infrastructure.persistence;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface CouponJpaRepository extends JpaRepository<CouponJpaEntity, UUID> {
+
+    @Query("select c.id from CouponJpaEntity c where c.code = :code")
+    Optional<UUID> findIdByCode(String code);
+
+    Optional<CouponJpaEntity> findByCode(String code);
+
+    @Query("select c.code from CouponJpaEntity c")
+    Stream<String> streamAllCodes();
+
+    // UPDATE condicional: o próprio banco decide quem resgata, sem leitura prévia nem lock explícito.
+    // Todos os UPDATEs em massa incrementam version, para um read-modify-write concorrente perceber a mudança
+    @Modifying(flushAutomatically = true)
+    @Query("update CouponJpaEntity c set c.redeemed = true, c.updatedAt = :now, c.version = c.version + 1 "
+            + "where c.id = :id and c.redeemed = false and c.deletedAt is null and c.expirationDate > :now")
+    int redeemIfAvailable(UUID id, LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update CouponJpaEntity c set c.deletedAt = :now, c.updatedAt = :now, c.version = c.version + 1 where c.id = :id and c.deletedAt is null")
+    int softDeleteIfActive(UUID id, LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c.id from CouponJpaEntity c where c.id in :ids and c.deletedAt is null")
+    List<UUID> lockActiveIds(Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update CouponJpaEntity c set c.deletedAt = :now, c.updatedAt = :now, c.version = c.version + 1 where c.id in :ids and c.deletedAt is null")
+    int softDeleteAllIfActive(Collection<UUID> ids, LocalDateTime now);
+
+    // seek em idx_coupon_sweep (deletedAt, expiredAt, expirationDate): os dois nulos fixam o prefixo
+    @Query("select c.id from CouponJpaEntity c where c.deletedAt is null and c.expiredAt is null "
+            + "and c.expirationDate <= :now order by c.expirationDate")
+    List<UUID> findIdsToExpire(LocalDateTime now, Limit limit);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update CouponJpaEntity c set c.expiredAt = :now, c.updatedAt = :now, c.version = c.version + 1 where c.id in :ids and c.expiredAt is null")
+    int markExpired(Collection<UUID> ids, LocalDateTime now);
+
+    // percorre idx_coupon_expiration_id; linhas já deletadas saem do predicado, então cada chunk começa do início
+    @Query("select c.id from CouponJpaEntity c where c.deletedAt is null and c.expirationDate < :cutoff "
+            + "order by c.expirationDate, c.id")
+    List<UUID> findActiveIdsExpiringBefore(LocalDateTime cutoff, Limit limit);
 }
@@ -0,0 +1,131 @@
+package com.coupon.coupon.infrastructure.persistence;
+
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponEvent;
+import com.coupon.coupon.domain.repository.CouponOutbox;
+import com.coupon.coupon.infrastructure.invalidation.CouponChange;
+import com.coupon.coupon.infrastructure.invalidation.CouponChangeLog;
+import com.coupon.coupon.infrastructure.outbox.OutboxMessage;
+import com.coupon.coupon.infrastructure.outbox.OutboxStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// escrita pelos casos de uso, sempre dentro da transação deles; leitura e limpeza pelo relay, em transações curtas próprias.
+// A mesma tabela é o change log da invalidação entre instâncias: já tem sequence crescente e cobre toda escrita
+@Component
+public class CouponOutboxAdapter implements CouponOutbox, OutboxStore, CouponChangeLog {
+
+    private final CouponOutboxJpaRepository jpaRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public CouponOutboxAdapter(CouponOutboxJpaRepository jpaRepository, ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager) {
+        this.jpaRepository = jpaRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // MANDATORY: gravar o evento fora da transação do cupom quebraria a garantia do outbox
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(CouponEvent event) {
+        jpaRepository.save(toEntity(event));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<CouponEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<CouponOutboxJpaEntity> entities = new ArrayList<>(events.size());
+        for (CouponEvent event : events) {
+            entities.add(toEntity(event));
+        }
+        jpaRepository.saveAll(entities);
+    }
+
+    @Override
+    public List<OutboxMessage> fetchPending(int limit) {
+        List<CouponOutboxJpaEntity> pending = jpaRepository.findPending(Limit.of(limit));
+        List<OutboxMessage> messages = new ArrayList<>(pending.size());
+        for (CouponOutboxJpaEntity entity : pending) {
+            messages.add(new OutboxMessage(entity.getSequence(), entity.getEventType(), entity.getCouponId(),
+                    entity.getOccurredAt(), entity.getPayload()));
+        }
+        return messages;
+    }
+
+    @Override
+    public void markDispatched(List<Long> sequences, LocalDateTime now) {
+        if (!sequences.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jpaRepository.markDispatched(sequences, now));
+        }
+    }
+
+    // seleção limitada e DELETE pelos ids: cada chunk é uma transação curta, sem varrer a tabela inteira
+    @Override
+    public int pruneDispatchedBefore(LocalDateTime cutoff, int limit) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = jpaRepository.findIdsDispatchedBefore(cutoff, Limit.of(limit));
+            return ids.isEmpty() ? 0 : jpaRepository.deleteAllByIds(ids);
+        });
+    }
+
+    @Override
+    public int pruneOccurredBefore(LocalDateTime cutoff, int limit) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = jpaRepository.findIdsOccurredBefore(cutoff, Limit.of(limit));
+            return ids.isEmpty() ? 0 : jpaRepository.deleteAllByIds(ids);
+        });
+    }
+
+    @Override
+    public long lastSequence() {
+        return jpaRepository.findLastSequence();
+    }
+
+    @Override
+    public List<CouponChange> findAfter(long sequence, int limit) {
+        return jpaRepository.findChangesAfter(sequence, Limit.of(limit));
+    }
+
+    @Override
+    public List<CouponChange> findBySequences(Collection<Long> sequences) {
+        return sequences.isEmpty() ? List.of() : jpaRepository.findChangesBySequences(sequences);
+    }
+
+    private CouponOutboxJpaEntity toEntity(CouponEvent event) {
+        return new CouponOutboxJpaEntity(event.getType(), event.getCouponId(), event.getOccurredAt(),
+                event.getCoupon() == null ? null : payload(event.getCoupon()));
+    }
+
+    private String payload(Coupon coupon) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("id", coupon.getId());
+        fields.put("code", coupon.getCode());
+        fields.put("description", coupon.getDescription());
+        fields.put("discountValue", coupon.getDiscountValue());
+        fields.put("expirationDate", coupon.getExpirationDate());
+        fields.put("published", coupon.isPublished());
+        try {
+            return objectMapper.writeValueAsString(fields);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Falha ao serializar o evento do cupom " + coupon.getId(), ex);
+        }
+    }
+}
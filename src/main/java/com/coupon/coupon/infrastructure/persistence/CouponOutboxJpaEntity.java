@@ -0,0 +1,101 @@
+package com.coupon.coupon.infrastructure.persistence;
+
+import com.coupon.coupon.domain.model.CouponEventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// id de uma sequence em blocos: o Hibernate já sabe o id antes do INSERT e agrupa os eventos em batch JDBC.
+// A ordem não pode vir dele (cada instância usa o seu bloco), então sequence é atribuída pelo banco no INSERT:
+// dois eventos do mesmo cupom ficam na ordem em que aconteceram, mesmo vindo de instâncias diferentes
+@Entity
+@Table(name = "coupon_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_coupon_outbox_sequence", columnNames = "sequence_number"),
+        indexes = {
+                @Index(name = "idx_coupon_outbox_dispatched", columnList = "dispatchedAt, sequence_number"),
+                // limpeza por idade, entregue ou não: o change log não depende do relay
+                @Index(name = "idx_coupon_outbox_occurred_at", columnList = "occurredAt")
+        })
+public class CouponOutboxJpaEntity {
+
+    // igual a hibernate.jdbc.batch_size: um lote de eventos consome um bloco só
+    static final int ID_ALLOCATION_SIZE = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coupon_outbox_id")
+    @SequenceGenerator(name = "coupon_outbox_id", sequenceName = "coupon_outbox_id_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
+    private Long id;
+
+    // fora do INSERT do Hibernate para não virar IDENTITY de novo; lida só pelas consultas do relay e do change log
+    @Column(name = "sequence_number", insertable = false, updatable = false,
+            columnDefinition = "bigint generated by default as identity")
+    private Long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CouponEventType eventType;
+
+    @Column(nullable = false)
+    private UUID couponId;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    // descrição de até 2000 caracteres com escapes ainda cabe
+    @Column(length = 16000)
+    private String payload;
+
+    // null até o relay entregar a todos os sinks
+    @Column
+    private LocalDateTime dispatchedAt;
+
+    public CouponOutboxJpaEntity() {
+    }
+
+    public CouponOutboxJpaEntity(CouponEventType eventType, UUID couponId, LocalDateTime occurredAt, String payload) {
+        this.eventType = eventType;
+        this.couponId = couponId;
+        this.occurredAt = occurredAt;
+        this.payload = payload;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public CouponEventType getEventType() {
+        return eventType;
+    }
+
+    public UUID getCouponId() {
+        return couponId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getDispatchedAt() {
+        return dispatchedAt;
+    }
+}
@@ -0,0 +1,44 @@
+package com.coupon.coupon.infrastructure.persistence;
+
+import com.coupon.coupon.infrastructure.invalidation.CouponChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface CouponOutboxJpaRepository extends JpaRepository<CouponOutboxJpaEntity, Long> {
+
+    // dispatchedAt nulo na frente do índice: só o trecho pendente é percorrido, já em ordem de sequence
+    @Query("select o from CouponOutboxJpaEntity o where o.dispatchedAt is null order by o.sequence")
+    List<CouponOutboxJpaEntity> findPending(Limit limit);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update CouponOutboxJpaEntity o set o.dispatchedAt = :now where o.sequence in :sequences and o.dispatchedAt is null")
+    int markDispatched(Collection<Long> sequences, LocalDateTime now);
+
+    @Query("select o.id from CouponOutboxJpaEntity o where o.dispatchedAt < :cutoff order by o.dispatchedAt")
+    List<Long> findIdsDispatchedBefore(LocalDateTime cutoff, Limit limit);
+
+    @Query("select o.id from CouponOutboxJpaEntity o where o.occurredAt < :cutoff order by o.occurredAt")
+    List<Long> findIdsOccurredBefore(LocalDateTime cutoff, Limit limit);
+
+    @Modifying
+    @Query("delete from CouponOutboxJpaEntity o where o.id in :ids")
+    int deleteAllByIds(Collection<Long> ids);
+
+    @Query("select coalesce(max(o.sequence), 0) from CouponOutboxJpaEntity o")
+    long findLastSequence();
+
+    // só id e cupom: o poll de invalidação não carrega payload
+    @Query("select new com.coupon.coupon.infrastructure.invalidation.CouponChange(o.sequence, o.couponId) "
+            + "from CouponOutboxJpaEntity o where o.sequence > :sequence order by o.sequence")
+    List<CouponChange> findChangesAfter(long sequence, Limit limit);
+
+    @Query("select new com.coupon.coupon.infrastructure.invalidation.CouponChange(o.sequence, o.couponId) "
+            + "from CouponOutboxJpaEntity o where o.sequence in :sequences")
+    List<CouponChange> findChangesBySequences(Collection<Long> sequences);
+}
@@ -1,26 +1,152 @@
 package com.coupon.coupon.infrastructure.persistence;
 
+import com.coupon.coupon.domain.exception.CouponNotFoundException;
+import com.coupon.coupon.domain.exception.DuplicateCouponCodeException;
 import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.repository.CouponFilter;
+import com.coupon.coupon.domain.repository.CouponKeyset;
 import com.coupon.coupon.domain.repository.CouponRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component
 public class CouponRepositoryAdapter implements CouponRepository {
 
     private final CouponJpaRepository jpaRepository;
+    private final EntityManager entityManager;
+    private final int streamFetchSize;
+    private final int exportFetchSize;
 
-    public CouponRepositoryAdapter(CouponJpaRepository jpaRepository) {
+    public CouponRepositoryAdapter(CouponJpaRepository jpaRepository, EntityManager entityManager,
+                                   @Value("${coupon.query.stream-fetch-size:500}") int streamFetchSize,
+                                   @Value("${coupon.export.fetch-size:1000}") int exportFetchSize) {
         this.jpaRepository = jpaRepository;
+        this.entityManager = entityManager;
+        this.streamFetchSize = streamFetchSize;
+        this.exportFetchSize = exportFetchSize;
     }
 
     @Override
     public Coupon save(Coupon coupon) {
         CouponJpaEntity entity = toEntity(coupon);
-        CouponJpaEntity saved = jpaRepository.save(entity);
-        return toDomain(saved);
+        entity.setUpdatedAt(LocalDateTime.now());
+        try {
+            // flush imediato para a violação do índice único aparecer aqui, e não no commit
+            CouponJpaEntity saved = jpaRepository.saveAndFlush(entity);
+            return toDomain(saved);
+        } catch (DataIntegrityViolationException ex) {
+            if (isDuplicateCode(ex)) {
+                throw DuplicateCouponCodeException.forCode(coupon.getCode());
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public List<Coupon> saveAll(List<Coupon> coupons) {
+        List<CouponJpaEntity> entities = new ArrayList<>(coupons.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Coupon coupon : coupons) {
+            CouponJpaEntity entity = toEntity(coupon);
+            entity.setUpdatedAt(now);
+            entities.add(entity);
+        }
+        try {
+            // o flush envia os INSERTs agrupados em batches de hibernate.jdbc.batch_size
+            List<CouponJpaEntity> saved = jpaRepository.saveAllAndFlush(entities);
+            List<Coupon> result = new ArrayList<>(saved.size());
+            for (CouponJpaEntity entity : saved) {
+                result.add(toDomain(entity));
+            }
+            return result;
+        } catch (DataIntegrityViolationException ex) {
+            if (isDuplicateCode(ex)) {
+                throw new DuplicateCouponCodeException("Um ou mais códigos do lote já existem.");
+            }
+            throw ex;
+        }
+    }
+
+    // entidade gerenciada recebe o estado do domínio. A versão lida por quem chama precisa ser a atual, e o flush
+    // confere de novo com "where version = ?", pegando quem gravou entre a leitura e o UPDATE
+    @Override
+    public Coupon update(Coupon coupon) {
+        CouponJpaEntity entity = jpaRepository.findById(coupon.getId())
+                .orElseThrow(() -> CouponNotFoundException.forId(coupon.getId()));
+        if (entity.getVersion() != coupon.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(CouponJpaEntity.class, coupon.getId());
+        }
+        entity.setDescription(coupon.getDescription());
+        entity.setDiscountValue(coupon.getDiscountValue());
+        entity.setExpirationDate(coupon.getExpirationDate());
+        entity.setPublished(coupon.isPublished());
+        entity.setRedeemed(coupon.isRedeemed());
+        entity.setDeletedAt(coupon.getDeletedAt());
+        entity.setExpiredAt(coupon.getExpiredAt());
+        entity.setUpdatedAt(LocalDateTime.now());
+        return toDomain(jpaRepository.saveAndFlush(entity));
+    }
+
+    @Override
+    public boolean redeem(UUID id, LocalDateTime now) {
+        return jpaRepository.redeemIfAvailable(id, now) == 1;
+    }
+
+    @Override
+    public boolean softDelete(UUID id, LocalDateTime now) {
+        return jpaRepository.softDeleteIfActive(id, now) == 1;
+    }
+
+    @Override
+    public List<UUID> softDeleteAll(List<UUID> ids, LocalDateTime now) {
+        // os ids travados são exatamente os que o UPDATE vai afetar: quem chama sabe quais cupons deletou
+        List<UUID> active = jpaRepository.lockActiveIds(ids);
+        if (!active.isEmpty()) {
+            jpaRepository.softDeleteAllIfActive(active, now);
+        }
+        return active;
+    }
+
+    @Override
+    public List<UUID> findIdsExpiredBefore(LocalDateTime cutoff, int limit) {
+        return jpaRepository.findActiveIdsExpiringBefore(cutoff, Limit.of(limit));
+    }
+
+    @Override
+    public List<UUID> findIdsToExpire(LocalDateTime now, int limit) {
+        return jpaRepository.findIdsToExpire(now, Limit.of(limit));
+    }
+
+    @Override
+    public int markExpired(List<UUID> ids, LocalDateTime now) {
+        return jpaRepository.markExpired(ids, now);
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return jpaRepository.existsById(id);
     }
 
     @Override
@@ -28,7 +154,135 @@ public class CouponRepositoryAdapter implements CouponRepository {
         return jpaRepository.findById(id).map(this::toDomain);
     }
 
-    private CouponJpaEntity toEntity(Coupon coupon) {
+    @Override
+    public Optional<Coupon> findByCode(String code) {
+        return jpaRepository.findByCode(code).map(this::toDomain);
+    }
+
+    @Override
+    public List<Coupon> findAllById(Collection<UUID> ids) {
+        List<CouponJpaEntity> entities = jpaRepository.findAllById(ids);
+        List<Coupon> result = new ArrayList<>(entities.size());
+        for (CouponJpaEntity entity : entities) {
+            result.add(toDomain(entity));
+        }
+        return result;
+    }
+
+    @Override
+    public List<Coupon> findPage(CouponFilter filter, CouponKeyset after, int limit) {
+        List<CouponJpaEntity> entities = entityManager.createQuery(selectOrdered(filter, after))
+                .setMaxResults(limit)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultList();
+        List<Coupon> page = new ArrayList<>(entities.size());
+        for (CouponJpaEntity entity : entities) {
+            page.add(toDomain(entity));
+        }
+        return page;
+    }
+
+    // cada linha é desanexada após o mapeamento para o contexto de persistência não crescer com o resultado
+    @Override
+    public void streamAll(CouponFilter filter, Consumer<Coupon> consumer) {
+        try (Stream<CouponJpaEntity> rows = entityManager.createQuery(selectOrdered(filter, null))
+                .setHint(AvailableHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            rows.forEach(entity -> {
+                consumer.accept(toDomain(entity));
+                entityManager.detach(entity);
+            });
+        }
+    }
+
+    // sem ORDER BY no export completo (varredura da tabela, sem sort); o incremental segue idx_coupon_updated_at.
+    // O contexto é limpo a cada fetch: no máximo um lote de entidades gerenciadas, qualquer que seja o tamanho da tabela
+    @Override
+    public void streamForExport(LocalDateTime changedSince, Consumer<Coupon> consumer) {
+        TypedQuery<CouponJpaEntity> query = changedSince == null
+                ? entityManager.createQuery("select c from CouponJpaEntity c", CouponJpaEntity.class)
+                : entityManager.createQuery("select c from CouponJpaEntity c where c.updatedAt >= :changedSince "
+                        + "order by c.updatedAt, c.id", CouponJpaEntity.class)
+                .setParameter("changedSince", changedSince);
+        try (Stream<CouponJpaEntity> rows = query
+                .setHint(AvailableHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            int[] sinceClear = {0};
+            rows.forEach(entity -> {
+                consumer.accept(toDomain(entity));
+                if (++sinceClear[0] == exportFetchSize) {
+                    entityManager.clear();
+                    sinceClear[0] = 0;
+                }
+            });
+        }
+    }
+
+    private CriteriaQuery<CouponJpaEntity> selectOrdered(CouponFilter filter, CouponKeyset after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CouponJpaEntity> query = cb.createQuery(CouponJpaEntity.class);
+        Root<CouponJpaEntity> coupon = query.from(CouponJpaEntity.class);
+        Path<LocalDateTime> expirationDate = coupon.get("expirationDate");
+        Path<UUID> id = coupon.get("id");
+
+        List<Predicate> predicates = filterPredicates(cb, coupon, filter);
+        if (after != null) {
+            // seek em (expirationDate, id), servido pelo índice idx_coupon_expiration_id
+            predicates.add(cb.or(
+                    cb.greaterThan(expirationDate, after.getExpirationDate()),
+                    cb.and(cb.equal(expirationDate, after.getExpirationDate()), cb.greaterThan(id, after.getId()))));
+        }
+        return query.select(coupon)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(expirationDate), cb.asc(id));
+    }
+
+    private static List<Predicate> filterPredicates(CriteriaBuilder cb, Root<CouponJpaEntity> coupon, CouponFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        Path<LocalDateTime> expirationDate = coupon.get("expirationDate");
+        Path<LocalDateTime> deletedAt = coupon.get("deletedAt");
+        if (filter.getStatus() != null) {
+            LocalDateTime now = LocalDateTime.now();
+            switch (filter.getStatus()) {
+                case ACTIVE -> {
+                    predicates.add(cb.isNull(deletedAt));
+                    predicates.add(cb.greaterThan(expirationDate, now));
+                }
+                case EXPIRED -> {
+                    predicates.add(cb.isNull(deletedAt));
+                    predicates.add(cb.lessThanOrEqualTo(expirationDate, now));
+                }
+                case DELETED -> predicates.add(cb.isNotNull(deletedAt));
+            }
+        }
+        if (filter.getPublished() != null) {
+            predicates.add(cb.equal(coupon.get("published"), filter.getPublished()));
+        }
+        if (filter.getExpiresFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(expirationDate, filter.getExpiresFrom()));
+        }
+        if (filter.getExpiresTo() != null) {
+            predicates.add(cb.lessThan(expirationDate, filter.getExpiresTo()));
+        }
+        return predicates;
+    }
+
+    // só o índice único do código vira 409; NOT NULL, tamanho etc. sobem como erro interno.
+    // O nome vem do dialeto e pode trazer schema e sufixo (H2: "PUBLIC.UK_COUPON_CODE_INDEX_7 ON ...")
+    private static boolean isDuplicateCode(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraint = violation.getConstraintName();
+                return constraint != null
+                        && constraint.toLowerCase(Locale.ROOT).contains(CouponJpaEntity.CODE_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+
+    CouponJpaEntity toEntity(Coupon coupon) {
         CouponJpaEntity entity = new CouponJpaEntity();
         entity.setId(coupon.getId());
         entity.setCode(coupon.getCode());
@@ -38,10 +292,12 @@ public class CouponRepositoryAdapter implements CouponRepository {
         entity.setPublished(coupon.isPublished());
         entity.setRedeemed(coupon.isRedeemed());
         entity.setDeletedAt(coupon.getDeletedAt());
+        entity.setExpiredAt(coupon.getExpiredAt());
+        entity.setVersion(coupon.getVersion());
         return entity;
     }
 
-    private Coupon toDomain(CouponJpaEntity entity) {
+    Coupon toDomain(CouponJpaEntity entity) {
         Coupon coupon = new Coupon();
         coupon.setId(entity.getId());
         coupon.setCode(entity.getCode());
@@ -51,6 +307,9 @@ public class CouponRepositoryAdapter implements CouponRepository {
         coupon.setPublished(entity.isPublished());
         coupon.setRedeemed(entity.isRedeemed());
         coupon.setDeletedAt(entity.getDeletedAt());
+        coupon.setExpiredAt(entity.getExpiredAt());
+        coupon.setUpdatedAt(entity.getUpdatedAt());
+        coupon.setVersion(entity.getVersion());
         return coupon;
     }
 }
@@ -0,0 +1,298 @@
+package com.coupon.coupon.infrastructure.readmodel;
+
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponStatus;
+import com.coupon.coupon.domain.repository.CouponFilter;
+import com.coupon.coupon.domain.repository.CouponInvalidationBus;
+import com.coupon.coupon.domain.repository.CouponKeyset;
+import com.coupon.coupon.domain.repository.CouponReadModel;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+// três índices sobre o mesmo registro imutável: por id, por código e ordenado por (expirationDate, id) para as
+// listagens. Cada alteração passa pelo compute do id, então operações no mesmo cupom não se intercalam.
+// Expiração não precisa de evento: os vencidos ficam no começo da ordem e a leitura os descarta
+@Component
+public class InMemoryCouponReadModel implements CouponReadModel, SmartInitializingSingleton, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryCouponReadModel.class);
+
+    // mesma ordem de UUID do H2 (sem sinal), para o cursor valer igual no banco e aqui
+    private static final Comparator<Entry> BY_EXPIRATION = (a, b) -> {
+        int byDate = a.expirationDate.compareTo(b.expirationDate);
+        if (byDate != 0) {
+            return byDate;
+        }
+        int high = Long.compareUnsigned(a.id.getMostSignificantBits(), b.id.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.id.getLeastSignificantBits(), b.id.getLeastSignificantBits());
+    };
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+
+    private final CouponRepository couponRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ConcurrentMap<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry> byCode = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> byExpiration = new ConcurrentSkipListSet<>(BY_EXPIRATION);
+
+    public InMemoryCouponReadModel(CouponRepository couponRepository, CouponInvalidationBus invalidationBus,
+                                   PlatformTransactionManager transactionManager) {
+        this.couponRepository = couponRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        invalidationBus.subscribe(this::onInvalidated);
+    }
+
+    // carga inicial antes de o servidor aceitar requisições; o cursor do adapter não acumula entidades
+    @Override
+    public void afterSingletonsInstantiated() {
+        CouponFilter active = new CouponFilter(CouponStatus.ACTIVE, null, null, null);
+        readOnlyTransaction.executeWithoutResult(status -> couponRepository.streamAll(active, this::apply));
+        log.info("Read model carregado com {} cupons ativos", byId.size());
+    }
+
+    @Override
+    public void put(Coupon coupon) {
+        Entry entry = Entry.of(coupon);
+        afterCommit(() -> apply(entry));
+    }
+
+    @Override
+    public void markRedeemed(UUID id) {
+        afterCommit(() -> byId.computeIfPresent(id, (key, current) -> replace(current, current.asRedeemed())));
+    }
+
+    @Override
+    public void remove(UUID id) {
+        afterCommit(() -> evict(id));
+    }
+
+    @Override
+    public void removeAll(Collection<UUID> ids) {
+        List<UUID> copy = List.copyOf(ids);
+        afterCommit(() -> copy.forEach(this::evict));
+    }
+
+    @Override
+    public Optional<Coupon> findById(UUID id) {
+        return active(byId.get(id), LocalDateTime.now());
+    }
+
+    @Override
+    public Optional<Coupon> findByCode(String code) {
+        return active(byCode.get(code), LocalDateTime.now());
+    }
+
+    @Override
+    public List<Coupon> findPage(CouponFilter filter, CouponKeyset after, int limit) {
+        List<Coupon> page = new ArrayList<>(Math.min(limit, 64));
+        scan(filter, after, page::add, limit);
+        return page;
+    }
+
+    @Override
+    public void forEach(CouponFilter filter, Consumer<Coupon> consumer) {
+        scan(filter, null, consumer, Integer.MAX_VALUE);
+    }
+
+    int size() {
+        return byId.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("coupon.read_model.size", byId, ConcurrentMap::size)
+                .description("Cupons ativos na projeção em memória")
+                .register(registry);
+    }
+
+    // escritas locais já chegaram pelo afterCommit. As demais são relidas do banco em lote; uma releitura que
+    // cruza com escrita local mais nova é corrigida quando o change log trouxer essa escrita
+    private void onInvalidated(Set<UUID> ids, boolean local) {
+        if (local) {
+            return;
+        }
+        List<Coupon> current = readOnlyTransaction.execute(status -> couponRepository.findAllById(ids));
+        LocalDateTime now = LocalDateTime.now();
+        Set<UUID> gone = new HashSet<>(ids);
+        for (Coupon coupon : current) {
+            if (coupon.getDeletedAt() == null && coupon.getExpiredAt() == null && coupon.getExpirationDate().isAfter(now)) {
+                apply(Entry.of(coupon));
+                gone.remove(coupon.getId());
+            }
+        }
+        gone.forEach(this::evict);
+    }
+
+    // seek no índice ordenado a partir do maior limite inferior; expiresTo encerra a varredura
+    private void scan(CouponFilter filter, CouponKeyset after, Consumer<Coupon> consumer, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        evictExpired(now);
+        // expirationDate > now; com o maior id possível, o probe fica depois de tudo que vence exatamente em now
+        Entry from = Entry.probe(now, MAX_ID);
+        boolean inclusive = false;
+        if (filter.getExpiresFrom() != null && filter.getExpiresFrom().isAfter(now)) {
+            from = Entry.probe(filter.getExpiresFrom(), MIN_ID);
+            inclusive = true;
+        }
+        if (after != null) {
+            Entry cursor = Entry.probe(after.getExpirationDate(), after.getId());
+            if (BY_EXPIRATION.compare(cursor, from) >= 0) {
+                from = cursor;
+                inclusive = false;
+            }
+        }
+        int emitted = 0;
+        for (Entry entry : byExpiration.tailSet(from, inclusive)) {
+            if (emitted == limit || filter.getExpiresTo() != null && !entry.expirationDate.isBefore(filter.getExpiresTo())) {
+                return;
+            }
+            if (filter.getPublished() != null && entry.published != filter.getPublished()) {
+                continue;
+            }
+            consumer.accept(entry.toCoupon());
+            emitted++;
+        }
+    }
+
+    // os vencidos estão no começo da ordem: remove até o primeiro ainda ativo
+    private void evictExpired(LocalDateTime now) {
+        for (Entry entry : byExpiration) {
+            if (entry.expirationDate.isAfter(now)) {
+                return;
+            }
+            evict(entry.id);
+            byExpiration.remove(entry);
+        }
+    }
+
+    private void apply(Coupon coupon) {
+        if (coupon.getDeletedAt() == null && coupon.getExpiredAt() == null) {
+            apply(Entry.of(coupon));
+        }
+    }
+
+    private void apply(Entry entry) {
+        byId.compute(entry.id, (key, current) -> replace(current, entry));
+    }
+
+    private void evict(UUID id) {
+        byId.computeIfPresent(id, (key, current) -> {
+            unindex(current);
+            return null;
+        });
+    }
+
+    // chamado dentro do compute do id
+    private Entry replace(Entry current, Entry next) {
+        if (current != null) {
+            unindex(current);
+        }
+        byCode.put(next.code, next);
+        byExpiration.add(next);
+        return next;
+    }
+
+    private void unindex(Entry entry) {
+        byCode.remove(entry.code, entry);
+        byExpiration.remove(entry);
+    }
+
+    private static Optional<Coupon> active(Entry entry, LocalDateTime now) {
+        return entry == null || !entry.expirationDate.isAfter(now) ? Optional.empty() : Optional.of(entry.toCoupon());
+    }
+
+    // rollback não chega à projeção; o commit chega na ordem em que as transações terminam
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    // só o que um cupom ativo precisa: deletedAt e expiredAt são sempre null aqui. version vai junto para um
+    // read-modify-write que parte da projeção gravar pelo update sem conflito falso
+    private static final class Entry {
+
+        private final UUID id;
+        private final String code;
+        private final String description;
+        private final BigDecimal discountValue;
+        private final LocalDateTime expirationDate;
+        private final boolean published;
+        private final boolean redeemed;
+        private final long version;
+
+        private Entry(UUID id, String code, String description, BigDecimal discountValue,
+                      LocalDateTime expirationDate, boolean published, boolean redeemed, long version) {
+            this.id = id;
+            this.code = code;
+            this.description = description;
+            this.discountValue = discountValue;
+            this.expirationDate = expirationDate;
+            this.published = published;
+            this.redeemed = redeemed;
+            this.version = version;
+        }
+
+        static Entry of(Coupon coupon) {
+            return new Entry(coupon.getId(), coupon.getCode(), coupon.getDescription(), coupon.getDiscountValue(),
+                    coupon.getExpirationDate(), coupon.isPublished(), coupon.isRedeemed(), coupon.getVersion());
+        }
+
+        static Entry probe(LocalDateTime expirationDate, UUID id) {
+            return new Entry(id, null, null, null, expirationDate, false, false, 0);
+        }
+
+        // o UPDATE do resgate incrementa a versão no banco
+        Entry asRedeemed() {
+            return new Entry(id, code, description, discountValue, expirationDate, published, true, version + 1);
+        }
+
+        // cópia nova a cada leitura: Coupon é mutável e não pode vazar o estado da projeção
+        Coupon toCoupon() {
+            Coupon coupon = new Coupon();
+            coupon.setId(id);
+            coupon.setCode(code);
+            coupon.setDescription(description);
+            coupon.setDiscountValue(discountValue);
+            coupon.setExpirationDate(expirationDate);
+            coupon.setPublished(published);
+            coupon.setRedeemed(redeemed);
+            coupon.setVersion(version);
+            return coupon;
+        }
+    }
+}
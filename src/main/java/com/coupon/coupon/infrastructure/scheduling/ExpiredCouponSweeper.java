@@ -0,0 +1,84 @@
+package com.coupon.coupon.infrastructure.scheduling;
+
+import com.coupon.coupon.application.expire.ExpireCouponsUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// marca expiredAt em chunks curtos; a pausa entre chunks limita a taxa de escrita no banco
+public class ExpiredCouponSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiredCouponSweeper.class);
+
+    private final ExpireCouponsUseCase expireCouponsUseCase;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final Duration pauseBetweenChunks;
+    private final Counter expired;
+    private final Timer chunkTimer;
+    private final AtomicLong lastRunExpired = new AtomicLong();
+    private final AtomicLong lastRunEpochSeconds = new AtomicLong();
+
+    public ExpiredCouponSweeper(ExpireCouponsUseCase expireCouponsUseCase, MeterRegistry registry,
+                                int chunkSize, int maxChunksPerRun, Duration pauseBetweenChunks) {
+        this.expireCouponsUseCase = expireCouponsUseCase;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.pauseBetweenChunks = pauseBetweenChunks;
+        this.expired = Counter.builder("coupon.sweeper.expired")
+                .description("Cupons marcados como expirados pelo sweeper")
+                .register(registry);
+        this.chunkTimer = Timer.builder("coupon.sweeper.chunk")
+                .description("Duração de cada chunk do sweeper")
+                .register(registry);
+        Gauge.builder("coupon.sweeper.last.run.expired", lastRunExpired, AtomicLong::get)
+                .description("Cupons expirados na última execução")
+                .register(registry);
+        Gauge.builder("coupon.sweeper.last.run.timestamp", lastRunEpochSeconds, AtomicLong::get)
+                .description("Fim da última execução (epoch seconds)")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${coupon.sweeper.interval:PT1M}", initialDelayString = "${coupon.sweeper.initial-delay:PT30S}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        long total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            long start = System.nanoTime();
+            int affected = expireCouponsUseCase.expireNextChunk(now, chunkSize);
+            chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            expired.increment(affected);
+            total += affected;
+            if (affected < chunkSize || !pause()) {
+                break;
+            }
+        }
+        lastRunExpired.set(total);
+        lastRunEpochSeconds.set(System.currentTimeMillis() / 1000);
+        if (total > 0) {
+            log.info("Sweeper marcou {} cupons como expirados", total);
+        }
+    }
+
+    private boolean pause() {
+        if (pauseBetweenChunks.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseBetweenChunks.toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.coupon.coupon.infrastructure.uniqueness;
+
+import com.coupon.coupon.domain.repository.CouponCodeRegistry;
+import com.coupon.coupon.infrastructure.persistence.CouponJpaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+// índice code -> id em memória com filtro de Bloom na frente; o índice único no banco continua sendo a garantia final.
+// O mapa só guarda reservas em voo: depois do commit o código está no filtro e no banco, e a entrada sai
+@Component
+public class InMemoryCouponCodeRegistry implements CouponCodeRegistry, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryCouponCodeRegistry.class);
+
+    private final CouponJpaRepository jpaRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CodeBloomFilter knownCodes;
+    private final ConcurrentMap<String, UUID> owners = new ConcurrentHashMap<>();
+
+    public InMemoryCouponCodeRegistry(CouponJpaRepository jpaRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${coupon.code-index.expected-codes:1000000}") long expectedCodes,
+                                      @Value("${coupon.code-index.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jpaRepository = jpaRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.knownCodes = new CodeBloomFilter(expectedCodes, falsePositiveRate);
+    }
+
+    // só o filtro recebe os códigos existentes; o mapa guarda os códigos vistos por esta instância
+    @Override
+    public void afterSingletonsInstantiated() {
+        long loaded = readOnlyTransaction.execute(status -> {
+            long[] count = {0};
+            try (Stream<String> codes = jpaRepository.streamAllCodes()) {
+                codes.forEach(code -> {
+                    knownCodes.put(code);
+                    count[0]++;
+                });
+            }
+            return count[0];
+        });
+        log.info("Índice de códigos carregado com {} códigos", loaded);
+    }
+
+    @Override
+    public boolean reserve(String code, UUID id) {
+        UUID owner = owners.putIfAbsent(code, id);
+        if (owner != null) {
+            return owner.equals(id);
+        }
+        // negativo do filtro dispensa a ida ao banco
+        if (knownCodes.mightContain(code)) {
+            Optional<UUID> persistedOwner = jpaRepository.findIdByCode(code);
+            if (persistedOwner.isPresent()) {
+                owners.remove(code, id);
+                return false;
+            }
+        }
+        knownCodes.put(code);
+        releaseOnCompletion(code, id);
+        return true;
+    }
+
+    @Override
+    public void release(String code, UUID id) {
+        owners.remove(code, id);
+    }
+
+    int size() {
+        return owners.size();
+    }
+
+    // commit ou rollback, a reserva acaba com a transação: commitado, quem barra o próximo é o filtro mais o banco.
+    // Fora de transação quem reservou libera
+    private void releaseOnCompletion(String code, UUID id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(code, id);
+            }
+        });
+    }
+}
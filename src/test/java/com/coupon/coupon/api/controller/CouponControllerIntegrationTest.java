@@ -1,6 +1,8 @@
 package com.coupon.coupon.api.controller;
 
 import com.coupon.api.ApiApplication;
+import com.coupon.coupon.api.response.CouponResponse;
+import com.coupon.coupon.domain.model.CouponStatus;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,11 +15,18 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -53,6 +62,28 @@ class CouponControllerIntegrationTest {
                 .andExpect(jsonPath("$.status").value("ACTIVE"));
     }
 
+    @Test
+    @DisplayName("POST /coupons responde com o mesmo JSON que o ObjectMapper do Spring geraria")
+    void createResponseMatchesSpringObjectMapper() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "code", "JSN001",
+                "description", "Desconto \"ação\" 10% \\ teste",
+                "discountValue", 2.50,
+                "expirationDate", "2085-03-04T05:06:07.5"
+        ));
+
+        byte[] written = mockMvc.perform(post("/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists("Content-Length"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        CouponResponse parsed = objectMapper.readValue(written, CouponResponse.class);
+        assertThat(parsed.getStatus()).isEqualTo(CouponStatus.ACTIVE);
+        assertThat(written).isEqualTo(objectMapper.writeValueAsBytes(parsed));
+    }
+
     @Test
     @DisplayName("POST /coupons com dados inválidos retorna 400")
     void createInvalidReturns400() throws Exception {
@@ -81,6 +112,23 @@ class CouponControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").exists());
     }
 
+    @Test
+    @DisplayName("POST /coupons com description acima de 2000 caracteres retorna 400 (Bean Validation)")
+    void createWithTooLongDescriptionReturns400() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "code", "LNG001",
+                "description", "x".repeat(2001),
+                "discountValue", 1.0,
+                "expirationDate", LocalDateTime.now().plusDays(1).toString()
+        ));
+
+        mockMvc.perform(post("/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("2000")));
+    }
+
     @Test
     @DisplayName("POST /coupons com code em branco retorna 400 (Bean Validation)")
     void createWithBlankCodeReturns400() throws Exception {
@@ -125,7 +173,8 @@ class CouponControllerIntegrationTest {
     @DisplayName("DELETE /coupons/{id} com id inexistente retorna 404")
     void deleteNotFoundReturns404() throws Exception {
         mockMvc.perform(delete("/coupons/" + UUID.randomUUID()))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("COUPON_NOT_FOUND"));
     }
 
     @Test
@@ -150,4 +199,390 @@ class CouponControllerIntegrationTest {
         mockMvc.perform(delete("/coupons/" + id)).andExpect(status().isNoContent());
         mockMvc.perform(delete("/coupons/" + id)).andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("POST /coupons/{id}/redeem retorna 204 e 409 no segundo resgate")
+    void redeemTwiceReturns409OnSecond() throws Exception {
+        String createBody = objectMapper.writeValueAsString(Map.of(
+                "code", "RDM001",
+                "description", "Resgate",
+                "discountValue", 2.0,
+                "expirationDate", LocalDateTime.now().plusDays(3).toString(),
+                "published", true
+        ));
+        String createResponse = mockMvc.perform(post("/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createBody))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        UUID id = UUID.fromString(objectMapper.readTree(createResponse).get("id").asText());
+
+        mockMvc.perform(post("/coupons/" + id + "/redeem")).andExpect(status().isNoContent());
+        mockMvc.perform(post("/coupons/" + id + "/redeem"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    @Test
+    @DisplayName("POST /coupons/bulk-delete deleta por ids e exige exatamente um critério")
+    void bulkDeleteByIds() throws Exception {
+        String createBody = objectMapper.writeValueAsString(Map.of(
+                "code", "BLK001",
+                "description", "Massa",
+                "discountValue", 1.0,
+                "expirationDate", LocalDateTime.now().plusDays(3).toString(),
+                "published", false
+        ));
+        String createResponse = mockMvc.perform(post("/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createBody))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String id = objectMapper.readTree(createResponse).get("id").asText();
+
+        mockMvc.perform(post("/coupons/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", List.of(id, UUID.randomUUID().toString())))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1));
+        mockMvc.perform(delete("/coupons/" + id)).andExpect(status().isBadRequest());
+        mockMvc.perform(post("/coupons/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /coupons com a mesma Idempotency-Key devolve o cupom original")
+    void createWithIdempotencyKeyReplaysOriginal() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "code", "IDP001",
+                "description", "Idempotente",
+                "discountValue", 1.0,
+                "expirationDate", LocalDateTime.now().plusDays(2).toString(),
+                "published", false
+        ));
+        String first = mockMvc.perform(post("/coupons")
+                        .header("Idempotency-Key", "pedido-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String second = mockMvc.perform(post("/coupons")
+                        .header("Idempotency-Key", "pedido-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(second).isEqualTo(first);
+        mockMvc.perform(post("/coupons")
+                        .header("Idempotency-Key", "pedido-123")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.replace("Idempotente", "Outro")))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("POST /coupons: a mesma Idempotency-Key de outro cliente não devolve a resposta alheia")
+    void idempotencyKeyIsScopedPerClient() throws Exception {
+        String first = objectMapper.writeValueAsString(Map.of(
+                "code", "IDP002",
+                "description", "Cliente A",
+                "discountValue", 1.0,
+                "expirationDate", LocalDateTime.now().plusDays(2).toString(),
+                "published", false
+        ));
+        mockMvc.perform(post("/coupons")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.1");
+                            return request;
+                        })
+                        .header("Idempotency-Key", "pedido-compartilhado")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(first))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/coupons")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.2");
+                            return request;
+                        })
+                        .header("Idempotency-Key", "pedido-compartilhado")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(first.replace("IDP002", "IDP003").replace("Cliente A", "Cliente B")))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andExpect(jsonPath("$.code").value("IDP003"));
+    }
+
+    @Test
+    @DisplayName("POST /coupons: com API key conhecida a Idempotency-Key vale para o cliente, não para o IP")
+    void idempotencyKeyFollowsKnownApiKeyAcrossAddresses() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "code", "IDP004",
+                "description", "Parceiro",
+                "discountValue", 1.0,
+                "expirationDate", LocalDateTime.now().plusDays(2).toString(),
+                "published", false
+        ));
+        mockMvc.perform(post("/coupons")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.3");
+                            return request;
+                        })
+                        .header("X-API-Key", "chave-parceiro")
+                        .header("Idempotency-Key", "pedido-parceiro")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+
+        // mesmo cliente saindo por outro IP (proxy/NAT): repete a resposta em vez de tentar criar de novo
+        mockMvc.perform(post("/coupons")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.4");
+                            return request;
+                        })
+                        .header("X-API-Key", "chave-parceiro")
+                        .header("Idempotency-Key", "pedido-parceiro")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.code").value("IDP004"));
+
+        // header com chave desconhecida não vira identidade: cai no IP, que nunca usou a chave
+        mockMvc.perform(post("/coupons")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.5");
+                            return request;
+                        })
+                        .header("X-API-Key", "chave-inventada")
+                        .header("Idempotency-Key", "pedido-parceiro")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.replace("IDP004", "IDP005")))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andExpect(jsonPath("$.code").value("IDP005"));
+    }
+
+    @Test
+    @DisplayName("POST /coupons com código já usado retorna 409")
+    void createDuplicateCodeReturns409() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "code", "CNF777",
+                "description", "Duplicado",
+                "discountValue", 1.0,
+                "expirationDate", LocalDateTime.now().plusDays(2).toString(),
+                "published", false
+        ));
+
+        mockMvc.perform(post("/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").exists());
+    }
+
+    @Test
+    @DisplayName("POST /coupons/batch cria válidos e reporta erros por item")
+    void createBatchReportsPerItem() throws Exception {
+        String expiration = LocalDateTime.now().plusDays(5).toString();
+        String body = objectMapper.writeValueAsString(Map.of("items", List.of(
+                Map.of("code", "BTC001", "description", "Lote 1", "discountValue", 1.0, "expirationDate", expiration),
+                Map.of("code", "BTC002", "discountValue", 1.0, "expirationDate", expiration),
+                Map.of("code", "XX", "description", "Curto", "discountValue", 1.0, "expirationDate", expiration)
+        )));
+
+        mockMvc.perform(post("/coupons/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[0].id").exists())
+                .andExpect(jsonPath("$.items[1].status").value("FAILED"))
+                .andExpect(jsonPath("$.items[1].message").value("description: description é obrigatória"))
+                .andExpect(jsonPath("$.items[2].message").exists());
+    }
+
+    @Test
+    @DisplayName("POST /coupons com generateCode cria cupom com código gerado pelo servidor")
+    void createWithGeneratedCodeReturns201() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "generateCode", true,
+                "description", "Gerado",
+                "discountValue", 1.0,
+                "expirationDate", LocalDateTime.now().plusDays(3).toString()
+        ));
+
+        mockMvc.perform(post("/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.code").value(matchesPattern("[0-9A-Za-z]{6}")));
+    }
+
+    @Test
+    @DisplayName("POST /coupons com code e generateCode juntos retorna 400")
+    void createWithCodeAndGenerateCodeReturns400() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "code", "GNB001",
+                "generateCode", true,
+                "description", "Ambos",
+                "discountValue", 1.0,
+                "expirationDate", LocalDateTime.now().plusDays(3).toString()
+        ));
+
+        mockMvc.perform(post("/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("codeSourceValid: informe code ou generateCode=true, não ambos"));
+    }
+
+    @Test
+    @DisplayName("POST /coupons/batch aceita itens com código gerado ao lado de códigos informados")
+    void createBatchWithGeneratedCodes() throws Exception {
+        String expiration = LocalDateTime.now().plusDays(5).toString();
+        String body = objectMapper.writeValueAsString(Map.of("items", List.of(
+                Map.of("generateCode", true, "description", "Lote gerado 1", "discountValue", 1.0, "expirationDate", expiration),
+                Map.of("code", "GNB002", "description", "Lote manual", "discountValue", 1.0, "expirationDate", expiration),
+                Map.of("generateCode", true, "description", "Lote gerado 2", "discountValue", 1.0, "expirationDate", expiration)
+        )));
+
+        String response = mockMvc.perform(post("/coupons/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(3))
+                .andExpect(jsonPath("$.items[1].code").value("GNB002"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> codes = List.of(
+                objectMapper.readTree(response).at("/items/0/code").asText(),
+                objectMapper.readTree(response).at("/items/2/code").asText());
+        assertThat(codes).allMatch(code -> code.matches("[0-9A-Za-z]{6}")).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("GET /coupons/{id} e /coupons/code/{code} acham ativos e deletados; inexistente dá 404")
+    void findsByIdAndCode() throws Exception {
+        String expiration = LocalDateTime.now().plusDays(5).toString();
+        String active = createAndGetId("FND001", expiration);
+        String deleted = createAndGetId("FND002", expiration);
+        mockMvc.perform(delete("/coupons/" + deleted)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/coupons/" + active))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("FND001"))
+                .andExpect(jsonPath("$.status").value("ACTIVE"));
+        mockMvc.perform(get("/coupons/code/FND001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(active));
+        // fora da projeção: vem do banco
+        mockMvc.perform(get("/coupons/code/FND002"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DELETED"));
+        mockMvc.perform(get("/coupons/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("COUPON_NOT_FOUND"));
+        mockMvc.perform(get("/coupons/code/FND999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /coupons/batch vazio retorna 400")
+    void createEmptyBatchReturns400() throws Exception {
+        mockMvc.perform(post("/coupons/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /coupons pagina por cursor e GET NDJSON transmite uma linha por cupom")
+    void listPagesAndStreamsNdjson() throws Exception {
+        String from = "2092-01-01T00:00:00";
+        for (String code : List.of("GLS001", "GLS002", "GLS003")) {
+            mockMvc.perform(post("/coupons")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of(
+                                    "code", code,
+                                    "description", "Listagem",
+                                    "discountValue", 1.0,
+                                    "expirationDate", "2092-01-0" + code.charAt(5) + "T10:00:00"))))
+                    .andExpect(status().isCreated());
+        }
+
+        String firstPage = mockMvc.perform(get("/coupons")
+                        .param("expiresFrom", from)
+                        .param("status", "active")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].code").value("GLS001"))
+                .andExpect(jsonPath("$.nextCursor").exists())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        mockMvc.perform(get("/coupons")
+                        .param("expiresFrom", from)
+                        .param("status", "active")
+                        .param("limit", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].code").value("GLS003"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        String ndjson = mockMvc.perform(get("/coupons")
+                        .param("expiresFrom", from)
+                        .accept(CouponController.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CouponController.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        List<String> lines = ndjson.lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines.get(2)).get("code").asText()).isEqualTo("GLS003");
+    }
+
+    @Test
+    @DisplayName("GET /coupons com cursor ou status inválido retorna 400")
+    void listWithInvalidCursorReturns400() throws Exception {
+        mockMvc.perform(get("/coupons").param("cursor", "nao-e-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/coupons").param("status", "qualquer"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String createAndGetId(String code, String expiration) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "code", code,
+                "description", "Busca",
+                "discountValue", 1.0,
+                "expirationDate", expiration
+        ));
+        String response = mockMvc.perform(post("/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asText();
+    }
 }
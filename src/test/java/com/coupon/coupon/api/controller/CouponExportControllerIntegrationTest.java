@@ -0,0 +1,134 @@
+package com.coupon.coupon.api.controller;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.api.importer.CsvCouponImportReader;
+import com.coupon.coupon.api.response.CouponCsvWriter;
+import com.coupon.coupon.application.batch.BatchCouponItem;
+import com.coupon.coupon.application.create.CreateCouponUseCase;
+import com.coupon.coupon.application.delete.DeleteCouponUseCase;
+import com.coupon.coupon.application.redeem.RedeemCouponUseCase;
+import com.coupon.coupon.domain.model.Coupon;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = ApiApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("CouponExportController - integração")
+class CouponExportControllerIntegrationTest {
+
+    private static final LocalDateTime EXPIRATION = LocalDateTime.of(2087, 3, 1, 12, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private RedeemCouponUseCase redeemCouponUseCase;
+
+    @Test
+    @DisplayName("export CSV completo traz deletados e volta intacto pelo leitor do import")
+    void exportsCsvThatRoundTripsThroughImport() throws Exception {
+        String description = "Vírgula, \"aspas\" e\nquebra";
+        createCouponUseCase.execute("EXC001", description, new BigDecimal("1.50"), EXPIRATION, true);
+        Coupon deleted = createCouponUseCase.execute("EXC002", "Deletado", new BigDecimal("2"), EXPIRATION, false);
+        deleteCouponUseCase.execute(deleted.getId());
+
+        String csv = mockMvc.perform(get("/coupons/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(csv).startsWith(CouponCsvWriter.HEADER + "\r\n");
+        Map<String, BatchCouponItem> byCode = new HashMap<>();
+        new CsvCouponImportReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))
+                .forEachRemaining(item -> byCode.put(item.getCode(), item));
+        assertThat(byCode.get("EXC001").getDescription()).isEqualTo(description);
+        assertThat(byCode.get("EXC001").getDiscountValue()).isEqualByComparingTo("1.50");
+        assertThat(byCode.get("EXC001").getExpirationDate()).isEqualTo(EXPIRATION);
+        assertThat(byCode.get("EXC001").isPublished()).isTrue();
+        assertThat(byCode).containsKey("EXC002");
+        assertThat(csv).contains(deleted.getId() + ",EXC002,Deletado,");
+    }
+
+    @Test
+    @DisplayName("changedSince devolve só os cupons gravados depois do instante, em ordem de gravação")
+    void exportsOnlyChangedSince() throws Exception {
+        createCouponUseCase.execute("EXN001", "Sem mudança", new BigDecimal("1"), EXPIRATION, false);
+        Coupon toRedeem = createCouponUseCase.execute("EXN002", "Resgatado", new BigDecimal("1"), EXPIRATION, true);
+        Coupon toDelete = createCouponUseCase.execute("EXN003", "Deletado", new BigDecimal("1"), EXPIRATION, false);
+        Thread.sleep(5);
+        String startedAt = mockMvc.perform(get("/coupons/export").param("changedSince", "2000-01-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(CouponExportController.EXPORT_STARTED_AT);
+        Thread.sleep(5);
+        redeemCouponUseCase.execute(toRedeem.getId());
+        deleteCouponUseCase.execute(toDelete.getId());
+
+        List<JsonNode> rows = exportNdjson(get("/coupons/export").param("changedSince", startedAt));
+
+        List<String> codes = new ArrayList<>();
+        for (JsonNode row : rows) {
+            if (row.get("code").asText().startsWith("EXN")) {
+                codes.add(row.get("code").asText());
+                assertThat(LocalDateTime.parse(row.get("updatedAt").asText()))
+                        .isAfterOrEqualTo(LocalDateTime.parse(startedAt));
+            }
+        }
+        assertThat(codes).containsExactly("EXN002", "EXN003");
+        JsonNode deletedRow = rows.stream().filter(r -> r.get("code").asText().equals("EXN003")).findFirst().orElseThrow();
+        assertThat(deletedRow.get("status").asText()).isEqualTo("DELETED");
+        assertThat(deletedRow.get("deletedAt").isNull()).isFalse();
+    }
+
+    @Test
+    @DisplayName("format desconhecido retorna 400")
+    void rejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/coupons/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_REQUEST"));
+    }
+
+    private List<JsonNode> exportNdjson(MockHttpServletRequestBuilder request) throws Exception {
+        String response = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", CouponController.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : response.lines().toList()) {
+            rows.add(objectMapper.readTree(line));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,102 @@
+package com.coupon.coupon.api.controller;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.application.list.ListCouponsUseCase;
+import com.coupon.coupon.domain.repository.CouponFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = ApiApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("CouponImportController - integração")
+class CouponImportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ListCouponsUseCase listCouponsUseCase;
+
+    @Test
+    @DisplayName("POST /coupons/import com CSV grava os válidos e reporta só os rejeitados")
+    void importsCsv() throws Exception {
+        String csv = "code,description,discountValue,expirationDate,published\n"
+                + "IMC001,Primeiro,1.0,2088-01-01T00:00:00,true\n"
+                + "IMC002,Segundo,0.1,2088-01-01T00:00:00,true\n"
+                + "IMC003,Terceiro,2.5,2088-01-02T00:00:00,false\n"
+                + "IMC-001,Duplicado,1.0,2088-01-03T00:00:00,false\n";
+
+        List<JsonNode> lines = importBody(CouponImportController.TEXT_CSV, csv);
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0).get("index").asInt()).isEqualTo(1);
+        assertThat(lines.get(0).get("status").asText()).isEqualTo("FAILED");
+        assertThat(lines.get(1).get("index").asInt()).isEqualTo(3);
+        assertThat(lines.get(1).get("message").asText()).contains("IMC001");
+        JsonNode summary = lines.get(2);
+        assertThat(summary.get("rows").asLong()).isEqualTo(4);
+        assertThat(summary.get("created").asLong()).isEqualTo(2);
+        assertThat(summary.get("failed").asLong()).isEqualTo(2);
+
+        List<String> codes = new ArrayList<>();
+        listCouponsUseCase.stream(new CouponFilter(null, null, LocalDateTime.of(2088, 1, 1, 0, 0),
+                LocalDateTime.of(2088, 12, 31, 0, 0)), c -> codes.add(c.getCode()));
+        assertThat(codes).containsExactlyInAnyOrder("IMC001", "IMC003");
+    }
+
+    @Test
+    @DisplayName("POST /coupons/import com NDJSON")
+    void importsNdjson() throws Exception {
+        String ndjson = "{\"code\":\"IMN001\",\"description\":\"Um\",\"discountValue\":1.5,\"expirationDate\":\"2089-01-01T00:00:00\"}\n"
+                + "{\"code\":\"IMN002\",\"description\":\"Dois\",\"discountValue\":1.5,\"expirationDate\":\"2001-01-01T00:00:00\"}\n";
+
+        List<JsonNode> lines = importBody(CouponController.APPLICATION_NDJSON, ndjson);
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("index").asInt()).isEqualTo(1);
+        assertThat(lines.get(1).get("created").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("POST /coupons/import com cabeçalho CSV incompleto retorna 400")
+    void rejectsCsvWithoutHeader() throws Exception {
+        mockMvc.perform(post("/coupons/import")
+                        .contentType(CouponImportController.TEXT_CSV)
+                        .content("code,description\nIMX001,Sem colunas\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_REQUEST"));
+    }
+
+    private List<JsonNode> importBody(String contentType, String body) throws Exception {
+        String response = mockMvc.perform(post("/coupons/import").contentType(contentType).content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CouponController.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : response.lines().toList()) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
@@ -1,7 +1,15 @@
 package com.coupon.coupon.api.controller;
 
 import com.coupon.coupon.api.request.CreateCouponRequest;
+import com.coupon.coupon.api.response.ErrorResponse;
+import com.coupon.coupon.domain.exception.CodeGeneratorUnavailableException;
+import com.coupon.coupon.domain.exception.CouponNotFoundException;
+import com.coupon.coupon.domain.exception.CouponNotRedeemableException;
 import com.coupon.coupon.domain.exception.DomainException;
+import com.coupon.coupon.domain.exception.DuplicateCouponCodeException;
+import com.coupon.coupon.domain.exception.ErrorCode;
+import com.coupon.coupon.domain.exception.InvalidDiscountValueException;
+import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,7 +21,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
 import java.lang.reflect.Method;
-import java.util.Map;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -31,36 +39,60 @@ class GlobalExceptionHandlerTest {
     @DisplayName("DomainException retorna 400 e mensagem")
     void handleDomainException() {
         DomainException ex = new DomainException("regra violada");
-        ResponseEntity<Map<String, String>> response = handler.handleDomainException(ex);
+        ResponseEntity<ErrorResponse> response = handler.handleDomainException(ex);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-        assertThat(response.getBody()).containsEntry("message", "regra violada");
+        assertThat(response.getBody().getCode()).isEqualTo(ErrorCode.BUSINESS_RULE);
+        assertThat(response.getBody().getMessage()).isEqualTo("regra violada");
     }
 
     @Test
-    @DisplayName("IllegalArgumentException com 'não encontrado' retorna 404")
-    void handleIllegalArgumentNotFound() {
-        IllegalArgumentException ex = new IllegalArgumentException("Cupom não encontrado com id: x");
-        ResponseEntity<Map<String, String>> response = handler.handleIllegalArgument(ex);
+    @DisplayName("CouponNotFoundException retorna 404 com código próprio")
+    void handleNotFound() {
+        UUID id = UUID.randomUUID();
+        ResponseEntity<ErrorResponse> response = handler.handleDomainException(CouponNotFoundException.forId(id));
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
-        assertThat(response.getBody()).containsEntry("message", "Cupom não encontrado com id: x");
+        assertThat(response.getBody().getCode()).isEqualTo(ErrorCode.COUPON_NOT_FOUND);
+        assertThat(response.getBody().getMessage()).isEqualTo("Cupom não encontrado com id: " + id);
+    }
+
+    @Test
+    @DisplayName("status das exceções de domínio vem do código")
+    void domainStatusComesFromCode() {
+        assertThat(handler.handleDomainException(DuplicateCouponCodeException.forCode("ABC123")).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        assertThat(handler.handleDomainException(CouponNotRedeemableException.forId(UUID.randomUUID())).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+        assertThat(handler.handleDomainException(new InvalidDiscountValueException("desconto")).getBody().getCode())
+                .isEqualTo(ErrorCode.INVALID_DISCOUNT_VALUE);
+        assertThat(handler.handleDomainException(new CodeGeneratorUnavailableException()).getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    @DisplayName("IllegalArgumentException com 'não encontrado' não vira mais 404")
+    void handleIllegalArgumentNotFoundText() {
+        IllegalArgumentException ex = new IllegalArgumentException("Cupom não encontrado com id: x");
+        ResponseEntity<ErrorResponse> response = handler.handleIllegalArgument(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getCode()).isEqualTo(ErrorCode.INVALID_REQUEST);
     }
 
     @Test
     @DisplayName("IllegalArgumentException sem 'não encontrado' retorna 400")
     void handleIllegalArgumentOther() {
         IllegalArgumentException ex = new IllegalArgumentException("outro argumento inválido");
-        ResponseEntity<Map<String, String>> response = handler.handleIllegalArgument(ex);
+        ResponseEntity<ErrorResponse> response = handler.handleIllegalArgument(ex);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-        assertThat(response.getBody()).containsEntry("message", "outro argumento inválido");
+        assertThat(response.getBody().getMessage()).isEqualTo("outro argumento inválido");
     }
 
     @Test
     @DisplayName("IllegalArgumentException com mensagem null retorna 400 com mensagem padrão")
     void handleIllegalArgumentNullMessage() {
         IllegalArgumentException ex = new IllegalArgumentException();
-        ResponseEntity<Map<String, String>> response = handler.handleIllegalArgument(ex);
+        ResponseEntity<ErrorResponse> response = handler.handleIllegalArgument(ex);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-        assertThat(response.getBody()).containsEntry("message", "Argumento inválido");
+        assertThat(response.getBody().getMessage()).isEqualTo("Argumento inválido");
     }
 
     @Test
@@ -69,23 +101,24 @@ class GlobalExceptionHandlerTest {
         BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new CreateCouponRequest(), "createCouponRequest");
         bindingResult.addError(new FieldError("createCouponRequest", "code", "code é obrigatório"));
         bindingResult.addError(new FieldError("createCouponRequest", "discountValue", "deve ser no mínimo 0.5"));
-        Method createMethod = CouponController.class.getDeclaredMethod("create", CreateCouponRequest.class);
+        Method createMethod = CouponController.class.getDeclaredMethod("create", CreateCouponRequest.class, String.class,
+                HttpServletRequest.class);
         MethodParameter parameter = new MethodParameter(createMethod, 0);
         MethodArgumentNotValidException ex = new MethodArgumentNotValidException(parameter, bindingResult);
 
-        ResponseEntity<Map<String, String>> response = handler.handleValidation(ex);
+        ResponseEntity<ErrorResponse> response = handler.handleValidation(ex);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-        assertThat(response.getBody()).containsKey("message");
-        assertThat(response.getBody().get("message")).contains("code");
-        assertThat(response.getBody().get("message")).contains("discountValue");
+        assertThat(response.getBody().getCode()).isEqualTo(ErrorCode.INVALID_REQUEST);
+        assertThat(response.getBody().getMessage()).contains("code");
+        assertThat(response.getBody().getMessage()).contains("discountValue");
     }
 
     @Test
     @DisplayName("Exception genérica retorna 500")
     void handleUnexpected() {
         Exception ex = new RuntimeException("erro inesperado");
-        ResponseEntity<Map<String, String>> response = handler.handleUnexpected(ex);
+        ResponseEntity<ErrorResponse> response = handler.handleUnexpected(ex);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
-        assertThat(response.getBody()).containsEntry("message", "Erro interno. Tente novamente mais tarde.");
+        assertThat(response.getBody().getMessage()).isEqualTo("Erro interno. Tente novamente mais tarde.");
     }
 }
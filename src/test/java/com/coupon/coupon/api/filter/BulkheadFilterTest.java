@@ -0,0 +1,77 @@
+package com.coupon.coupon.api.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BulkheadFilter")
+class BulkheadFilterTest {
+
+    @Test
+    @DisplayName("libera a permissão ao fim da requisição")
+    void releasesPermitAfterRequest() throws Exception {
+        BulkheadFilter filter = new BulkheadFilter(2, 1, Duration.ofMillis(10));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/coupons"), response, (req, res) -> { });
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(filter.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("sem permissão disponível responde 503 com Retry-After")
+    void rejectsWhenFull() throws Exception {
+        BulkheadFilter filter = new BulkheadFilter(1, 1, Duration.ofMillis(10));
+        MockHttpServletResponse inner = new MockHttpServletResponse();
+
+        // a requisição externa segura a única permissão enquanto a interna tenta entrar
+        filter.doFilter(new MockHttpServletRequest("POST", "/coupons"), new MockHttpServletResponse(),
+                (req, res) -> filter.doFilter(new MockHttpServletRequest("POST", "/coupons"), inner, (r, s) -> { }));
+
+        assertThat(inner.getStatus()).isEqualTo(503);
+        assertThat(inner.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(inner.getContentAsString()).contains("Servidor ocupado");
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("stream em andamento não ocupa as permissões das requisições curtas")
+    void streamsUseTheirOwnPermits() throws Exception {
+        BulkheadFilter filter = new BulkheadFilter(1, 1, Duration.ofMillis(10));
+        MockHttpServletRequest listing = new MockHttpServletRequest("GET", "/coupons");
+        listing.addHeader("Accept", "application/x-ndjson");
+        MockHttpServletResponse create = new MockHttpServletResponse();
+        MockHttpServletResponse secondStream = new MockHttpServletResponse();
+
+        // o export segura a permissão de stream: o POST curto entra, o segundo stream espera e recebe 503
+        filter.doFilter(new MockHttpServletRequest("GET", "/coupons/export"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    filter.doFilter(new MockHttpServletRequest("POST", "/coupons"), create, (r, s) -> { });
+                    filter.doFilter(listing, secondStream, (r, s) -> { });
+                });
+
+        assertThat(create.getStatus()).isEqualTo(200);
+        assertThat(secondStream.getStatus()).isEqualTo(503);
+        assertThat(filter.availablePermits()).isEqualTo(1);
+        assertThat(filter.availableStreamPermits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("reconhece import, export e listagem NDJSON como stream")
+    void classifiesStreams() {
+        MockHttpServletRequest ndjson = new MockHttpServletRequest("GET", "/coupons");
+        ndjson.addHeader("Accept", "application/x-ndjson");
+
+        assertThat(BulkheadFilter.isStream(new MockHttpServletRequest("POST", "/coupons/import"))).isTrue();
+        assertThat(BulkheadFilter.isStream(new MockHttpServletRequest("GET", "/coupons/export"))).isTrue();
+        assertThat(BulkheadFilter.isStream(ndjson)).isTrue();
+        assertThat(BulkheadFilter.isStream(new MockHttpServletRequest("GET", "/coupons"))).isFalse();
+        assertThat(BulkheadFilter.isStream(new MockHttpServletRequest("POST", "/coupons/batch"))).isFalse();
+    }
+}
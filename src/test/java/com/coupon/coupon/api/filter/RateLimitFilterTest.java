@@ -0,0 +1,103 @@
+package com.coupon.coupon.api.filter;
+
+import com.coupon.coupon.api.filter.RateLimitFilter.Route;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimitFilter")
+class RateLimitFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // create: 1 token por segundo, rajada de 3
+        filter = new RateLimitFilter(Map.of(Route.CREATE, new RateLimit(1, 3), Route.DELETE, new RateLimit(10, 1)),
+                Set.of("cliente-a", "cliente-b", "cliente-c", "cliente-d"), 1000, Duration.ofMinutes(1), registry,
+                nanos::get);
+    }
+
+    @Test
+    @DisplayName("admite a rajada e recusa o excedente com 429 e Retry-After")
+    void admitsBurstThenRejects() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(perform("POST", "/coupons", "cliente-a").getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse limited = perform("POST", "/coupons", "cliente-a");
+
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(registry.get("coupon.rate.limit.rejected").tag("route", "create").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("tokens são repostos com o tempo")
+    void refillsOverTime() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            perform("POST", "/coupons", "cliente-b");
+        }
+        assertThat(perform("POST", "/coupons", "cliente-b").getStatus()).isEqualTo(429);
+
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertThat(perform("POST", "/coupons", "cliente-b").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/coupons", "cliente-b").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("buckets são separados por cliente e por rota; rota sem limite passa")
+    void bucketsArePerClientAndRoute() throws Exception {
+        assertThat(perform("DELETE", "/coupons/1", "cliente-c").getStatus()).isEqualTo(200);
+        assertThat(perform("DELETE", "/coupons/2", "cliente-c").getStatus()).isEqualTo(429);
+        assertThat(perform("DELETE", "/coupons/2", "cliente-d").getStatus()).isEqualTo(200);
+        assertThat(perform("POST", "/coupons", "cliente-c").getStatus()).isEqualTo(200);
+        for (int i = 0; i < 10; i++) {
+            assertThat(perform("GET", "/coupons", "cliente-c").getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    @DisplayName("API key desconhecida não ganha bucket próprio: conta no bucket do IP")
+    void unknownApiKeysShareTheAddressBucket() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(perform("POST", "/coupons", "rotativa-" + i).getStatus()).isEqualTo(200);
+        }
+
+        assertThat(perform("POST", "/coupons", "rotativa-3").getStatus()).isEqualTo(429);
+        assertThat(perform("POST", "/coupons", "cliente-a").getStatus()).isEqualTo(200);
+        assertThat(filter.estimatedClients()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("classifica as rotas de cupom")
+    void classifiesRoutes() {
+        assertThat(RateLimitFilter.route(new MockHttpServletRequest("POST", "/coupons"))).isEqualTo(Route.CREATE);
+        assertThat(RateLimitFilter.route(new MockHttpServletRequest("POST", "/coupons/batch"))).isEqualTo(Route.BATCH);
+        assertThat(RateLimitFilter.route(new MockHttpServletRequest("GET", "/coupons/export"))).isEqualTo(Route.BATCH);
+        assertThat(RateLimitFilter.route(new MockHttpServletRequest("POST", "/coupons/bulk-delete"))).isEqualTo(Route.DELETE);
+        assertThat(RateLimitFilter.route(new MockHttpServletRequest("DELETE", "/coupons/x"))).isEqualTo(Route.DELETE);
+        assertThat(RateLimitFilter.route(new MockHttpServletRequest("POST", "/coupons/x/redeem"))).isEqualTo(Route.OTHER);
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader(RateLimitFilter.API_KEY_HEADER, apiKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> { });
+        return response;
+    }
+}
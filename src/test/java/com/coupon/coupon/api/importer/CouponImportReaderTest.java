@@ -0,0 +1,123 @@
+package com.coupon.coupon.api.importer;
+
+import com.coupon.coupon.application.batch.BatchCouponItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Leitores do import")
+class CouponImportReaderTest {
+
+    @Test
+    @DisplayName("CSV com aspas, vírgula, quebra de linha, BOM e colunas fora de ordem")
+    void readsQuotedCsv() {
+        String csv = "\uFEFFdescription,code,expirationDate,discountValue,published\r\n"
+                + "\"Com vírgula, e \"\"aspas\"\"\",ABC123,2090-01-01T00:00:00,1.50,true\r\n"
+                + "\n"
+                + "\"Duas\nlinhas\",DEF456,2090-01-02T10:30:00,2,\n";
+
+        List<BatchCouponItem> items = readAll(new CsvCouponImportReader(stream(csv)));
+
+        assertThat(items).hasSize(2);
+        assertThat(items.get(0).getIndex()).isZero();
+        assertThat(items.get(0).getCode()).isEqualTo("ABC123");
+        assertThat(items.get(0).getDescription()).isEqualTo("Com vírgula, e \"aspas\"");
+        assertThat(items.get(0).getDiscountValue()).isEqualByComparingTo("1.50");
+        assertThat(items.get(0).isPublished()).isTrue();
+        assertThat(items.get(1).getIndex()).isEqualTo(1);
+        assertThat(items.get(1).getDescription()).isEqualTo("Duas\nlinhas");
+        assertThat(items.get(1).getExpirationDate()).isEqualTo(LocalDateTime.of(2090, 1, 2, 10, 30));
+        assertThat(items.get(1).isPublished()).isFalse();
+    }
+
+    @Test
+    @DisplayName("CSV rejeita o registro com valor inválido e segue para o próximo")
+    void rejectsInvalidCsvRecords() {
+        String csv = "code,description,discountValue,expirationDate,published\n"
+                + "AAA111,Ok,1.0,2090-01-01T00:00:00,false\n"
+                + "AAA112,Ok,um real,2090-01-01T00:00:00,false\n"
+                + "AAA113,Ok,1.0,01/01/2090,false\n"
+                + "AAA114,,1.0,2090-01-01T00:00:00,false\n"
+                + "AAA115,Ok,1.0,2090-01-01T00:00:00,talvez\n"
+                + "AAA116,Ok,1.0\n";
+
+        List<BatchCouponItem> items = readAll(new CsvCouponImportReader(stream(csv)));
+
+        assertThat(items).extracting(BatchCouponItem::getError).containsExactly(
+                null,
+                "discountValue inválido: 'um real'",
+                "expirationDate inválida: '01/01/2090' (use ISO-8601, ex.: 2030-01-31T23:59:59)",
+                "description é obrigatória",
+                "published inválido: 'talvez' (use true ou false)",
+                "expirationDate é obrigatória");
+    }
+
+    @Test
+    @DisplayName("CSV sem coluna obrigatória falha antes de ler os registros")
+    void rejectsCsvWithoutRequiredColumn() {
+        assertThatThrownBy(() -> new CsvCouponImportReader(stream("code,description,discountValue\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expirationDate");
+    }
+
+    @Test
+    @DisplayName("registro acima do limite é rejeitado sem guardar o conteúdo e a leitura continua")
+    void rejectsOversizedRecord() {
+        String huge = "x".repeat(CouponImportReader.MAX_RECORD_LENGTH + 10);
+        String csv = "code,description,discountValue,expirationDate\n"
+                + "AAA121," + huge + ",1.0,2090-01-01T00:00:00\n"
+                + "AAA122,Ok,1.0,2090-01-01T00:00:00\n";
+        String ndjson = "{\"code\":\"AAA123\",\"description\":\"" + huge + "\"}\n"
+                + "{\"code\":\"AAA124\",\"description\":\"Ok\",\"discountValue\":1,\"expirationDate\":\"2090-01-01T00:00:00\"}\n";
+
+        List<BatchCouponItem> fromCsv = readAll(new CsvCouponImportReader(stream(csv)));
+        List<BatchCouponItem> fromNdjson = readAll(new NdjsonCouponImportReader(stream(ndjson), new ObjectMapper()));
+
+        for (List<BatchCouponItem> items : List.of(fromCsv, fromNdjson)) {
+            assertThat(items).hasSize(2);
+            assertThat(items.get(0).getError()).contains("Registro acima de");
+            assertThat(items.get(1).getError()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("NDJSON aceita números e textos, ignora linhas em branco e rejeita JSON inválido")
+    void readsNdjson() {
+        String ndjson = "{\"code\":\"BBB111\",\"description\":\"Um\",\"discountValue\":1.25,"
+                + "\"expirationDate\":\"2090-01-01T00:00:00\",\"published\":true}\n"
+                + "\n"
+                + "{\"code\":\"BBB112\",\"description\":\"Dois\",\"discountValue\":\"3\",\"expirationDate\":\"2090-01-01T00:00:00\"}\n"
+                + "{quebrado\n"
+                + "[1,2]\n";
+
+        List<BatchCouponItem> items = readAll(new NdjsonCouponImportReader(stream(ndjson), new ObjectMapper()));
+
+        assertThat(items).hasSize(4);
+        assertThat(items.get(0).getDiscountValue()).isEqualTo(new BigDecimal("1.25"));
+        assertThat(items.get(0).isPublished()).isTrue();
+        assertThat(items.get(1).getIndex()).isEqualTo(1);
+        assertThat(items.get(1).getDiscountValue()).isEqualTo(new BigDecimal("3"));
+        assertThat(items.get(2).getError()).startsWith("JSON inválido");
+        assertThat(items.get(3).getError()).isEqualTo("Cada linha deve ser um objeto JSON.");
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<BatchCouponItem> readAll(CouponImportReader reader) {
+        List<BatchCouponItem> items = new ArrayList<>();
+        reader.forEachRemaining(items::add);
+        return items;
+    }
+}
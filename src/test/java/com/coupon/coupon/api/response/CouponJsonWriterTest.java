@@ -0,0 +1,138 @@
+package com.coupon.coupon.api.response;
+
+import com.coupon.coupon.domain.exception.ErrorCode;
+import com.coupon.coupon.domain.model.CouponStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CouponJsonWriter")
+class CouponJsonWriterTest {
+
+    // mesma configuração do ObjectMapper do Spring Boot (datas em ISO)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    @Test
+    @DisplayName("gera o mesmo JSON do Jackson para um cupom comum")
+    void matchesJacksonForPlainCoupon() throws Exception {
+        CouponResponse response = response("ABC123", "Cupom de teste", new BigDecimal("1.50"),
+                LocalDateTime.of(2030, 1, 2, 3, 4, 5), CouponStatus.ACTIVE);
+
+        assertSameJson(response);
+    }
+
+    @Test
+    @DisplayName("escapa aspas, barras, controles e codifica UTF-8 como o Jackson")
+    void matchesJacksonForEscapesAndUnicode() throws Exception {
+        String description = "aspas \" barra \\ / tab\t linha\n cr\r \b\f \u0001\u001f del\u007f ção € 😀";
+        CouponResponse response = response("XYZ789", description, new BigDecimal("10"),
+                LocalDateTime.of(2030, 12, 31, 23, 59, 59, 120_000_000), CouponStatus.EXPIRED);
+
+        assertSameJson(response);
+    }
+
+    @Test
+    @DisplayName("segue o formato do Jackson para frações de segundo, decimais e nulos")
+    void matchesJacksonForEdgeValues() throws Exception {
+        assertSameJson(response("AAA111", null, new BigDecimal("0.5"),
+                LocalDateTime.of(2030, 6, 1, 0, 0, 0, 1), CouponStatus.DELETED));
+        assertSameJson(response("AAA112", "", new BigDecimal("1E+3"),
+                LocalDateTime.of(2030, 6, 1, 0, 0), CouponStatus.ACTIVE));
+        assertSameJson(response("AAA113", "x", new BigDecimal("123.456000"),
+                LocalDateTime.of(2030, 6, 1, 12, 30, 0, 123_456_000), null));
+        assertSameJson(new CouponResponse());
+    }
+
+    @Test
+    @DisplayName("página com itens e cursor, e página final sem cursor")
+    void matchesJacksonForPages() throws Exception {
+        CouponResponse first = response("PAG001", "um", new BigDecimal("1.00"),
+                LocalDateTime.of(2030, 1, 1, 0, 0), CouponStatus.ACTIVE);
+        CouponResponse second = response("PAG002", "dois", new BigDecimal("2.00"),
+                LocalDateTime.of(2030, 1, 2, 0, 0), CouponStatus.EXPIRED);
+
+        assertSameJson(new CouponPageResponse(List.of(first, second), "cursor-abc"));
+        assertSameJson(new CouponPageResponse(List.of(), null));
+    }
+
+    @Test
+    @DisplayName("corpo de erro igual ao do Jackson para todos os códigos")
+    void matchesJacksonForErrors() throws Exception {
+        for (ErrorCode code : ErrorCode.values()) {
+            ErrorResponse error = new ErrorResponse(code, "Cupom \"X\" não encontrado");
+            assertThat(new CouponJsonWriter().write(error).toByteArray())
+                    .isEqualTo(objectMapper.writeValueAsBytes(error));
+        }
+        ErrorResponse empty = new ErrorResponse();
+        assertThat(new CouponJsonWriter().write(empty).toByteArray()).isEqualTo(objectMapper.writeValueAsBytes(empty));
+    }
+
+    @Test
+    @DisplayName("linha do export igual à do Jackson, com e sem as datas opcionais")
+    void matchesJacksonForExportRows() throws Exception {
+        CouponExportResponse deleted = new CouponExportResponse();
+        deleted.setId(UUID.randomUUID());
+        deleted.setCode("EXP001");
+        deleted.setDescription("Deletado \"depois\"");
+        deleted.setDiscountValue(new BigDecimal("3.2500"));
+        deleted.setExpirationDate(LocalDateTime.of(2030, 1, 1, 0, 0));
+        deleted.setStatus(CouponStatus.DELETED);
+        deleted.setRedeemed(true);
+        deleted.setDeletedAt(LocalDateTime.of(2029, 5, 1, 10, 0, 0, 500_000));
+        deleted.setExpiredAt(LocalDateTime.of(2030, 1, 1, 0, 1));
+        deleted.setUpdatedAt(LocalDateTime.of(2030, 1, 1, 0, 1, 2, 3));
+
+        for (CouponExportResponse row : List.of(deleted, new CouponExportResponse())) {
+            assertThat(new CouponJsonWriter().write(row).toByteArray()).isEqualTo(objectMapper.writeValueAsBytes(row));
+        }
+    }
+
+    @Test
+    @DisplayName("reset reaproveita o buffer entre escritas")
+    void resetReusesBuffer() throws Exception {
+        CouponResponse response = response("RST001", "a", BigDecimal.ONE,
+                LocalDateTime.of(2030, 1, 1, 0, 0), CouponStatus.ACTIVE);
+        CouponJsonWriter writer = new CouponJsonWriter(8);
+
+        writer.write(response).newLine();
+        writer.reset();
+        writer.write(response);
+
+        assertThat(new String(writer.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo(objectMapper.writeValueAsString(response));
+    }
+
+    private void assertSameJson(CouponResponse response) throws Exception {
+        byte[] written = new CouponJsonWriter().write(response).toByteArray();
+        assertThat(written).isEqualTo(objectMapper.writeValueAsBytes(response));
+    }
+
+    private void assertSameJson(CouponPageResponse page) throws Exception {
+        byte[] written = new CouponJsonWriter().write(page).toByteArray();
+        assertThat(written).isEqualTo(objectMapper.writeValueAsBytes(page));
+    }
+
+    private static CouponResponse response(String code, String description, BigDecimal discountValue,
+                                           LocalDateTime expirationDate, CouponStatus status) {
+        CouponResponse response = new CouponResponse();
+        response.setId(UUID.randomUUID());
+        response.setCode(code);
+        response.setDescription(description);
+        response.setDiscountValue(discountValue);
+        response.setExpirationDate(expirationDate);
+        response.setStatus(status);
+        response.setPublished(true);
+        return response;
+    }
+}
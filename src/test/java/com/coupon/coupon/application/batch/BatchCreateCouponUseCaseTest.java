@@ -0,0 +1,204 @@
+package com.coupon.coupon.application.batch;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.domain.repository.CouponCodeGenerator;
+import com.coupon.coupon.domain.repository.CouponCodeRegistry;
+import com.coupon.coupon.domain.repository.CouponInvalidationBus;
+import com.coupon.coupon.domain.repository.CouponOutbox;
+import com.coupon.coupon.domain.repository.CouponReadModel;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = ApiApplication.class)
+@ActiveProfiles("test")
+@DisplayName("BatchCreateCouponUseCase - integração")
+class BatchCreateCouponUseCaseTest {
+
+    private static final LocalDateTime FUTURE = LocalDateTime.now().plusDays(10);
+
+    @Autowired
+    private BatchCreateCouponUseCase batchCreateCouponUseCase;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponCodeRegistry codeRegistry;
+
+    @Autowired
+    private CouponCodeGenerator codeGenerator;
+
+    @Autowired
+    private CouponReadModel readModel;
+
+    @Autowired
+    private CouponOutbox outbox;
+
+    @Autowired
+    private CouponInvalidationBus invalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("persiste válidos e reporta erro por item")
+    void persistsValidAndReportsInvalidItems() {
+        List<BatchItemResult> results = batchCreateCouponUseCase.execute(List.of(
+                new BatchCouponItem(0, "BAT001", "Válido", new BigDecimal("1.0"), FUTURE, false),
+                new BatchCouponItem(1, "B1", "Código curto", new BigDecimal("1.0"), FUTURE, false),
+                new BatchCouponItem(2, "BAT002", "Desconto baixo", new BigDecimal("0.1"), FUTURE, false),
+                new BatchCouponItem(3, "BAT-001", "Duplicado no lote", new BigDecimal("1.0"), FUTURE, false)
+        ));
+
+        assertThat(results).extracting(BatchItemResult::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(results).extracting(BatchItemResult::isCreated).containsExactly(true, false, false, false);
+        assertThat(results.get(1).getError()).contains("6 caracteres");
+        assertThat(results.get(2).getError()).contains("0.5");
+        assertThat(results.get(3).getError()).contains("BAT001");
+        assertThat(couponRepository.findById(results.get(0).getCoupon().getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("lote maior que o chunk é persistido em várias transações")
+    void persistsItemsAcrossChunks() {
+        List<BatchCouponItem> items = new ArrayList<>();
+        for (int i = 0; i < 1_100; i++) {
+            items.add(new BatchCouponItem(i, String.format("K%05d", i), "Lote " + i, new BigDecimal("1.0"), FUTURE, true));
+        }
+
+        List<BatchItemResult> results = batchCreateCouponUseCase.execute(items);
+
+        assertThat(results).hasSize(1_100).allMatch(BatchItemResult::isCreated);
+        assertThat(couponRepository.findById(results.get(1_099).getCoupon().getId()))
+                .get()
+                .extracting(c -> c.getCode())
+                .isEqualTo("K01099");
+    }
+
+    @Test
+    @DisplayName("stream só lê o próximo item depois de gravar o chunk anterior")
+    void streamPullsItemsChunkByChunk() {
+        BatchCreateCouponUseCase useCase = new BatchCreateCouponUseCase(couponRepository, codeRegistry, codeGenerator, readModel, outbox,
+                invalidationBus, transactionManager, 3);
+        int[] read = new int[1];
+        Iterator<BatchCouponItem> items = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return read[0] < 8;
+            }
+
+            @Override
+            public BatchCouponItem next() {
+                int i = read[0]++;
+                return i == 4
+                        ? BatchCouponItem.rejected(i, "linha inválida")
+                        : new BatchCouponItem(i, String.format("IMS%03d", i), "Stream", new BigDecimal("1.0"), FUTURE, false);
+            }
+        };
+        List<Integer> readWhenCreated = new ArrayList<>();
+        List<BatchItemResult> results = new ArrayList<>();
+
+        useCase.stream(items, result -> {
+            results.add(result);
+            if (result.isCreated()) {
+                readWhenCreated.add(read[0]);
+            }
+        });
+
+        // chunks de 3: [0,1,2] gravado com 3 lidos, [3,5,6] com 7 lidos, [7] no fim
+        assertThat(readWhenCreated).containsExactly(3, 3, 3, 7, 7, 7, 8);
+        assertThat(results).filteredOn(r -> !r.isCreated()).singleElement()
+                .satisfies(r -> assertThat(r.getError()).isEqualTo("linha inválida"));
+    }
+
+    @Test
+    @DisplayName("item recusado pelo banco por outra restrição falha sozinho; o resto do chunk é gravado")
+    void constraintViolationInChunkFailsOnlyThatItem() {
+        List<BatchItemResult> results = batchCreateCouponUseCase.execute(List.of(
+                new BatchCouponItem(0, "CST001", "Antes", new BigDecimal("1.0"), FUTURE, false),
+                new BatchCouponItem(1, "CST002", "x".repeat(2001), new BigDecimal("1.0"), FUTURE, false),
+                new BatchCouponItem(2, "CST003", "Depois", new BigDecimal("1.0"), FUTURE, false)
+        ));
+
+        assertThat(results).extracting(BatchItemResult::isCreated).containsExactly(true, false, true);
+        assertThat(results.get(1).getError()).isEqualTo(BatchCreateCouponUseCase.REJECTED_BY_DATABASE);
+
+        // a reserva do item recusado foi solta: o código segue disponível
+        List<BatchItemResult> retried = batchCreateCouponUseCase.execute(List.of(
+                new BatchCouponItem(0, "CST002", "Agora cabe", new BigDecimal("1.0"), FUTURE, false)));
+        assertThat(retried).singleElement().satisfies(r -> assertThat(r.isCreated()).isTrue());
+    }
+
+    @Test
+    @DisplayName("falha inesperada no chunk solta as reservas: o mesmo código é aceito depois")
+    void unexpectedChunkFailureReleasesReservations() {
+        CouponRepository failing = (CouponRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{CouponRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("saveAll")) {
+                        throw new QueryTimeoutException("timeout simulado");
+                    }
+                    try {
+                        return method.invoke(couponRepository, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+        BatchCreateCouponUseCase useCase = new BatchCreateCouponUseCase(failing, codeRegistry, codeGenerator, readModel, outbox,
+                invalidationBus, transactionManager, 2);
+
+        assertThatThrownBy(() -> useCase.execute(List.of(
+                new BatchCouponItem(0, "LKA001", "Falha", new BigDecimal("1.0"), FUTURE, false))))
+                .isInstanceOf(QueryTimeoutException.class);
+
+        List<BatchItemResult> retried = batchCreateCouponUseCase.execute(List.of(
+                new BatchCouponItem(0, "LKA001", "De novo", new BigDecimal("1.0"), FUTURE, false)));
+        assertThat(retried).singleElement().satisfies(r -> assertThat(r.isCreated()).isTrue());
+    }
+
+    @Test
+    @DisplayName("leitura interrompida no meio do chunk solta as reservas pendentes")
+    void abortedStreamReleasesPendingReservations() {
+        Iterator<BatchCouponItem> items = List.of(
+                new BatchCouponItem(0, "LKB001", "Pendente", new BigDecimal("1.0"), FUTURE, false)).iterator();
+        Iterator<BatchCouponItem> aborting = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public BatchCouponItem next() {
+                if (items.hasNext()) {
+                    return items.next();
+                }
+                throw new UncheckedIOException(new IOException("conexão encerrada"));
+            }
+        };
+
+        assertThatThrownBy(() -> batchCreateCouponUseCase.stream(aborting, result -> { }))
+                .isInstanceOf(UncheckedIOException.class);
+
+        List<BatchItemResult> retried = batchCreateCouponUseCase.execute(List.of(
+                new BatchCouponItem(0, "LKB001", "De novo", new BigDecimal("1.0"), FUTURE, false)));
+        assertThat(retried).singleElement().satisfies(r -> assertThat(r.isCreated()).isTrue());
+    }
+}
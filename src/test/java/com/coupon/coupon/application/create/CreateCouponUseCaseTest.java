@@ -1,16 +1,30 @@
 package com.coupon.coupon.application.create;
 
 import com.coupon.api.ApiApplication;
+import com.coupon.coupon.domain.exception.DuplicateCouponCodeException;
 import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.repository.CouponCodeRegistry;
+import com.coupon.coupon.domain.repository.CouponInvalidationBus;
+import com.coupon.coupon.domain.repository.CouponOutbox;
+import com.coupon.coupon.domain.repository.CouponReadModel;
 import com.coupon.coupon.domain.repository.CouponRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -26,6 +40,21 @@ class CreateCouponUseCaseTest {
     @Autowired
     private CouponRepository couponRepository;
 
+    @Autowired
+    private CouponCodeRegistry codeRegistry;
+
+    @Autowired
+    private CouponReadModel readModel;
+
+    @Autowired
+    private CouponOutbox outbox;
+
+    @Autowired
+    private CouponInvalidationBus invalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Test
     @DisplayName("persiste cupom válido no banco")
     void createsAndPersistsValidCoupon() {
@@ -75,4 +104,72 @@ class CreateCouponUseCaseTest {
         assertThatThrownBy(() -> createCouponUseCase.execute("ABC123", "Desc", new BigDecimal("1.0"), past, false))
                 .hasMessageContaining("data passada");
     }
+
+    @Test
+    @DisplayName("rejeita código já usado por outro cupom")
+    void throwsWhenCodeAlreadyUsed() {
+        LocalDateTime expiration = LocalDateTime.now().plusDays(1);
+        createCouponUseCase.execute("UNQ001", "Primeiro", new BigDecimal("1.0"), expiration, false);
+
+        assertThatThrownBy(() -> createCouponUseCase.execute("UNQ-001", "Segundo", new BigDecimal("1.0"), expiration, false))
+                .isInstanceOf(DuplicateCouponCodeException.class)
+                .hasMessageContaining("UNQ001");
+    }
+
+    @Test
+    @DisplayName("criações concorrentes com o mesmo código têm um único vencedor")
+    void concurrentCreatesWithSameCodeHaveSingleWinner() throws Exception {
+        LocalDateTime expiration = LocalDateTime.now().plusDays(1);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        createCouponUseCase.execute("RACE01", "Concorrente", new BigDecimal("1.0"), expiration, false);
+                        return true;
+                    } catch (DuplicateCouponCodeException ex) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    winners++;
+                }
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("código gerado tem 6 caracteres e é persistido")
+    void createsWithGeneratedCode() {
+        LocalDateTime expiration = LocalDateTime.now().plusDays(1);
+        Coupon created = createCouponUseCase.executeWithGeneratedCode("Gerado", new BigDecimal("1.0"), expiration, true);
+
+        assertThat(created.getCode()).matches("[0-9A-Za-z]{6}");
+        assertThat(couponRepository.findById(created.getId()).orElseThrow().getCode()).isEqualTo(created.getCode());
+    }
+
+    @Test
+    @DisplayName("código gerado que coincide com um manual passa para o próximo da sequência")
+    void generatedCodeCollidingWithManualOneTriesNext() {
+        LocalDateTime expiration = LocalDateTime.now().plusDays(1);
+        createCouponUseCase.execute("GNC001", "Manual", new BigDecimal("1.0"), expiration, false);
+        Iterator<String> codes = List.of("GNC001", "GNC002").iterator();
+        CreateCouponUseCase useCase = new CreateCouponUseCase(couponRepository, codeRegistry, codes::next,
+                readModel, outbox, invalidationBus, transactionManager, Optional.empty());
+
+        Coupon created = useCase.executeWithGeneratedCode("Gerado", new BigDecimal("1.0"), expiration, false);
+
+        assertThat(created.getCode()).isEqualTo("GNC002");
+    }
 }
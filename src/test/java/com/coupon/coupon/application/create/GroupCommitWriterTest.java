@@ -0,0 +1,276 @@
+package com.coupon.coupon.application.create;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.domain.exception.DuplicateCouponCodeException;
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.repository.CouponCodeGenerator;
+import com.coupon.coupon.domain.repository.CouponCodeRegistry;
+import com.coupon.coupon.domain.repository.CouponInvalidationBus;
+import com.coupon.coupon.domain.repository.CouponOutbox;
+import com.coupon.coupon.domain.repository.CouponReadModel;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@SpringBootTest(classes = ApiApplication.class)
+@ActiveProfiles("test")
+@DisplayName("GroupCommitWriter - integração")
+class GroupCommitWriterTest {
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponCodeRegistry codeRegistry;
+
+    @Autowired
+    private CouponCodeGenerator codeGenerator;
+
+    @Autowired
+    private CouponReadModel readModel;
+
+    @Autowired
+    private CouponOutbox outbox;
+
+    @Autowired
+    private CouponInvalidationBus invalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private GroupCommitWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new GroupCommitWriter(couponRepository, outbox, transactionManager, 1000, 64,
+                Duration.ofMillis(50), Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(5));
+        writer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    @DisplayName("criações concorrentes são gravadas em menos transações que cupons")
+    void concurrentCreatesShareTransactions() throws Exception {
+        CreateCouponUseCase useCase = new CreateCouponUseCase(couponRepository, codeRegistry, codeGenerator, readModel, outbox,
+                invalidationBus, transactionManager, Optional.of(writer));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        int threads = 16;
+        int perThread = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Coupon> created = new ArrayList<>();
+        try {
+            List<Future<List<Coupon>>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    List<Coupon> own = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        own.add(useCase.execute(String.format("G%02d%03d", thread, i), "Grupo",
+                                new BigDecimal("1.0"), LocalDateTime.now().plusDays(1), false));
+                    }
+                    return own;
+                }));
+            }
+            start.countDown();
+            for (Future<List<Coupon>> result : results) {
+                created.addAll(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // cupom e evento do outbox
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2L * threads * perThread);
+        assertThat(statistics.getTransactionCount()).isLessThan(threads * perThread / 2);
+        for (Coupon coupon : created) {
+            assertThat(couponRepository.findById(coupon.getId())).isPresent();
+        }
+    }
+
+    @Test
+    @DisplayName("código já gravado falha só o próprio cupom do grupo")
+    void duplicateFailsOnlyItsOwnCoupon() {
+        CompletableFuture<Coupon> original = writer.submit(newCoupon("GDP001"));
+        original.join();
+
+        CompletableFuture<Coupon> duplicate = writer.submit(newCoupon("GDP001"));
+        CompletableFuture<Coupon> other = writer.submit(newCoupon("GDP002"));
+
+        assertThatThrownBy(duplicate::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(DuplicateCouponCodeException.class);
+        assertThat(couponRepository.findById(other.join().getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("grupo lento que passa do commit-timeout: a requisição espera o commit em vez de desistir")
+    void slowFlushPastCommitTimeoutWaitsForTheOutcome() {
+        GroupCommitWriter slow = new GroupCommitWriter(sleepingSaveAll(Duration.ofMillis(600)), outbox,
+                transactionManager, 10, 1, Duration.ZERO, Duration.ofSeconds(1), Duration.ofMillis(100),
+                Duration.ofSeconds(5));
+        slow.start();
+        try {
+            Coupon saved = slow.write(newCoupon("GDL001"));
+
+            assertThat(couponRepository.findById(saved.getId())).isPresent();
+        } finally {
+            slow.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("espera pelo commit é limitada pelo prazo da transação: grupo travado vira resultado em aberto")
+    void writeWaitIsBounded() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        GroupCommitWriter slow = new GroupCommitWriter(blockingSaveAll(release), outbox, transactionManager, 10, 1,
+                Duration.ZERO, Duration.ofSeconds(1), Duration.ofMillis(100), Duration.ofSeconds(1));
+        slow.start();
+        try {
+            long start = System.nanoTime();
+
+            assertThatThrownBy(() -> slow.write(newCoupon("GDT001")))
+                    .isInstanceOf(GroupCommitOutcomeUnknownException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+        } finally {
+            release.countDown();
+            slow.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("resultado em aberto mantém a reserva do código até o grupo terminar")
+    void unknownOutcomeKeepsReservationUntilGroupFinishes() {
+        CountDownLatch release = new CountDownLatch(1);
+        GroupCommitWriter slow = new GroupCommitWriter(blockingSaveAll(release), outbox, transactionManager, 10, 1,
+                Duration.ZERO, Duration.ofSeconds(1), Duration.ofMillis(100), Duration.ofSeconds(1));
+        slow.start();
+        try {
+            CreateCouponUseCase useCase = new CreateCouponUseCase(couponRepository, codeRegistry, codeGenerator,
+                    readModel, outbox, invalidationBus, transactionManager, Optional.of(slow));
+            GroupCommitOutcomeUnknownException unknown = catchThrowableOfType(() -> useCase.execute("GDU001",
+                            "Grupo", new BigDecimal("1.0"), LocalDateTime.now().plusDays(1), false),
+                    GroupCommitOutcomeUnknownException.class);
+
+            // o grupo pode ainda commitar: outro pedido com o mesmo código continua barrado
+            assertThatThrownBy(() -> useCase.execute("GDU001", "Outro", new BigDecimal("1.0"),
+                    LocalDateTime.now().plusDays(1), false)).isInstanceOf(DuplicateCouponCodeException.class);
+
+            // o grupo estourou o prazo da transação: falha, e só então a reserva sai
+            release.countDown();
+            unknown.getOutcome().handle((saved, failure) -> saved).join();
+            assertThat(unknown.getOutcome()).isCompletedExceptionally();
+            UUID probe = UUID.randomUUID();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!codeRegistry.reserve("GDU001", probe)) {
+                assertThat(System.nanoTime()).isLessThan(deadline);
+                Thread.onSpinWait();
+            }
+            codeRegistry.release("GDU001", probe);
+        } finally {
+            release.countDown();
+            slow.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("stop grava o que está na fila e recusa novos cupons")
+    void stopDrainsQueueAndRejectsNewCoupons() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        GroupCommitWriter slow = new GroupCommitWriter(blockingSaveAll(release), outbox, transactionManager, 10, 1,
+                Duration.ZERO, Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(5));
+        slow.start();
+        CompletableFuture<Coupon> inGroup = slow.submit(newCoupon("GDS001"));
+        CompletableFuture<Coupon> queued = slow.submit(newCoupon("GDS002"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> stopping = executor.submit((Runnable) slow::stop);
+            while (slow.isRunning()) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> slow.submit(newCoupon("GDS003"))).isInstanceOf(RejectedExecutionException.class);
+            release.countDown();
+            stopping.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        assertThat(inGroup).isCompleted();
+        assertThat(queued).isCompleted();
+        assertThat(couponRepository.findById(queued.join().getId())).isPresent();
+    }
+
+    // saveAll demora o tempo dado antes de gravar: um grupo lento, mas que termina
+    private CouponRepository sleepingSaveAll(Duration delay) {
+        return (CouponRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{CouponRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("saveAll")) {
+                        Thread.sleep(delay.toMillis());
+                    }
+                    try {
+                        return method.invoke(couponRepository, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+
+    // saveAll só prossegue depois do latch: segura o writer no meio de um grupo
+    private CouponRepository blockingSaveAll(CountDownLatch release) {
+        return (CouponRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{CouponRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("saveAll")) {
+                        release.await();
+                    }
+                    try {
+                        return method.invoke(couponRepository, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+    }
+
+    private static Coupon newCoupon(String code) {
+        return Coupon.create(code, "Grupo", new BigDecimal("1.0"), LocalDateTime.now().plusDays(1), false);
+    }
+}
@@ -0,0 +1,108 @@
+package com.coupon.coupon.application.delete;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.application.retry.ConflictRetryPolicy;
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.repository.CouponInvalidationBus;
+import com.coupon.coupon.domain.repository.CouponOutbox;
+import com.coupon.coupon.domain.repository.CouponReadModel;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ApiApplication.class)
+@ActiveProfiles("test")
+@DisplayName("BulkDeleteCouponsUseCase - integração")
+class BulkDeleteCouponsUseCaseTest {
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private CouponReadModel readModel;
+
+    @Autowired
+    private CouponOutbox outbox;
+
+    @Autowired
+    private CouponInvalidationBus invalidationBus;
+
+    @Autowired
+    private ConflictRetryPolicy retryPolicy;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // chunk pequeno para exercitar várias transações
+    private BulkDeleteCouponsUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new BulkDeleteCouponsUseCase(couponRepository, readModel, outbox, invalidationBus, retryPolicy,
+                transactionManager, 2);
+    }
+
+    @Test
+    @DisplayName("deleta por ids em chunks e ignora inexistentes e já deletados")
+    void deletesByIdsInChunks() {
+        List<Coupon> coupons = insert("BDI", LocalDateTime.now().plusDays(3), 5);
+        deleteCouponUseCase.execute(coupons.get(0).getId());
+        List<UUID> ids = new ArrayList<>();
+        coupons.forEach(c -> ids.add(c.getId()));
+        ids.add(UUID.randomUUID());
+        ids.add(coupons.get(1).getId());
+
+        int deleted = useCase.deleteByIds(ids);
+
+        assertThat(deleted).isEqualTo(4);
+        for (Coupon coupon : coupons) {
+            assertThat(couponRepository.findById(coupon.getId())).get().extracting(Coupon::isDeleted).isEqualTo(true);
+        }
+    }
+
+    @Test
+    @DisplayName("deleta expirados antes do corte em chunks e preserva os demais")
+    void deletesExpiredBeforeCutoff() {
+        List<Coupon> old = insert("BDE", LocalDateTime.of(2001, 1, 10, 0, 0), 3);
+        List<Coupon> recent = insert("BDR", LocalDateTime.of(2001, 8, 10, 0, 0), 2);
+
+        int deleted = useCase.deleteExpiredBefore(LocalDateTime.of(2001, 6, 1, 0, 0));
+
+        assertThat(deleted).isEqualTo(3);
+        for (Coupon coupon : old) {
+            assertThat(couponRepository.findById(coupon.getId())).get().extracting(Coupon::isDeleted).isEqualTo(true);
+        }
+        for (Coupon coupon : recent) {
+            assertThat(couponRepository.findById(coupon.getId())).get().extracting(Coupon::isDeleted).isEqualTo(false);
+        }
+    }
+
+    // expirationDate atribuída depois do create para permitir cupons já vencidos
+    private List<Coupon> insert(String prefix, LocalDateTime expiration, int count) {
+        List<Coupon> coupons = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Coupon coupon = Coupon.create(prefix + String.format("%03d", i), "Massa", new BigDecimal("1.0"),
+                    LocalDateTime.now().plusDays(1), false);
+            coupon.setExpirationDate(expiration);
+            coupons.add(coupon);
+        }
+        return new TransactionTemplate(transactionManager).execute(status -> couponRepository.saveAll(coupons));
+    }
+}
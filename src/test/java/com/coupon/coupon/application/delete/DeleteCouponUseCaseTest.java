@@ -2,6 +2,7 @@ package com.coupon.coupon.application.delete;
 
 import com.coupon.api.ApiApplication;
 import com.coupon.coupon.domain.exception.CouponAlreadyDeletedException;
+import com.coupon.coupon.domain.exception.CouponNotFoundException;
 import com.coupon.coupon.domain.model.Coupon;
 import com.coupon.coupon.domain.repository.CouponRepository;
 import com.coupon.coupon.application.create.CreateCouponUseCase;
@@ -73,7 +74,7 @@ class DeleteCouponUseCaseTest {
     @DisplayName("lança quando cupom não encontrado")
     void throwsWhenNotFound() {
         assertThatThrownBy(() -> deleteCouponUseCase.execute(java.util.UUID.randomUUID()))
-                .isInstanceOf(IllegalArgumentException.class)
+                .isInstanceOf(CouponNotFoundException.class)
                 .hasMessageContaining("não encontrado");
     }
 }
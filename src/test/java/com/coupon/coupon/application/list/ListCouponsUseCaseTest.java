@@ -0,0 +1,106 @@
+package com.coupon.coupon.application.list;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.application.create.CreateCouponUseCase;
+import com.coupon.coupon.application.delete.DeleteCouponUseCase;
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponStatus;
+import com.coupon.coupon.domain.repository.CouponFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = ApiApplication.class)
+@ActiveProfiles("test")
+@DisplayName("ListCouponsUseCase - integração")
+class ListCouponsUseCaseTest {
+
+    // faixa de datas exclusiva desta classe para não enxergar cupons de outros testes
+    private static final LocalDateTime BASE = LocalDateTime.of(2091, 1, 1, 0, 0);
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private ListCouponsUseCase listCouponsUseCase;
+
+    @Test
+    @DisplayName("percorre todas as páginas por cursor sem repetir nem pular cupons")
+    void pagesThroughAllCouponsWithKeyset() {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // duas datas repetidas forçam o desempate por id
+            Coupon coupon = createCouponUseCase.execute(String.format("LST%03d", i), "Lista",
+                    new BigDecimal("1.0"), BASE.plusDays(i / 2), i % 2 == 0);
+            expected.add(coupon.getCode());
+        }
+        CouponFilter filter = new CouponFilter(null, null, BASE, BASE.plusYears(1));
+
+        List<String> seen = new ArrayList<>();
+        CouponPage page = listCouponsUseCase.list(filter, null, 3);
+        page.getItems().forEach(c -> seen.add(c.getCode()));
+        int pages = 1;
+        while (page.getNext() != null) {
+            page = listCouponsUseCase.list(filter, page.getNext(), 3);
+            page.getItems().forEach(c -> seen.add(c.getCode()));
+            pages++;
+        }
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("filtra por status e published")
+    void filtersByStatusAndPublished() {
+        LocalDateTime from = BASE.plusYears(2);
+        Coupon active = createCouponUseCase.execute("LSF001", "Ativo", new BigDecimal("1.0"), from.plusDays(1), true);
+        Coupon deleted = createCouponUseCase.execute("LSF002", "Deletado", new BigDecimal("1.0"), from.plusDays(2), true);
+        createCouponUseCase.execute("LSF003", "Não publicado", new BigDecimal("1.0"), from.plusDays(3), false);
+        deleteCouponUseCase.execute(deleted.getId());
+
+        List<Coupon> activePublished = listCouponsUseCase.list(
+                new CouponFilter(CouponStatus.ACTIVE, true, from, from.plusYears(1)), null, 10).getItems();
+        List<Coupon> deletedOnes = listCouponsUseCase.list(
+                new CouponFilter(CouponStatus.DELETED, null, from, from.plusYears(1)), null, 10).getItems();
+
+        assertThat(activePublished).extracting(Coupon::getId).containsExactly(active.getId());
+        assertThat(deletedOnes).extracting(Coupon::getId).containsExactly(deleted.getId());
+    }
+
+    @Test
+    @DisplayName("stream entrega as linhas em ordem sem paginação")
+    void streamsAllMatchingRows() {
+        LocalDateTime from = BASE.plusYears(3);
+        for (int i = 0; i < 5; i++) {
+            createCouponUseCase.execute(String.format("LSS%03d", i), "Stream", new BigDecimal("1.0"), from.plusHours(i), false);
+        }
+
+        List<String> codes = new ArrayList<>();
+        listCouponsUseCase.stream(new CouponFilter(null, null, from, from.plusYears(1)), c -> codes.add(c.getCode()));
+
+        assertThat(codes).containsExactly("LSS000", "LSS001", "LSS002", "LSS003", "LSS004");
+    }
+
+    @Test
+    @DisplayName("limit fora da faixa é rejeitado")
+    void rejectsInvalidLimit() {
+        assertThatThrownBy(() -> listCouponsUseCase.list(CouponFilter.none(), null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> listCouponsUseCase.list(CouponFilter.none(), null, ListCouponsUseCase.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
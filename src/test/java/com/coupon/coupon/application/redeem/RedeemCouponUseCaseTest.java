@@ -0,0 +1,152 @@
+package com.coupon.coupon.application.redeem;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.application.create.CreateCouponUseCase;
+import com.coupon.coupon.application.delete.DeleteCouponUseCase;
+import com.coupon.coupon.application.retry.ConflictRetryPolicy;
+import com.coupon.coupon.domain.exception.CouponNotRedeemableException;
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.repository.CouponReadModel;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = ApiApplication.class)
+@ActiveProfiles("test")
+@DisplayName("RedeemCouponUseCase - integração")
+class RedeemCouponUseCaseTest {
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private RedeemCouponUseCase redeemCouponUseCase;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponReadModel readModel;
+
+    @Autowired
+    private ConflictRetryPolicy retryPolicy;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("resgata cupom disponível")
+    void redeemsAvailableCoupon() {
+        Coupon created = createCouponUseCase.execute("RDU001", "Resgate", new BigDecimal("1.0"),
+                LocalDateTime.now().plusDays(1), true);
+
+        redeemCouponUseCase.execute(created.getId());
+
+        assertThat(couponRepository.findById(created.getId())).get().extracting(Coupon::isRedeemed).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("cupom deletado ou inexistente não é resgatado")
+    void deletedOrMissingCouponIsNotRedeemed() {
+        Coupon created = createCouponUseCase.execute("RDU002", "Resgate", new BigDecimal("1.0"),
+                LocalDateTime.now().plusDays(1), true);
+        deleteCouponUseCase.execute(created.getId());
+
+        assertThatThrownBy(() -> redeemCouponUseCase.execute(created.getId()))
+                .isInstanceOf(CouponNotRedeemableException.class);
+        assertThatThrownBy(() -> redeemCouponUseCase.execute(UUID.randomUUID()))
+                .isInstanceOf(CouponNotRedeemableException.class);
+        assertThat(couponRepository.findById(created.getId())).get().extracting(Coupon::isRedeemed).isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("edição lida antes de um resgate concorrente conflita, é refeita sobre a versão nova e não perde o resgate")
+    void editStaleAfterRedeemConflictsAndIsRetried() {
+        UUID id = createCouponUseCase.execute("RDU004", "Conflito", new BigDecimal("1.0"),
+                LocalDateTime.now().plusDays(1), true).getId();
+        Coupon stale = readModel.findById(id).orElseThrow();
+        redeemCouponUseCase.execute(id);
+        double conflictsBefore = conflicts("edit");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        AtomicInteger attempts = new AtomicInteger();
+
+        Coupon edited = retryPolicy.execute("edit", () -> transaction.execute(status -> {
+            // primeira tentativa com a cópia lida antes do resgate; as seguintes releem da projeção
+            Coupon current = attempts.getAndIncrement() == 0 ? stale : readModel.findById(id).orElseThrow();
+            current.setDescription("Editado");
+            return couponRepository.update(current);
+        }));
+
+        assertThat(attempts).hasValue(2);
+        assertThat(conflicts("edit")).isEqualTo(conflictsBefore + 1);
+        assertThat(edited.isRedeemed()).isTrue();
+        assertThat(edited.getDescription()).isEqualTo("Editado");
+        assertThat(edited.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("resgates concorrentes do mesmo cupom: só um vence")
+    void concurrentRedeemsHaveSingleWinner() throws Exception {
+        UUID id = createCouponUseCase.execute("RDU003", "Corrida", new BigDecimal("1.0"),
+                LocalDateTime.now().plusDays(1), true).getId();
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        redeemCouponUseCase.execute(id);
+                        return true;
+                    } catch (CouponNotRedeemableException ex) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    winners++;
+                }
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private double conflicts(String operation) {
+        Counter conflicts = meterRegistry.find("coupon.concurrency.conflicts").tag("operation", operation).counter();
+        return conflicts == null ? 0 : conflicts.count();
+    }
+}
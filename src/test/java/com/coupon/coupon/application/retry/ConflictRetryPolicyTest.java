@@ -0,0 +1,83 @@
+package com.coupon.coupon.application.retry;
+
+import com.coupon.coupon.domain.exception.CouponConcurrentModificationException;
+import com.coupon.coupon.domain.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ConflictRetryPolicy")
+class ConflictRetryPolicyTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConflictRetryPolicy policy =
+            new ConflictRetryPolicy(registry, 3, Duration.ofMillis(1), Duration.ofMillis(4));
+
+    @Test
+    @DisplayName("refaz a operação depois de um conflito e devolve o resultado")
+    void retriesAfterConflict() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = policy.execute("teste", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Object.class, "id");
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(registry.get("coupon.concurrency.executions").tag("operation", "teste").counter().count()).isEqualTo(1);
+        assertThat(registry.get("coupon.concurrency.conflicts").tag("operation", "teste").counter().count()).isEqualTo(2);
+        assertThat(registry.get("coupon.concurrency.exhausted").tag("operation", "teste").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("esgotadas as tentativas, lança conflito de modificação concorrente")
+    void givesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> policy.execute("teste", () -> {
+            attempts.incrementAndGet();
+            throw new CannotAcquireLockException("lock");
+        }))
+                .isInstanceOf(CouponConcurrentModificationException.class)
+                .extracting(ex -> ((CouponConcurrentModificationException) ex).getCode())
+                .isEqualTo(ErrorCode.CONCURRENT_MODIFICATION);
+
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(registry.get("coupon.concurrency.conflicts").tag("operation", "teste").counter().count()).isEqualTo(3);
+        assertThat(registry.get("coupon.concurrency.exhausted").tag("operation", "teste").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("erros que não são de concorrência sobem sem nova tentativa")
+    void doesNotRetryOtherErrors() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> policy.execute("teste", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("falha");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("espera cresce exponencialmente com jitter e respeita o teto")
+    void backoffIsBoundedAndJittered() {
+        for (int i = 0; i < 1000; i++) {
+            assertThat(policy.backoffNanos(1)).isBetween(0L, Duration.ofMillis(1).toNanos());
+            assertThat(policy.backoffNanos(2)).isBetween(0L, Duration.ofMillis(2).toNanos());
+            assertThat(policy.backoffNanos(40)).isBetween(0L, Duration.ofMillis(4).toNanos());
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.coupon.coupon.domain.exception;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.UUID;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DisplayName("Exceções de domínio")
@@ -55,4 +57,21 @@ class DomainExceptionTest {
         assertThat(ex).isInstanceOf(DomainException.class);
         assertThat(ex.getMessage()).isEqualTo("já deletado");
     }
+
+    @Test
+    @DisplayName("exceções de domínio não capturam stack trace")
+    void domainExceptionsAreStackless() {
+        assertThat(new InvalidCouponCodeException("código inválido").getStackTrace()).isEmpty();
+        assertThat(new DomainException("mensagem", new RuntimeException("cause")).getStackTrace()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("cada exceção carrega o seu código de erro")
+    void exceptionsCarryErrorCode() {
+        assertThat(new DomainException("mensagem").getCode()).isEqualTo(ErrorCode.BUSINESS_RULE);
+        assertThat(new InvalidDiscountValueException("x").getCode()).isEqualTo(ErrorCode.INVALID_DISCOUNT_VALUE);
+        assertThat(new PastExpirationDateException("x").getCode()).isEqualTo(ErrorCode.PAST_EXPIRATION_DATE);
+        assertThat(CouponNotFoundException.forId(UUID.randomUUID()).getCode()).isEqualTo(ErrorCode.COUPON_NOT_FOUND);
+        assertThat(DuplicateCouponCodeException.forCode("ABC123").getCode()).isEqualTo(ErrorCode.DUPLICATE_COUPON_CODE);
+    }
 }
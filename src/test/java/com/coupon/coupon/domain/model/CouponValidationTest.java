@@ -0,0 +1,72 @@
+package com.coupon.coupon.domain.model;
+
+import com.coupon.coupon.domain.exception.InvalidCouponCodeException;
+import com.coupon.coupon.domain.exception.InvalidDiscountValueException;
+import com.coupon.coupon.domain.exception.PastExpirationDateException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CouponValidation - sanitização e validação sem regex")
+class CouponValidationTest {
+
+    @Test
+    @DisplayName("código já limpo é devolvido sem cópia")
+    void returnsSameInstanceWhenCodeIsClean() {
+        String code = "ABC123";
+        assertThat(CouponValidation.sanitizeCode(code)).isSameAs(code);
+    }
+
+    @Test
+    @DisplayName("remove espaços, pontuação e letras não ASCII como a regex antiga")
+    void stripsNonAsciiAlphanumerics() {
+        assertThat(CouponValidation.sanitizeCode(" a-b_c 1.2/3 ")).isEqualTo("abc123");
+        assertThat(CouponValidation.sanitizeCode("ÁBC1234")).isEqualTo("BC1234");
+    }
+
+    @Test
+    @DisplayName("mensagem de erro traz o código sanitizado e o tamanho")
+    void errorMessageShowsSanitizedCode() {
+        assertThatThrownBy(() -> CouponValidation.sanitizeCode("A-B-1"))
+                .isInstanceOf(InvalidCouponCodeException.class)
+                .hasMessageContaining("Recebido: 'AB1' (3 caracteres)");
+    }
+
+    @Test
+    @DisplayName("código null ou em branco é rejeitado")
+    void rejectsNullAndBlankCode() {
+        assertThatThrownBy(() -> CouponValidation.sanitizeCode(null))
+                .isInstanceOf(InvalidCouponCodeException.class)
+                .hasMessageContaining("Recebido: '' (0 caracteres)");
+        assertThatThrownBy(() -> CouponValidation.sanitizeCode("   "))
+                .isInstanceOf(InvalidCouponCodeException.class);
+    }
+
+    @Test
+    @DisplayName("desconto null é rejeitado")
+    void rejectsNullDiscount() {
+        assertThatThrownBy(() -> CouponValidation.validateDiscountValue(null))
+                .isInstanceOf(InvalidDiscountValueException.class)
+                .hasMessageContaining("Recebido: null");
+    }
+
+    @Test
+    @DisplayName("isPast segue LocalDateTime.now()")
+    void isPastMatchesLocalDateTimeNow() {
+        assertThat(CouponValidation.isPast(LocalDateTime.now().minusSeconds(1))).isTrue();
+        assertThat(CouponValidation.isPast(LocalDateTime.now().plusSeconds(1))).isFalse();
+        assertThatThrownBy(() -> CouponValidation.validateExpirationDate(LocalDateTime.now().minusMinutes(1)))
+                .isInstanceOf(PastExpirationDateException.class);
+    }
+
+    @Test
+    @DisplayName("desconto mínimo aceito")
+    void acceptsMinimumDiscount() {
+        CouponValidation.validateDiscountValue(new BigDecimal("0.50"));
+    }
+}
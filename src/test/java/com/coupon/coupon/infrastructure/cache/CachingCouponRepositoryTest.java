@@ -0,0 +1,254 @@
+package com.coupon.coupon.infrastructure.cache;
+
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.repository.CouponFilter;
+import com.coupon.coupon.domain.repository.CouponKeyset;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CachingCouponRepository")
+class CachingCouponRepositoryTest {
+
+    private FakeCouponRepository delegate;
+    private AtomicLong nanos;
+    private CachingCouponRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new FakeCouponRepository();
+        nanos = new AtomicLong();
+        repository = new CachingCouponRepository(delegate, 2, Duration.ofMinutes(1), nanos::get);
+    }
+
+    @Test
+    @DisplayName("segunda leitura vem do cache")
+    void secondReadIsServedFromCache() {
+        Coupon coupon = delegate.save(newCoupon("CCH001"));
+
+        repository.findById(coupon.getId());
+        repository.findById(coupon.getId());
+
+        assertThat(delegate.reads).isEqualTo(1);
+        assertThat(repository.stats().hitCount()).isEqualTo(1);
+        assertThat(repository.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ausência não é cacheada")
+    void missingCouponIsNotCached() {
+        UUID id = UUID.randomUUID();
+
+        assertThat(repository.findById(id)).isEmpty();
+        delegate.save(withId(newCoupon("CCH002"), id));
+
+        assertThat(repository.findById(id)).isPresent();
+    }
+
+    @Test
+    @DisplayName("update invalida a entrada")
+    void updateInvalidatesEntry() {
+        Coupon coupon = delegate.save(newCoupon("CCH003"));
+        Coupon loaded = repository.findById(coupon.getId()).orElseThrow();
+
+        loaded.delete();
+        repository.update(loaded);
+
+        assertThat(repository.findById(coupon.getId())).get().extracting(Coupon::isDeleted).isEqualTo(true);
+        assertThat(delegate.reads).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("redeem invalida a entrada")
+    void redeemInvalidatesEntry() {
+        Coupon coupon = delegate.save(newCoupon("CCH009"));
+        repository.findById(coupon.getId());
+
+        assertThat(repository.redeem(coupon.getId(), LocalDateTime.now())).isTrue();
+
+        assertThat(repository.findById(coupon.getId())).get().extracting(Coupon::isRedeemed).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("softDelete invalida a entrada")
+    void softDeleteInvalidatesEntry() {
+        Coupon coupon = delegate.save(newCoupon("CCH010"));
+        repository.findById(coupon.getId());
+
+        assertThat(repository.softDelete(coupon.getId(), LocalDateTime.now())).isTrue();
+
+        assertThat(repository.findById(coupon.getId())).get().extracting(Coupon::isDeleted).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("alterar o cupom lido não altera o cache")
+    void mutatingReturnedCouponDoesNotLeakIntoCache() {
+        Coupon coupon = delegate.save(newCoupon("CCH004"));
+
+        repository.findById(coupon.getId()).orElseThrow().delete();
+
+        assertThat(repository.findById(coupon.getId())).get().extracting(Coupon::isDeleted).isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("leitura do cache traz todos os campos do cupom")
+    void cachedCopyKeepsEveryField() {
+        Coupon coupon = newCoupon("CCH011");
+        coupon.setUpdatedAt(LocalDateTime.now().minusMinutes(5));
+        coupon.setExpiredAt(LocalDateTime.now().minusMinutes(1));
+        coupon.setVersion(7);
+        delegate.save(coupon);
+
+        repository.findById(coupon.getId());
+        Coupon cached = repository.findById(coupon.getId()).orElseThrow();
+
+        assertThat(repository.stats().hitCount()).isEqualTo(1);
+        assertThat(cached).isNotSameAs(coupon).usingRecursiveComparison().isEqualTo(coupon);
+    }
+
+    @Test
+    @DisplayName("respeita TTL e tamanho máximo")
+    void expiresAndEvicts() {
+        Coupon first = delegate.save(newCoupon("CCH005"));
+        repository.findById(first.getId());
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+        repository.findById(first.getId());
+        assertThat(delegate.reads).isEqualTo(2);
+
+        for (String code : List.of("CCH006", "CCH007", "CCH008")) {
+            repository.findById(delegate.save(newCoupon(code)).getId());
+        }
+        assertThat(repository.stats().evictionCount()).isGreaterThanOrEqualTo(2);
+    }
+
+    private static Coupon newCoupon(String code) {
+        return Coupon.create(code, "Cache", new BigDecimal("1.0"), LocalDateTime.now().plusDays(1), false);
+    }
+
+    private static Coupon withId(Coupon coupon, UUID id) {
+        coupon.setId(id);
+        return coupon;
+    }
+
+    private static class FakeCouponRepository implements CouponRepository {
+
+        private final Map<UUID, Coupon> rows = new HashMap<>();
+        private int reads;
+
+        @Override
+        public Coupon save(Coupon coupon) {
+            rows.put(coupon.getId(), coupon);
+            return coupon;
+        }
+
+        @Override
+        public List<Coupon> saveAll(List<Coupon> coupons) {
+            coupons.forEach(this::save);
+            return coupons;
+        }
+
+        @Override
+        public Coupon update(Coupon coupon) {
+            return save(coupon);
+        }
+
+        @Override
+        public boolean redeem(UUID id, LocalDateTime now) {
+            Coupon coupon = rows.get(id);
+            if (coupon == null || coupon.isRedeemed()) {
+                return false;
+            }
+            coupon.setRedeemed(true);
+            return true;
+        }
+
+        @Override
+        public boolean softDelete(UUID id, LocalDateTime now) {
+            Coupon coupon = rows.get(id);
+            if (coupon == null || coupon.isDeleted()) {
+                return false;
+            }
+            coupon.setDeletedAt(now);
+            return true;
+        }
+
+        @Override
+        public List<UUID> softDeleteAll(List<UUID> ids, LocalDateTime now) {
+            List<UUID> deleted = new ArrayList<>();
+            for (UUID id : ids) {
+                if (softDelete(id, now)) {
+                    deleted.add(id);
+                }
+            }
+            return deleted;
+        }
+
+        @Override
+        public List<UUID> findIdsExpiredBefore(LocalDateTime cutoff, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<UUID> findIdsToExpire(LocalDateTime now, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int markExpired(List<UUID> ids, LocalDateTime now) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean existsById(UUID id) {
+            return rows.containsKey(id);
+        }
+
+        @Override
+        public Optional<Coupon> findById(UUID id) {
+            reads++;
+            return Optional.ofNullable(rows.get(id));
+        }
+
+        @Override
+        public Optional<Coupon> findByCode(String code) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Coupon> findAllById(Collection<UUID> ids) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Coupon> findPage(CouponFilter filter, CouponKeyset after, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void streamAll(CouponFilter filter, Consumer<Coupon> consumer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void streamForExport(LocalDateTime changedSince, Consumer<Coupon> consumer) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
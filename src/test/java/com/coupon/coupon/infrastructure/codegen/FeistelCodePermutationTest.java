@@ -0,0 +1,69 @@
+package com.coupon.coupon.infrastructure.codegen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FeistelCodePermutation")
+class FeistelCodePermutationTest {
+
+    private final FeistelCodePermutation permutation = new FeistelCodePermutation("chave-de-teste");
+
+    @Test
+    @DisplayName("sequências distintas dão valores distintos dentro do espaço, e invert desfaz permute")
+    void isBijectionInsideSpace() {
+        Set<Long> seen = new HashSet<>();
+        for (long sequence = 0; sequence < 100_000; sequence++) {
+            long permuted = permutation.permute(sequence);
+            assertThat(permuted).isBetween(0L, FeistelCodePermutation.SPACE - 1);
+            assertThat(permutation.invert(permuted)).isEqualTo(sequence);
+            seen.add(permuted);
+        }
+        assertThat(seen).hasSize(100_000);
+    }
+
+    @Test
+    @DisplayName("funciona nas bordas do espaço")
+    void handlesSpaceEdges() {
+        long last = FeistelCodePermutation.SPACE - 1;
+        assertThat(permutation.invert(permutation.permute(last))).isEqualTo(last);
+        assertThatThrownBy(() -> permutation.permute(FeistelCodePermutation.SPACE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> permutation.permute(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("sequências consecutivas não dão códigos próximos, e outra chave dá outra permutação")
+    void dependsOnKeyAndScattersSequence() {
+        FeistelCodePermutation other = new FeistelCodePermutation("outra-chave");
+        int sameAsOther = 0;
+        for (long sequence = 0; sequence < 1000; sequence++) {
+            assertThat(Math.abs(permutation.permute(sequence + 1) - permutation.permute(sequence))).isGreaterThan(1);
+            if (permutation.permute(sequence) == other.permute(sequence)) {
+                sameAsOther++;
+            }
+        }
+        assertThat(sameAsOther).isZero();
+        assertThat(new FeistelCodePermutation("chave-de-teste").permute(42)).isEqualTo(permutation.permute(42));
+    }
+
+    @Test
+    @DisplayName("encode gera 6 caracteres base 62 com zeros à esquerda")
+    void encodesBase62() {
+        assertThat(FeistelCodePermutation.encode(0)).isEqualTo("000000");
+        assertThat(FeistelCodePermutation.encode(61)).isEqualTo("00000z");
+        assertThat(FeistelCodePermutation.encode(62)).isEqualTo("000010");
+        assertThat(FeistelCodePermutation.encode(FeistelCodePermutation.SPACE - 1)).isEqualTo("zzzzzz");
+    }
+
+    @Test
+    @DisplayName("chave vazia é rejeitada")
+    void rejectsBlankKey() {
+        assertThatThrownBy(() -> new FeistelCodePermutation(" ")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
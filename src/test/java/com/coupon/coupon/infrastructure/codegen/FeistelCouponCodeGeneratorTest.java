@@ -0,0 +1,98 @@
+package com.coupon.coupon.infrastructure.codegen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FeistelCouponCodeGenerator")
+class FeistelCouponCodeGeneratorTest {
+
+    private final FeistelCodePermutation permutation = new FeistelCodePermutation("chave-de-teste");
+
+    @Test
+    @DisplayName("threads concorrentes recebem códigos únicos e só arrendam um bloco por vez")
+    void concurrentCallersGetUniqueCodes() throws Exception {
+        CountingLeaser leaser = new CountingLeaser(0);
+        FeistelCouponCodeGenerator generator = new FeistelCouponCodeGenerator(permutation, leaser, 100);
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 2_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        codes.add(generator.next());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(codes).hasSize(threads * perThread).allMatch(code -> code.matches("[0-9A-Za-z]{6}"));
+        assertThat(leaser.leases.get()).isEqualTo(threads * perThread / 100);
+    }
+
+    @Test
+    @DisplayName("duas instâncias com blocos disjuntos nunca geram o mesmo código")
+    void instancesWithDisjointBlocksDoNotCollide() {
+        CountingLeaser shared = new CountingLeaser(0);
+        FeistelCouponCodeGenerator first = new FeistelCouponCodeGenerator(permutation, shared, 10);
+        FeistelCouponCodeGenerator second = new FeistelCouponCodeGenerator(permutation, shared, 10);
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            codes.add(first.next());
+            codes.add(second.next());
+        }
+        assertThat(codes).hasSize(1000);
+    }
+
+    @Test
+    @DisplayName("espaço esgotado vira IllegalStateException")
+    void failsWhenSpaceIsExhausted() {
+        FeistelCouponCodeGenerator generator = new FeistelCouponCodeGenerator(permutation,
+                new CountingLeaser(FeistelCodePermutation.SPACE - 2), 10);
+        generator.next();
+        generator.next();
+        assertThatThrownBy(generator::next).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static final class CountingLeaser implements CodeBlockLeaser {
+
+        private final AtomicLong next;
+        private final AtomicInteger leases = new AtomicInteger();
+
+        private CountingLeaser(long start) {
+            this.next = new AtomicLong(start);
+        }
+
+        @Override
+        public long lease(int size) {
+            leases.incrementAndGet();
+            return next.getAndAdd(size);
+        }
+    }
+}
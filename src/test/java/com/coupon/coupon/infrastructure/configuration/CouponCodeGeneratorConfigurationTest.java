@@ -0,0 +1,24 @@
+package com.coupon.coupon.infrastructure.configuration;
+
+import com.coupon.coupon.domain.exception.CodeGeneratorUnavailableException;
+import com.coupon.coupon.domain.repository.CouponCodeGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CouponCodeGeneratorConfiguration")
+class CouponCodeGeneratorConfigurationTest {
+
+    private final CouponCodeGeneratorConfiguration configuration = new CouponCodeGeneratorConfiguration();
+
+    @Test
+    @DisplayName("sem chave a aplicação sobe, mas nenhum código é gerado")
+    void blankKeyOnlyDisablesGeneration() {
+        for (String key : new String[]{null, "", "   "}) {
+            CouponCodeGenerator generator = configuration.couponCodeGenerator(null, key, 1000);
+
+            assertThatThrownBy(generator::next).isInstanceOf(CodeGeneratorUnavailableException.class);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.coupon.coupon.infrastructure.configuration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("OutboxRelayConfiguration")
+class OutboxRelayConfigurationTest {
+
+    @Test
+    @DisplayName("relay ligado sem delivery.enabled não sobe: a limpeza apagaria pendentes por idade")
+    void relayRequiresDelivery() {
+        OutboxRelayConfiguration configuration = new OutboxRelayConfiguration();
+
+        assertThatThrownBy(() -> configuration.outboxRelay(null, List.of(), new SimpleMeterRegistry(), 500, 20, false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("coupon.outbox.delivery.enabled");
+    }
+}
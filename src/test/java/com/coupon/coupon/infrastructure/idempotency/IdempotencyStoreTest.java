@@ -0,0 +1,112 @@
+package com.coupon.coupon.infrastructure.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("IdempotencyStore")
+class IdempotencyStoreTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final IdempotencyStore store =
+            new IdempotencyStore(100, Duration.ofMinutes(1), Duration.ofSeconds(5), nanos::get);
+
+    @Test
+    @DisplayName("repetição devolve o resultado original sem executar de novo")
+    void replaysOriginalResult() {
+        AtomicInteger calls = new AtomicInteger();
+
+        IdempotencyStore.Result<String> first = store.execute("c1", "k1", "corpo", () -> "r" + calls.incrementAndGet());
+        IdempotencyStore.Result<String> second = store.execute("c1", "k1", "corpo", () -> "r" + calls.incrementAndGet());
+
+        assertThat(first.getValue()).isEqualTo("r1");
+        assertThat(first.isReplayed()).isFalse();
+        assertThat(second.getValue()).isEqualTo("r1");
+        assertThat(second.isReplayed()).isTrue();
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("duplicatas concorrentes esperam a primeira execução")
+    void concurrentDuplicatesWaitForFirst() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<IdempotencyStore.Result<Integer>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> store.execute("c1", "k2", "corpo", () -> {
+                running.countDown();
+                await(release);
+                return calls.incrementAndGet();
+            })));
+            running.await();
+            for (int i = 1; i < threads; i++) {
+                results.add(executor.submit(() -> store.execute("c1", "k2", "corpo", calls::incrementAndGet)));
+            }
+            release.countDown();
+            for (Future<IdempotencyStore.Result<Integer>> result : results) {
+                assertThat(result.get().getValue()).isEqualTo(1);
+            }
+            assertThat(calls).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("mesma chave com outro corpo é rejeitada")
+    void rejectsDifferentFingerprint() {
+        store.execute("c1", "k3", "corpo", () -> "r");
+
+        assertThatThrownBy(() -> store.execute("c1", "k3", "outro", () -> "x"))
+                .isInstanceOf(IdempotencyConflictException.class)
+                .hasMessageContaining("outro corpo");
+    }
+
+    @Test
+    @DisplayName("a mesma chave em clientes diferentes não compartilha a resposta")
+    void keysAreScopedPerClient() {
+        store.execute("c1", "k5", "corpo", () -> "do c1");
+
+        IdempotencyStore.Result<String> other = store.execute("c2", "k5", "corpo", () -> "do c2");
+
+        assertThat(other.getValue()).isEqualTo("do c2");
+        assertThat(other.isReplayed()).isFalse();
+        assertThat(store.execute("c1", "k5", "corpo", () -> "x").getValue()).isEqualTo("do c1");
+    }
+
+    @Test
+    @DisplayName("falha não é memorizada e a chave expira pelo TTL")
+    void failureIsNotStoredAndKeyExpires() {
+        assertThatThrownBy(() -> store.execute("c1", "k4", "corpo", () -> {
+            throw new IllegalStateException("falhou");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(store.execute("c1", "k4", "corpo", () -> "ok").isReplayed()).isFalse();
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        assertThat(store.execute("c1", "k4", "corpo", () -> "novo").getValue()).isEqualTo("novo");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
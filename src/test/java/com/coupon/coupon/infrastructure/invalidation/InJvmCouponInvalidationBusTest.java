@@ -0,0 +1,80 @@
+package com.coupon.coupon.infrastructure.invalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("InJvmCouponInvalidationBus")
+class InJvmCouponInvalidationBusTest {
+
+    private final InJvmCouponInvalidationBus bus = new InJvmCouponInvalidationBus(new SimpleMeterRegistry());
+    private final List<Set<UUID>> delivered = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("ids de uma transação são juntados e entregues uma vez, depois do commit")
+    void coalescesPerTransaction() {
+        bus.subscribe((ids, local) -> {
+            assertThat(local).isTrue();
+            delivered.add(ids);
+        });
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+
+        bus.publish(List.of(first));
+        bus.publish(List.of(second, first));
+        assertThat(delivered).isEmpty();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(synchronizations).hasSize(1);
+        assertThat(delivered).singleElement().isEqualTo(Set.of(first, second));
+    }
+
+    @Test
+    @DisplayName("rollback não entrega nada; fora de transação entrega na hora")
+    void deliversOnlyCommittedChanges() {
+        bus.subscribe((ids, local) -> delivered.add(ids));
+        TransactionSynchronizationManager.initSynchronization();
+        bus.publish(List.of(UUID.randomUUID()));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(delivered).isEmpty();
+
+        UUID id = UUID.randomUUID();
+        bus.publish(List.of(id));
+
+        assertThat(delivered).singleElement().isEqualTo(Set.of(id));
+    }
+
+    @Test
+    @DisplayName("listener com erro não impede os demais")
+    void isolatesFailingListener() {
+        bus.subscribe((ids, local) -> {
+            throw new IllegalStateException("listener quebrado");
+        });
+        bus.subscribe((ids, local) -> delivered.add(ids));
+
+        bus.publish(List.of(UUID.randomUUID()));
+
+        assertThat(delivered).hasSize(1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.coupon.coupon.infrastructure.invalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PollingCouponInvalidationBus")
+class PollingCouponInvalidationBusTest {
+
+    private final FakeChangeLog changeLog = new FakeChangeLog();
+    private final List<Set<UUID>> received = new ArrayList<>();
+
+    @Test
+    @DisplayName("começa do fim do log e entrega cada lote de uma vez, sem ids repetidos")
+    void deliversCoalescedBatchesFromCursor() {
+        changeLog.add(1, UUID.randomUUID());
+        PollingCouponInvalidationBus bus = bus(Duration.ofMinutes(1));
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        changeLog.add(2, first);
+        changeLog.add(3, second);
+        changeLog.add(4, first);
+        changeLog.add(5, second);
+
+        bus.poll();
+        bus.poll();
+
+        // lote de 3: {2, 3, 4} e depois {5}
+        assertThat(received).containsExactly(Set.of(first, second), Set.of(second));
+    }
+
+    @Test
+    @DisplayName("sequence que commita depois de uma maior ainda é entregue")
+    void deliversLateCommitsBelowCursor() {
+        PollingCouponInvalidationBus bus = bus(Duration.ofMinutes(1));
+        UUID early = UUID.randomUUID();
+        UUID late = UUID.randomUUID();
+        changeLog.add(2, early);
+
+        bus.poll();
+        changeLog.add(1, late);
+        bus.poll();
+        bus.poll();
+
+        assertThat(received).containsExactly(Set.of(early), Set.of(late));
+    }
+
+    @Test
+    @DisplayName("buraco que não aparece dentro de gapTimeout deixa de ser consultado")
+    void dropsGapsAfterTimeout() {
+        PollingCouponInvalidationBus bus = bus(Duration.ZERO);
+        changeLog.add(3, UUID.randomUUID());
+
+        bus.poll();
+        bus.poll();
+        changeLog.add(1, UUID.randomUUID());
+        bus.poll();
+
+        assertThat(changeLog.gapQueries).isEqualTo(1);
+        assertThat(received).hasSize(1);
+    }
+
+    private PollingCouponInvalidationBus bus(Duration gapTimeout) {
+        PollingCouponInvalidationBus bus = new PollingCouponInvalidationBus(changeLog, new SimpleMeterRegistry(), 3,
+                gapTimeout);
+        bus.subscribe((ids, local) -> {
+            assertThat(local).isFalse();
+            received.add(ids);
+        });
+        return bus;
+    }
+
+    private static final class FakeChangeLog implements CouponChangeLog {
+
+        private final TreeMap<Long, UUID> rows = new TreeMap<>();
+        private int gapQueries;
+
+        void add(long sequence, UUID couponId) {
+            rows.put(sequence, couponId);
+        }
+
+        @Override
+        public long lastSequence() {
+            return rows.isEmpty() ? 0 : rows.lastKey();
+        }
+
+        @Override
+        public List<CouponChange> findAfter(long sequence, int limit) {
+            return rows.tailMap(sequence, false).entrySet().stream()
+                    .limit(limit)
+                    .map(e -> new CouponChange(e.getKey(), e.getValue()))
+                    .toList();
+        }
+
+        @Override
+        public List<CouponChange> findBySequences(Collection<Long> sequences) {
+            gapQueries++;
+            return sequences.stream()
+                    .filter(rows::containsKey)
+                    .map(s -> new CouponChange(s, rows.get(s)))
+                    .toList();
+        }
+    }
+}
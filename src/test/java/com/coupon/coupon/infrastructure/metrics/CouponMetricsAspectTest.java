@@ -0,0 +1,79 @@
+package com.coupon.coupon.infrastructure.metrics;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.application.create.CreateCouponUseCase;
+import com.coupon.coupon.application.delete.DeleteCouponUseCase;
+import com.coupon.coupon.domain.exception.CouponNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = ApiApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("CouponMetricsAspect - integração")
+class CouponMetricsAspectTest {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("caso de uso e adapter registram timer por método e resultado")
+    void recordsUseCaseAndRepositoryTimers() {
+        long before = count(CouponMetricsAspect.USE_CASE_TIMER, "CreateCouponUseCase", "execute", "success");
+
+        createCouponUseCase.execute("MTR001", "Métrica", new BigDecimal("1.0"), LocalDateTime.now().plusDays(1), false);
+        assertThatThrownBy(() -> deleteCouponUseCase.execute(UUID.randomUUID()))
+                .isInstanceOf(CouponNotFoundException.class);
+
+        assertThat(count(CouponMetricsAspect.USE_CASE_TIMER, "CreateCouponUseCase", "execute", "success"))
+                .isEqualTo(before + 1);
+        assertThat(count(CouponMetricsAspect.USE_CASE_TIMER, "DeleteCouponUseCase", "execute", "CouponNotFoundException"))
+                .isPositive();
+        assertThat(count(CouponMetricsAspect.REPOSITORY_TIMER, "CouponRepositoryAdapter", "save", "success"))
+                .isPositive();
+        Timer timer = registry.get(CouponMetricsAspect.USE_CASE_TIMER)
+                .tags("class", "CreateCouponUseCase", "method", "execute", "outcome", "success").timer();
+        assertThat(timer.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    @DisplayName("exceção tratada pelo handler incrementa contador com status")
+    void countsHandledErrors() throws Exception {
+        mockMvc.perform(delete("/coupons/" + UUID.randomUUID())).andExpect(status().isNotFound());
+
+        assertThat(registry.get(CouponMetricsAspect.ERROR_COUNTER)
+                .tags("exception", "CouponNotFoundException", "status", "404").counter().count())
+                .isPositive();
+    }
+
+    private long count(String name, String type, String method, String outcome) {
+        Timer timer = registry.find(name).tags("class", type, "method", method, "outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,47 @@
+package com.coupon.coupon.infrastructure.outbox;
+
+import com.coupon.coupon.domain.model.CouponEventType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FileCouponEventSink")
+class FileCouponEventSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("anexa uma linha NDJSON por evento, com o payload como objeto")
+    void appendsOneLinePerEvent(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("eventos/coupon-events.ndjson");
+        FileCouponEventSink sink = new FileCouponEventSink(file);
+        UUID id = UUID.randomUUID();
+        LocalDateTime at = LocalDateTime.of(2082, 1, 2, 3, 4, 5);
+
+        sink.publish(List.of(new OutboxMessage(1, CouponEventType.CREATED, id, at, "{\"code\":\"ABC123\"}")));
+        sink.publish(List.of(new OutboxMessage(2, CouponEventType.REDEEMED, id, at, null),
+                new OutboxMessage(3, CouponEventType.DELETED, id, at, null)));
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(3);
+        JsonNode created = objectMapper.readTree(lines.get(0));
+        assertThat(created.get("sequence").asLong()).isEqualTo(1);
+        assertThat(created.get("type").asText()).isEqualTo("CREATED");
+        assertThat(created.get("couponId").asText()).isEqualTo(id.toString());
+        assertThat(created.get("occurredAt").asText()).isEqualTo("2082-01-02T03:04:05");
+        assertThat(created.get("payload").get("code").asText()).isEqualTo("ABC123");
+        assertThat(objectMapper.readTree(lines.get(2)).has("payload")).isFalse();
+        assertThat(objectMapper.readTree(lines.get(2)).get("type").asText()).isEqualTo("DELETED");
+    }
+}
@@ -0,0 +1,74 @@
+package com.coupon.coupon.infrastructure.outbox;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.application.create.CreateCouponUseCase;
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.infrastructure.persistence.CouponOutboxJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ApiApplication.class)
+@ActiveProfiles("test")
+@DisplayName("OutboxPruner - integração")
+class OutboxPrunerTest {
+
+    // fora das faixas de ano dos outros testes de integração
+    private static final LocalDateTime EXPIRATION = LocalDateTime.of(2083, 6, 1, 0, 0);
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private OutboxStore store;
+
+    @Autowired
+    private CouponOutboxJpaRepository outboxJpaRepository;
+
+    @Test
+    @DisplayName("com entrega, apaga em chunks só os eventos já entregues, por mais velho que seja o pendente")
+    void prunesDispatchedInChunks() throws IOException {
+        Coupon delivered = create("OBP001");
+        drain(new OutboxRelay(store, List.of(batch -> {
+        }), new SimpleMeterRegistry(), 100, 1000));
+        Coupon pending = create("OBP002");
+
+        new OutboxPruner(store, new SimpleMeterRegistry(), Duration.ZERO, Duration.ZERO, 2, false).prune();
+
+        assertThat(outboxJpaRepository.findAll())
+                .noneMatch(row -> row.getCouponId().equals(delivered.getId()))
+                .anyMatch(row -> row.getCouponId().equals(pending.getId()) && row.getDispatchedAt() == null);
+    }
+
+    @Test
+    @DisplayName("sem entrega, o change log sai passada a idade máxima")
+    void prunesUndispatchedAfterMaxAgeWithoutDelivery() {
+        Coupon pending = create("OBP003");
+
+        new OutboxPruner(store, new SimpleMeterRegistry(), Duration.ofDays(1), Duration.ZERO, 2, true).prune();
+
+        assertThat(outboxJpaRepository.findAll()).noneMatch(row -> row.getCouponId().equals(pending.getId()));
+    }
+
+    private Coupon create(String code) {
+        return createCouponUseCase.execute(code, "Outbox", new BigDecimal("5.0"), EXPIRATION, true);
+    }
+
+    // outros testes deixam eventos pendentes na mesma base: entrega até esvaziar
+    private static void drain(OutboxRelay relay) throws IOException {
+        while (relay.dispatchNextBatch() > 0) {
+            // próximo lote
+        }
+    }
+}
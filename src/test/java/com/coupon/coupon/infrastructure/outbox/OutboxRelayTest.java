@@ -0,0 +1,125 @@
+package com.coupon.coupon.infrastructure.outbox;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.application.create.CreateCouponUseCase;
+import com.coupon.coupon.application.delete.BulkDeleteCouponsUseCase;
+import com.coupon.coupon.application.delete.DeleteCouponUseCase;
+import com.coupon.coupon.application.redeem.RedeemCouponUseCase;
+import com.coupon.coupon.domain.exception.CouponAlreadyDeletedException;
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = ApiApplication.class)
+@ActiveProfiles("test")
+@DisplayName("OutboxRelay - integração")
+class OutboxRelayTest {
+
+    // fora das faixas de ano dos outros testes de integração
+    private static final LocalDateTime EXPIRATION = LocalDateTime.of(2082, 6, 1, 0, 0);
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private RedeemCouponUseCase redeemCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private BulkDeleteCouponsUseCase bulkDeleteCouponsUseCase;
+
+    @Autowired
+    private OutboxStore store;
+
+    @Test
+    @DisplayName("create, resgate e delete chegam ao sink uma vez, na ordem em que aconteceram")
+    void deliversLifecycleInOrder() throws IOException {
+        Coupon coupon = create("OBX001");
+        redeemCouponUseCase.execute(coupon.getId());
+        deleteCouponUseCase.execute(coupon.getId());
+        List<OutboxMessage> received = new ArrayList<>();
+        OutboxRelay relay = relay(received::addAll);
+
+        drain(relay);
+        drain(relay);
+
+        List<OutboxMessage> own = of(received, coupon.getId());
+        assertThat(own).extracting(OutboxMessage::getType)
+                .containsExactly(CouponEventType.CREATED, CouponEventType.REDEEMED, CouponEventType.DELETED);
+        assertThat(own).extracting(OutboxMessage::getSequence).isSorted();
+        assertThat(own.get(0).getPayload()).contains("\"code\":\"OBX001\"").contains("\"published\":true");
+        assertThat(own.get(1).getPayload()).isNull();
+    }
+
+    @Test
+    @DisplayName("só a mudança que de fato aconteceu gera evento")
+    void recordsOnlyEffectiveChanges() throws IOException {
+        Coupon first = create("OBX002");
+        Coupon second = create("OBX003");
+        deleteCouponUseCase.execute(first.getId());
+        assertThatThrownBy(() -> deleteCouponUseCase.execute(first.getId()))
+                .isInstanceOf(CouponAlreadyDeletedException.class);
+        bulkDeleteCouponsUseCase.deleteByIds(List.of(first.getId(), second.getId(), UUID.randomUUID()));
+        List<OutboxMessage> received = new ArrayList<>();
+
+        drain(relay(received::addAll));
+
+        assertThat(of(received, first.getId())).extracting(OutboxMessage::getType)
+                .containsExactly(CouponEventType.CREATED, CouponEventType.DELETED);
+        assertThat(of(received, second.getId())).extracting(OutboxMessage::getType)
+                .containsExactly(CouponEventType.CREATED, CouponEventType.DELETED);
+    }
+
+    @Test
+    @DisplayName("falha num sink deixa o lote pendente e ele é reenviado inteiro")
+    void failedBatchIsRetried() throws IOException {
+        Coupon coupon = create("OBX004");
+        OutboxRelay failing = relay(batch -> {
+            throw new IOException("sink fora do ar");
+        });
+
+        assertThatThrownBy(failing::dispatchNextBatch).isInstanceOf(IOException.class);
+        failing.relay();
+
+        List<OutboxMessage> received = new ArrayList<>();
+        drain(relay(received::addAll));
+        assertThat(of(received, coupon.getId())).extracting(OutboxMessage::getType)
+                .containsExactly(CouponEventType.CREATED);
+    }
+
+    private Coupon create(String code) {
+        return createCouponUseCase.execute(code, "Outbox", new BigDecimal("5.0"), EXPIRATION, true);
+    }
+
+    private OutboxRelay relay(CouponEventSink sink) {
+        return new OutboxRelay(store, List.of(sink), new SimpleMeterRegistry(), 100, 1000);
+    }
+
+    // outros testes deixam eventos pendentes na mesma base: entrega até esvaziar
+    private static void drain(OutboxRelay relay) throws IOException {
+        while (relay.dispatchNextBatch() > 0) {
+            // próximo lote
+        }
+    }
+
+    private static List<OutboxMessage> of(List<OutboxMessage> messages, UUID couponId) {
+        return messages.stream().filter(m -> m.getCouponId().equals(couponId)).toList();
+    }
+}
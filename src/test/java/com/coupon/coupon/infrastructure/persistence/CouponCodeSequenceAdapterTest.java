@@ -0,0 +1,68 @@
+package com.coupon.coupon.infrastructure.persistence;
+
+import com.coupon.api.ApiApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ApiApplication.class)
+@ActiveProfiles("test")
+@DisplayName("CouponCodeSequenceAdapter - arrendamento de blocos")
+class CouponCodeSequenceAdapterTest {
+
+    @Autowired
+    private CouponCodeSequenceJpaRepository jpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("instâncias concorrentes recebem blocos disjuntos da mesma sequência")
+    void concurrentInstancesLeaseDisjointBlocks() throws Exception {
+        // duas "instâncias" da aplicação: adapters distintos sobre o mesmo banco
+        List<CouponCodeSequenceAdapter> adapters = List.of(
+                new CouponCodeSequenceAdapter(jpaRepository, transactionManager),
+                new CouponCodeSequenceAdapter(jpaRepository, transactionManager));
+        int threads = 4;
+        int leasesPerThread = 25;
+        int size = 50;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Long> starts = new ArrayList<>();
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                CouponCodeSequenceAdapter adapter = adapters.get(t % adapters.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Long> leased = new ArrayList<>();
+                    for (int i = 0; i < leasesPerThread; i++) {
+                        leased.add(adapter.lease(size));
+                    }
+                    return leased;
+                }));
+            }
+            start.countDown();
+            for (Future<List<Long>> future : futures) {
+                starts.addAll(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // blocos de mesmo tamanho são disjuntos se os inícios são distintos e múltiplos do tamanho
+        assertThat(starts).doesNotHaveDuplicates().allMatch(value -> value >= 0 && value % size == 0);
+    }
+}
@@ -0,0 +1,238 @@
+package com.coupon.coupon.infrastructure.persistence;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.application.create.CreateCouponUseCase;
+import com.coupon.coupon.application.delete.DeleteCouponUseCase;
+import com.coupon.coupon.application.redeem.RedeemCouponUseCase;
+import com.coupon.coupon.domain.exception.DuplicateCouponCodeException;
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponEvent;
+import com.coupon.coupon.domain.repository.CouponOutbox;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = ApiApplication.class)
+@ActiveProfiles("test")
+@DisplayName("CouponRepositoryAdapter - statements por operação")
+class CouponRepositoryAdapterTest {
+
+    private static final LocalDateTime FUTURE = LocalDateTime.now().plusDays(10);
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private RedeemCouponUseCase redeemCouponUseCase;
+
+    @Autowired
+    private CouponOutbox outbox;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CouponJpaRepository jpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("save de cupom novo executa um único INSERT, sem SELECT de merge")
+    void saveNewCouponIssuesSingleInsert() {
+        Coupon coupon = Coupon.create("STM001", "Statement", new BigDecimal("1.0"), FUTURE, false);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> couponRepository.save(coupon));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("criação pelo caso de uso executa só o INSERT do cupom e o do outbox")
+    void createUseCaseIssuesSingleStatement() {
+        createCouponUseCase.execute("STM002", "Statement", new BigDecimal("1.0"), FUTURE, false);
+
+        assertStatementsWithOutbox(2);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("saveAll reaproveita um único statement em batch")
+    void saveAllUsesBatchedInsert() {
+        List<Coupon> coupons = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            coupons.add(Coupon.create(String.format("STB%03d", i), "Lote", new BigDecimal("1.0"), FUTURE, false));
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> couponRepository.saveAll(coupons));
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("eventos do outbox em lote reaproveitam um único statement em batch")
+    void outboxRecordAllUsesBatchedInsert() {
+        List<CouponEvent> events = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            events.add(CouponEvent.deleted(UUID.randomUUID(), LocalDateTime.now()));
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> outbox.recordAll(events));
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(20);
+        assertStatementsWithOutbox(1);
+    }
+
+    @Test
+    @DisplayName("delete executa um único UPDATE condicional e o INSERT do outbox, sem SELECT")
+    void deleteIssuesSingleConditionalUpdate() {
+        Coupon created = createCouponUseCase.execute("STM003", "Statement", new BigDecimal("1.0"), FUTURE, false);
+        statistics.clear();
+
+        deleteCouponUseCase.execute(created.getId());
+
+        assertStatementsWithOutbox(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(couponRepository.findById(created.getId())).get().extracting(Coupon::isDeleted).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("redeem executa um único UPDATE condicional e o INSERT do outbox, sem SELECT")
+    void redeemIssuesSingleConditionalUpdate() {
+        Coupon created = createCouponUseCase.execute("STM004", "Statement", new BigDecimal("1.0"), FUTURE, true);
+        statistics.clear();
+
+        redeemCouponUseCase.execute(created.getId());
+
+        assertStatementsWithOutbox(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("código repetido vira DuplicateCouponCodeException")
+    void duplicateCodeIsMappedToDomainException() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> couponRepository.save(
+                Coupon.create("STM007", "Statement", new BigDecimal("1.0"), FUTURE, false)));
+
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> couponRepository.save(
+                Coupon.create("STM007", "Statement", new BigDecimal("1.0"), FUTURE, false))))
+                .isInstanceOf(DuplicateCouponCodeException.class);
+    }
+
+    @Test
+    @DisplayName("outras violações de integridade não viram código duplicado")
+    void otherIntegrityViolationsAreNotDuplicates() {
+        Coupon coupon = Coupon.create("STM008", "Statement", new BigDecimal("1.0"), FUTURE, false);
+        coupon.setDescription(null);
+
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> couponRepository.save(coupon)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("UPDATE condicional incrementa a versão e update com versão antiga é recusado")
+    void staleUpdateIsRejectedAfterConditionalUpdate() {
+        Coupon created = createCouponUseCase.execute("STM005", "Statement", new BigDecimal("1.0"), FUTURE, true);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Coupon stale = transaction.execute(status -> couponRepository.findById(created.getId()).orElseThrow());
+
+        redeemCouponUseCase.execute(created.getId());
+        stale.setDescription("Sobrescrita");
+
+        assertThat(jpaRepository.findById(created.getId())).get().extracting(CouponJpaEntity::getVersion)
+                .isEqualTo(stale.getVersion() + 1);
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> couponRepository.update(stale)))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(jpaRepository.findById(created.getId())).get().extracting(CouponJpaEntity::getDescription)
+                .isEqualTo("Statement");
+    }
+
+    @Test
+    @DisplayName("update com a versão atual grava e incrementa a versão")
+    void updateWithCurrentVersionBumpsVersion() {
+        Coupon created = createCouponUseCase.execute("STM006", "Statement", new BigDecimal("1.0"), FUTURE, false);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Coupon current = transaction.execute(status -> couponRepository.findById(created.getId()).orElseThrow());
+        current.setDescription("Atualizada");
+
+        Coupon updated = transaction.execute(status -> couponRepository.update(current));
+
+        assertThat(updated.getVersion()).isEqualTo(current.getVersion() + 1);
+        assertThat(updated.getDescription()).isEqualTo("Atualizada");
+    }
+
+    @Test
+    @DisplayName("export limpa o contexto de persistência a cada lote do cursor")
+    void exportClearsPersistenceContextEveryFetch() {
+        List<Coupon> coupons = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            coupons.add(Coupon.create(String.format("STX%03d", i), "Export", new BigDecimal("1.0"), FUTURE, false));
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> couponRepository.saveAll(coupons));
+        CouponRepositoryAdapter adapter = new CouponRepositoryAdapter(jpaRepository, entityManager, 500, 2);
+        List<String> codes = new ArrayList<>();
+        int[] maxManaged = {0};
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                adapter.streamForExport(LocalDateTime.now().minusMinutes(1), coupon -> {
+                    if (coupon.getCode().startsWith("STX")) {
+                        codes.add(coupon.getCode());
+                    }
+                    maxManaged[0] = Math.max(maxManaged[0],
+                            entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+                }));
+
+        assertThat(codes).hasSize(7);
+        assertThat(maxManaged[0]).isLessThanOrEqualTo(2);
+    }
+
+    // o id do outbox sai de uma sequence em blocos: quando o bloco da instância acaba, o INSERT vem com uma
+    // consulta à sequence (uma a cada ID_ALLOCATION_SIZE eventos)
+    private void assertStatementsWithOutbox(long expected) {
+        assertThat(statistics.getPrepareStatementCount()).isBetween(expected, expected + 1);
+    }
+}
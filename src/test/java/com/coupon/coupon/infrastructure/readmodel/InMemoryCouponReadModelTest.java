@@ -0,0 +1,215 @@
+package com.coupon.coupon.infrastructure.readmodel;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.application.create.CreateCouponUseCase;
+import com.coupon.coupon.application.delete.DeleteCouponUseCase;
+import com.coupon.coupon.application.redeem.RedeemCouponUseCase;
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponStatus;
+import com.coupon.coupon.domain.repository.CouponFilter;
+import com.coupon.coupon.domain.repository.CouponKeyset;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import com.coupon.coupon.infrastructure.invalidation.CouponChangeLog;
+import com.coupon.coupon.infrastructure.invalidation.InJvmCouponInvalidationBus;
+import com.coupon.coupon.infrastructure.invalidation.PollingCouponInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ApiApplication.class)
+@ActiveProfiles("test")
+@DisplayName("InMemoryCouponReadModel")
+class InMemoryCouponReadModelTest {
+
+    // faixa de datas exclusiva desta classe para não enxergar cupons de outros testes
+    private static final LocalDateTime BASE = LocalDateTime.of(2081, 1, 1, 0, 0);
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private DeleteCouponUseCase deleteCouponUseCase;
+
+    @Autowired
+    private RedeemCouponUseCase redeemCouponUseCase;
+
+    @Autowired
+    private CouponChangeLog changeLog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("páginas e cursor iguais aos do banco para status ACTIVE")
+    void pagesLikeTheDatabase() {
+        InMemoryCouponReadModel readModel = new InMemoryCouponReadModel(couponRepository, bus(), transactionManager);
+        for (int i = 0; i < 9; i++) {
+            // três cupons por data forçam o desempate por id
+            Coupon coupon = createCouponUseCase.execute(String.format("RMP%03d", i), "Projeção",
+                    new BigDecimal("1.0"), BASE.plusDays(i / 3), i % 2 == 0);
+            readModel.put(coupon);
+        }
+        Coupon deleted = createCouponUseCase.execute("RMP999", "Deletado", new BigDecimal("1.0"), BASE, true);
+        deleteCouponUseCase.execute(deleted.getId());
+        CouponFilter filter = new CouponFilter(CouponStatus.ACTIVE, null, BASE, BASE.plusMonths(1));
+
+        List<UUID> fromDatabase = new TransactionTemplate(transactionManager).execute(status ->
+                couponRepository.findPage(filter, null, 100).stream().map(Coupon::getId).toList());
+        List<UUID> fromReadModel = new ArrayList<>();
+        CouponKeyset after = null;
+        List<Coupon> page;
+        do {
+            page = readModel.findPage(filter, after, 4);
+            page.forEach(coupon -> fromReadModel.add(coupon.getId()));
+            Coupon last = page.isEmpty() ? null : page.get(page.size() - 1);
+            after = last == null ? null : new CouponKeyset(last.getExpirationDate(), last.getId());
+        } while (page.size() == 4);
+
+        assertThat(fromReadModel).hasSize(9).containsExactlyElementsOf(fromDatabase);
+        assertThat(readModel.findPage(new CouponFilter(CouponStatus.ACTIVE, true, BASE, BASE.plusMonths(1)), null, 100))
+                .hasSize(5).allMatch(Coupon::isPublished);
+        assertThat(readModel.findPage(new CouponFilter(CouponStatus.ACTIVE, null, BASE.plusDays(1), BASE.plusDays(2)), null, 100))
+                .extracting(Coupon::getCode).containsExactlyInAnyOrder("RMP003", "RMP004", "RMP005");
+    }
+
+    @Test
+    @DisplayName("carga inicial traz só os ativos do banco")
+    void backfillsActiveCoupons() {
+        Coupon active = createCouponUseCase.execute("RMB001", "Ativo", new BigDecimal("1.0"), BASE.plusYears(1), true);
+        Coupon deleted = createCouponUseCase.execute("RMB002", "Deletado", new BigDecimal("1.0"), BASE.plusYears(1), true);
+        deleteCouponUseCase.execute(deleted.getId());
+
+        InMemoryCouponReadModel readModel = new InMemoryCouponReadModel(couponRepository, bus(), transactionManager);
+        readModel.afterSingletonsInstantiated();
+
+        assertThat(readModel.findById(active.getId())).isPresent();
+        assertThat(readModel.findByCode("RMB001")).map(Coupon::getId).contains(active.getId());
+        assertThat(readModel.findById(deleted.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("alterações feitas em transação só entram no commit; rollback não chega à projeção")
+    void appliesChangesAfterCommitOnly() {
+        InMemoryCouponReadModel readModel = new InMemoryCouponReadModel(couponRepository, bus(), transactionManager);
+        Coupon committed = coupon("RMT001", BASE.plusYears(2));
+        Coupon rolledBack = coupon("RMT002", BASE.plusYears(2));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            readModel.put(committed);
+            assertThat(readModel.findById(committed.getId())).isEmpty();
+        });
+        transaction.executeWithoutResult(status -> {
+            readModel.put(rolledBack);
+            status.setRollbackOnly();
+        });
+
+        assertThat(readModel.findById(committed.getId())).isPresent();
+        assertThat(readModel.findById(rolledBack.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("escritas de outra instância chegam pelo change log: cria, resgata e remove")
+    void followsOtherInstanceThroughChangeLog() {
+        PollingCouponInvalidationBus bus = new PollingCouponInvalidationBus(changeLog, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(1));
+        InMemoryCouponReadModel otherInstance = new InMemoryCouponReadModel(couponRepository, bus, transactionManager);
+        Coupon coupon = createCouponUseCase.execute("RMX001", "Outra instância", new BigDecimal("1.0"),
+                BASE.plusYears(5), true);
+
+        bus.poll();
+        assertThat(otherInstance.findByCode("RMX001")).map(Coupon::getId).contains(coupon.getId());
+
+        redeemCouponUseCase.execute(coupon.getId());
+        bus.poll();
+        assertThat(otherInstance.findById(coupon.getId())).map(Coupon::isRedeemed).contains(true);
+
+        deleteCouponUseCase.execute(coupon.getId());
+        bus.poll();
+        assertThat(otherInstance.findById(coupon.getId())).isEmpty();
+        assertThat(otherInstance.findByCode("RMX001")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("resgate e remoção atualizam os três índices")
+    void redeemAndRemoveUpdateAllIndexes() {
+        InMemoryCouponReadModel readModel = new InMemoryCouponReadModel(null, bus(), null);
+        Coupon coupon = coupon("RMI001", BASE.plusYears(3));
+        CouponFilter all = new CouponFilter(CouponStatus.ACTIVE, null, null, null);
+        readModel.put(coupon);
+
+        readModel.markRedeemed(coupon.getId());
+        assertThat(readModel.findById(coupon.getId())).map(Coupon::isRedeemed).contains(true);
+        assertThat(readModel.findById(coupon.getId())).map(Coupon::getVersion).contains(coupon.getVersion() + 1);
+        assertThat(readModel.findByCode("RMI001")).map(Coupon::isRedeemed).contains(true);
+        assertThat(readModel.findPage(all, null, 10)).singleElement().matches(Coupon::isRedeemed);
+
+        readModel.remove(coupon.getId());
+        assertThat(readModel.findById(coupon.getId())).isEmpty();
+        assertThat(readModel.findByCode("RMI001")).isEmpty();
+        assertThat(readModel.findPage(all, null, 10)).isEmpty();
+        assertThat(readModel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("vencidos somem das leituras e são descartados na varredura, sem evento de expiração")
+    void dropsExpiredCouponsOnRead() {
+        InMemoryCouponReadModel readModel = new InMemoryCouponReadModel(null, bus(), null);
+        Coupon expired = coupon("RME001", LocalDateTime.now().minusMinutes(1));
+        Coupon active = coupon("RME002", LocalDateTime.now().plusDays(1));
+        readModel.put(expired);
+        readModel.put(active);
+
+        assertThat(readModel.findByCode("RME001")).isEmpty();
+        List<String> codes = new ArrayList<>();
+        readModel.forEach(new CouponFilter(CouponStatus.ACTIVE, null, null, null), c -> codes.add(c.getCode()));
+
+        assertThat(codes).containsExactly("RME002");
+        assertThat(readModel.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("quem lê recebe cópia: alterar o cupom devolvido não muda a projeção")
+    void returnsCopies() {
+        InMemoryCouponReadModel readModel = new InMemoryCouponReadModel(null, bus(), null);
+        Coupon coupon = coupon("RMC001", BASE.plusYears(4));
+        readModel.put(coupon);
+
+        readModel.findById(coupon.getId()).orElseThrow().setDescription("alterada");
+        coupon.setDescription("alterada também");
+
+        assertThat(readModel.findById(coupon.getId())).map(Coupon::getDescription).contains("Projeção");
+    }
+
+    private static InJvmCouponInvalidationBus bus() {
+        return new InJvmCouponInvalidationBus(new SimpleMeterRegistry());
+    }
+
+    private static Coupon coupon(String code, LocalDateTime expirationDate) {
+        Coupon coupon = new Coupon();
+        coupon.setId(UUID.randomUUID());
+        coupon.setCode(code);
+        coupon.setDescription("Projeção");
+        coupon.setDiscountValue(new BigDecimal("1.0"));
+        coupon.setExpirationDate(expirationDate);
+        coupon.setPublished(true);
+        return coupon;
+    }
+}
@@ -0,0 +1,78 @@
+package com.coupon.coupon.infrastructure.scheduling;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.api.response.CouponResponse;
+import com.coupon.coupon.application.expire.ExpireCouponsUseCase;
+import com.coupon.coupon.domain.model.Coupon;
+import com.coupon.coupon.domain.model.CouponStatus;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ApiApplication.class)
+@ActiveProfiles("test")
+@DisplayName("ExpiredCouponSweeper - integração")
+class ExpiredCouponSweeperTest {
+
+    @Autowired
+    private ExpireCouponsUseCase expireCouponsUseCase;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("marca vencidos em chunks, ignora deletados e vigentes e publica progresso")
+    void sweepsExpiredCouponsInChunks() {
+        List<Coupon> expired = insert("SWX", LocalDateTime.now().minusDays(2), 5);
+        Coupon deleted = insert("SWD", LocalDateTime.now().minusDays(2), 1).get(0);
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> couponRepository.softDelete(deleted.getId(), LocalDateTime.now()));
+        Coupon live = insert("SWL", LocalDateTime.now().plusDays(2), 1).get(0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ExpiredCouponSweeper sweeper = new ExpiredCouponSweeper(expireCouponsUseCase, registry, 2, 1000, Duration.ZERO);
+
+        sweeper.sweep();
+
+        for (Coupon coupon : expired) {
+            Coupon fromDb = couponRepository.findById(coupon.getId()).orElseThrow();
+            assertThat(fromDb.getExpiredAt()).isNotNull();
+            assertThat(CouponResponse.from(fromDb).getStatus()).isEqualTo(CouponStatus.EXPIRED);
+        }
+        assertThat(couponRepository.findById(deleted.getId()).orElseThrow().getExpiredAt()).isNull();
+        assertThat(couponRepository.findById(live.getId()).orElseThrow().getExpiredAt()).isNull();
+        assertThat(registry.get("coupon.sweeper.expired").counter().count()).isGreaterThanOrEqualTo(5);
+        assertThat(registry.get("coupon.sweeper.chunk").timer().count()).isGreaterThanOrEqualTo(3);
+
+        sweeper.sweep();
+        assertThat(registry.get("coupon.sweeper.last.run.expired").gauge().value()).isZero();
+    }
+
+    // expirationDate atribuída depois do create para permitir cupons já vencidos
+    private List<Coupon> insert(String prefix, LocalDateTime expiration, int count) {
+        List<Coupon> coupons = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Coupon coupon = Coupon.create(prefix + String.format("%03d", i), "Sweeper", new BigDecimal("1.0"),
+                    LocalDateTime.now().plusDays(1), false);
+            coupon.setExpirationDate(expiration);
+            coupons.add(coupon);
+        }
+        return new TransactionTemplate(transactionManager).execute(status -> couponRepository.saveAll(coupons));
+    }
+}
@@ -0,0 +1,51 @@
+package com.coupon.coupon.infrastructure.uniqueness;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CodeBloomFilter")
+class CodeBloomFilterTest {
+
+    @Test
+    @DisplayName("nunca dá falso negativo para códigos inseridos")
+    void noFalseNegatives() {
+        CodeBloomFilter filter = new CodeBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(code(i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain(code(i))).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("taxa de falso positivo fica próxima da configurada")
+    void falsePositiveRateIsBounded() {
+        CodeBloomFilter filter = new CodeBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(code(i));
+        }
+        int falsePositives = 0;
+        for (int i = 10_000; i < 60_000; i++) {
+            if (filter.mightContain(code(i))) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 50_000.0).isLessThan(0.03);
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("rejeita parâmetros inválidos")
+    void rejectsInvalidParameters() {
+        assertThatThrownBy(() -> new CodeBloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CodeBloomFilter(10, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String code(int i) {
+        return String.format("C%05d", i);
+    }
+}
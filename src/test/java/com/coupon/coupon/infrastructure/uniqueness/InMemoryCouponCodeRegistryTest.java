@@ -0,0 +1,94 @@
+package com.coupon.coupon.infrastructure.uniqueness;
+
+import com.coupon.api.ApiApplication;
+import com.coupon.coupon.application.create.CreateCouponUseCase;
+import com.coupon.coupon.application.create.GroupCommitWriter;
+import com.coupon.coupon.domain.exception.DuplicateCouponCodeException;
+import com.coupon.coupon.domain.repository.CouponCodeGenerator;
+import com.coupon.coupon.domain.repository.CouponInvalidationBus;
+import com.coupon.coupon.domain.repository.CouponOutbox;
+import com.coupon.coupon.domain.repository.CouponReadModel;
+import com.coupon.coupon.domain.repository.CouponRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = ApiApplication.class)
+@ActiveProfiles("test")
+@DisplayName("InMemoryCouponCodeRegistry - integração")
+class InMemoryCouponCodeRegistryTest {
+
+    @Autowired
+    private InMemoryCouponCodeRegistry codeRegistry;
+
+    @Autowired
+    private CreateCouponUseCase createCouponUseCase;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private CouponCodeGenerator codeGenerator;
+
+    @Autowired
+    private CouponReadModel readModel;
+
+    @Autowired
+    private CouponOutbox outbox;
+
+    @Autowired
+    private CouponInvalidationBus invalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("criação commitada libera a reserva; o código segue barrado pelo filtro e pelo banco")
+    void committedCreateLeavesNoReservation() {
+        int before = codeRegistry.size();
+
+        create(createCouponUseCase, "REG001");
+
+        assertThat(codeRegistry.size()).isEqualTo(before);
+        assertThatThrownBy(() -> create(createCouponUseCase, "REG001")).isInstanceOf(DuplicateCouponCodeException.class);
+        assertThat(codeRegistry.reserve("REG001", UUID.randomUUID())).isFalse();
+        assertThat(codeRegistry.size()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("no group commit a reserva também sai depois do commit")
+    void groupCommitCreateLeavesNoReservation() {
+        GroupCommitWriter writer = new GroupCommitWriter(couponRepository, outbox, transactionManager, 1000, 64,
+                Duration.ofMillis(5), Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(5));
+        writer.start();
+        try {
+            CreateCouponUseCase useCase = new CreateCouponUseCase(couponRepository, codeRegistry, codeGenerator,
+                    readModel, outbox, invalidationBus, transactionManager, Optional.of(writer));
+            int before = codeRegistry.size();
+
+            create(useCase, "REG002");
+
+            assertThat(codeRegistry.size()).isEqualTo(before);
+            assertThatThrownBy(() -> create(useCase, "REG002")).isInstanceOf(DuplicateCouponCodeException.class);
+            assertThat(codeRegistry.size()).isEqualTo(before);
+        } finally {
+            writer.stop();
+        }
+    }
+
+    private static void create(CreateCouponUseCase useCase, String code) {
+        useCase.execute(code, "Registro", new BigDecimal("1.0"), LocalDateTime.now().plusDays(1), false);
+    }
+}